@@ -0,0 +1,162 @@
+import bench.Workload;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The benchmark workload, in the default package so that it can use
+ * the hiring assistant classes directly
+ */
+public class BenchmarkWorkload implements Workload {
+
+    private final static int JOB_NO = 100;
+    private final static long SEED = 42;
+    private final static long FIRST_CREATED_AT = 1665550000;
+    private final static String[] LAST_NAMES = {"Gosling", "Lovelace", "Hopper", "Knuth", "Ritchie", "Liskov", "Turing", "Hamilton"};
+    private final static String[] FIRST_NAMES = {"James", "Ada", "Grace", "Donald", "Dennis", "Barbara", "Alan", "Margaret"};
+    private final static String[] SUMMARIES = {
+        "\"I know java, python and r\"",
+        "\"Frontend developer, css and javascript\"",
+        "Backend engineer writing go",
+        "Data scientist",
+        ""
+    };
+    private final static String[] GENDERS = {Application.GENDER_MALE, Application.GENDER_FEMALE, Application.GENDER_OTHER, ""};
+    private final static String[] DEGREES = {Application.DEGREE_PHD, Application.DEGREE_MASTER, Application.DEGREE_BACHELOR, ""};
+
+    private Path directory;
+    private String jobFilePath;
+    private String applicationFilePath;
+    private int rowNo;
+    private IOHandler ioHandler;
+    private ArrayList<String> applicationLines;
+    private JobBoard jobBoard;
+
+    /**
+     * Default constructor
+     */
+    public BenchmarkWorkload() {
+        this.ioHandler = new IOHandler();
+    }
+
+    @Override
+    public void generate(int rowNo) throws IOException {
+        this.rowNo = rowNo;
+        this.directory = Files.createTempDirectory("hrassistant-bench");
+        this.jobFilePath = directory.resolve("jobs.csv").toString();
+        this.applicationFilePath = directory.resolve("applications.csv").toString();
+        ioHandler.checkFileExists(jobFilePath, IOHandler.JOB_FILE_TYPE);
+        Random random = new Random(SEED);
+        BufferedWriter writer = new BufferedWriter(new FileWriter(applicationFilePath));
+        writer.write(IOHandler.APPLICATION_HEADER);
+        for (int i = 0; i < rowNo; i++) {
+            writer.write(getApplicationLine(random, i));
+        }
+        writer.close();
+    }
+
+    @Override
+    public void readLines() throws IOException {
+        applicationLines = new ArrayList<String>(rowNo);
+        BufferedReader reader = new BufferedReader(new FileReader(applicationFilePath));
+        reader.readLine();                                  // Skips the File Header
+        String currentLine;
+        while ((currentLine = reader.readLine()) != null) {
+            applicationLines.add(currentLine);
+        }
+        reader.close();
+    }
+
+    @Override
+    public void loadBoard() throws Exception {
+        jobBoard = new JobBoard(jobFilePath, applicationFilePath);
+        Random random = new Random(SEED);
+        for (int i = 0; i < JOB_NO; i++) {
+            jobBoard.addJob(new Job(ioHandler.processLine(getJobLine(random, i)), i + 1));
+        }
+        jobBoard.loadApplicants();
+        for (int applicantNo = 1; applicantNo <= jobBoard.getApplicantCount(); applicantNo++) {
+            jobBoard.applyForJob(jobBoard.getJob(random.nextInt(JOB_NO) + 1), jobBoard.getApplicant(applicantNo));
+        }
+    }
+
+    @Override
+    public int parseLines() {
+        int fieldNo = 0;
+        for (String line : applicationLines) {
+            fieldNo += ioHandler.processLine(line).length;
+        }
+        return fieldNo;
+    }
+
+    @Override
+    public int loadApplicants() {
+        JobBoard applicantBoard = new JobBoard(jobFilePath, applicationFilePath);
+        applicantBoard.loadApplicants();
+        return applicantBoard.getApplicantCount();
+    }
+
+    @Override
+    public int filter(String filterType) {
+        return jobBoard.getFilteredApplicationList(filterType).size();
+    }
+
+    @Override
+    public int match() {
+        return jobBoard.match().getMatchedJobList().size();
+    }
+
+    @Override
+    public void delete() throws IOException {
+        Files.deleteIfExists(new File(jobFilePath).toPath());
+        Files.deleteIfExists(new File(applicationFilePath).toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Gets a job line in CSV format
+     * @param random random number generator
+     * @param jobIndex job index
+     * @return job line
+     */
+    private String getJobLine(Random random, int jobIndex) {
+        return String.format("%d,Job %d,Write java and python,%s,%d,%02d/%02d/23", FIRST_CREATED_AT + jobIndex, jobIndex,
+                DEGREES[random.nextInt(DEGREES.length)], 50000 + random.nextInt(100) * 1000, random.nextInt(28) + 1, random.nextInt(12) + 1);
+    }
+
+    /**
+     * Gets an application line in CSV format. Availability is always
+     * given so that every line has all of its fields
+     * @param random random number generator
+     * @param applicationIndex application index
+     * @return application line
+     */
+    private String getApplicationLine(Random random, int applicationIndex) {
+        StringBuilder stringBuilder = new StringBuilder(128);
+        stringBuilder.append(FIRST_CREATED_AT + JOB_NO + applicationIndex).append(',');
+        stringBuilder.append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append(',');
+        stringBuilder.append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(',');
+        stringBuilder.append(SUMMARIES[random.nextInt(SUMMARIES.length)]).append(',');
+        // Both age limits are outside the valid range
+        stringBuilder.append(Application.AGE_LOWER_LIMIT + 1 + random.nextInt(Application.AGE_UPPER_LIMIT - Application.AGE_LOWER_LIMIT - 1)).append(',');
+        stringBuilder.append(GENDERS[random.nextInt(GENDERS.length)]).append(',');
+        stringBuilder.append(DEGREES[random.nextInt(DEGREES.length)]).append(',');
+        for (int i = 0; i < 4; i++) {
+            if (random.nextInt(4) != 0) {
+                // Leaves a quarter of the grades empty
+                stringBuilder.append(Application.GRADE_MINIMUM + random.nextInt(Application.GRADE_MAXIMUM - Application.GRADE_MINIMUM + 1));
+            }
+            stringBuilder.append(',');
+        }
+        stringBuilder.append(40000 + random.nextInt(100) * 5000).append(',');
+        stringBuilder.append(String.format("%02d/%02d/23", random.nextInt(28) + 1, random.nextInt(12) + 1)).append('\n');
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures JobBoard.loadApplicants, which reads and validates
+ * every applicant in the applications file
+ */
+public class ApplicantLoadBenchmark extends WorkloadBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        generate();
+    }
+
+    @Benchmark
+    public int loadApplicants() {
+        return workload.loadApplicants();
+    }
+}
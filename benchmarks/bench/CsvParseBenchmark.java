@@ -0,0 +1,22 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures IOHandler.processLine over every line of the applications file
+ */
+public class CsvParseBenchmark extends WorkloadBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        generate();
+        workload.readLines();
+    }
+
+    @Benchmark
+    public int processLine() {
+        return workload.parseLines();
+    }
+}
@@ -0,0 +1,27 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures JobBoard.getFilteredApplicationList, which collects the
+ * received applications of every job and sorts them by a filter type
+ */
+public class FilterBenchmark extends WorkloadBenchmark {
+
+    @Param({"lastname", "degree", "wam"})
+    public String filterType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        generate();
+        workload.loadBoard();
+    }
+
+    @Benchmark
+    public int filter() {
+        return workload.filter(filterType);
+    }
+}
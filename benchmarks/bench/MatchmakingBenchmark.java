@@ -0,0 +1,23 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures Matchmaker.runMatchmaking, which scores every
+ * received application of every job
+ */
+public class MatchmakingBenchmark extends WorkloadBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        generate();
+        workload.loadBoard();
+    }
+
+    @Benchmark
+    public int runMatchmaking() {
+        return workload.match();
+    }
+}
@@ -0,0 +1,71 @@
+package bench;
+
+/**
+ * Data and operations measured by the benchmarks. The hiring assistant
+ * classes are in the default package, which a benchmark package cannot
+ * import, so they are reached through this interface instead, implemented
+ * by BenchmarkWorkload in the default package
+ */
+public interface Workload {
+
+    /**
+     * Writes an applications file with a number of rows
+     * to a temporary directory
+     * @param rowNo number of application rows
+     * @throws Exception error during writing
+     */
+    void generate(int rowNo) throws Exception;
+
+    /**
+     * Reads the generated application lines into memory
+     * @throws Exception error during reading
+     */
+    void readLines() throws Exception;
+
+    /**
+     * Loads a job board with the generated jobs and applicants,
+     * with each applicant having applied for one job
+     * @throws Exception error during loading
+     */
+    void loadBoard() throws Exception;
+
+    /**
+     * Splits every application line read into fields
+     * @return number of fields
+     */
+    int parseLines();
+
+    /**
+     * Loads all applicants from the applications file
+     * @return number of applicants
+     */
+    int loadApplicants();
+
+    /**
+     * Sorts the received applications by a filter type
+     * @param filterType filter type
+     * @return number of applications
+     */
+    int filter(String filterType);
+
+    /**
+     * Runs the matchmaking on all jobs
+     * @return number of matched jobs
+     */
+    int match();
+
+    /**
+     * Deletes the generated files
+     * @throws Exception error during deleting
+     */
+    void delete() throws Exception;
+
+    /**
+     * Creates the workload
+     * @return workload
+     * @throws Exception workload class not found
+     */
+    static Workload create() throws Exception {
+        return (Workload) Class.forName("BenchmarkWorkload").getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Settings shared by the benchmarks, which each run
+ * at 1k, 100k and 1M application rows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class WorkloadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    protected Workload workload;
+
+    /**
+     * Creates the workload and writes its files
+     * @throws Exception error during writing
+     */
+    protected void generate() throws Exception {
+        workload = Workload.create();
+        workload.generate(rows);
+    }
+
+    /**
+     * Deletes the files written
+     * @throws Exception error during deleting
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws Exception {
+        workload.delete();
+    }
+}
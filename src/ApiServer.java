@@ -0,0 +1,599 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A class that serves the jobs and applications over HTTP as JSON,
+ * so that many applicants and HR users can share one in-memory job board
+ * instead of each launching their own portal
+ */
+public class ApiServer {
+
+    private JobBoard jobBoard;
+    private JsonHandler jsonHandler;
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+    private ScheduledExecutorService saveExecutor;
+    private IntakePipeline intakePipeline;
+    private AtomicBoolean hasUnsavedChanges;
+    private int port;
+
+    // Server Constants
+    private final int SAVE_INTERVAL_SECONDS = 5;                // How often applied jobs are written to the save file
+    private final int MAX_REQUEST_BYTES = 1024 * 1024;
+    private final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+    private final String METHOD_GET = "GET";
+    private final String METHOD_POST = "POST";
+    private final String FILTER_QUERY_PREFIX = "by=";
+    private final String SEARCH_QUERY_PREFIX = "q=";
+    private final int SEARCH_RESULT_NO = 100;                   // Candidates listed by a search
+    private final String METRICS_REQUEST_PREFIX = "request.";
+
+    // Endpoints
+    private final String PATH_JOBS = "/jobs";
+    private final String PATH_APPLICATIONS = "/applications";
+    private final String PATH_APPLY = "apply";
+    private final String PATH_BATCH = "batch";
+    private final String SUBMISSION_SOURCE_NAME = "POST /applications/batch";
+    private final String PATH_FILTER = "/filter";
+    private final String PATH_MATCH = "/match";
+    private final String PATH_CANDIDATES = "/candidates";
+
+    // Status Codes
+    private final int STATUS_OK = 200;
+    private final int STATUS_CREATED = 201;
+    private final int STATUS_BAD_REQUEST = 400;
+    private final int STATUS_NOT_FOUND = 404;
+    private final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private final int STATUS_TOO_LARGE = 413;
+    private final int STATUS_SERVER_ERROR = 500;
+
+    // Error Messages
+    private final String ERROR_NOT_FOUND = "Not found.";
+    private final String ERROR_METHOD = "Method not allowed.";
+    private final String ERROR_TOO_LARGE = "Request body too large.";
+    private final String ERROR_FILTER = "Filter by must be lastname, degree or wam.";
+    private final String ERROR_SEARCH = "q must be given.";
+    private final String ERROR_MANDATORY = "lastname, firstname and a valid age between 18 and 100 must be provided.";
+    private final String ERROR_UNWRITABLE = "Fields must not hold double quotes or line breaks, and only careerSummary may hold commas.";
+    private final String ERROR_APPLICANT = "No such application.";
+    private final String ERROR_JOBS = "jobs must be a list of valid job numbers.";
+    private final String ERROR_START = "Unable to start server on port ";
+    private final String SERVER_STARTED = "HRAssistant server listening on port %d\n";
+
+    /**
+     * ApiServer constructor
+     * @param jobBoard shared jobs and applicants
+     * @param port port to listen on
+     */
+    public ApiServer(JobBoard jobBoard, int port) {
+        this.jobBoard = jobBoard;
+        this.port = port;
+        this.jsonHandler = new JsonHandler();
+        this.hasUnsavedChanges = new AtomicBoolean(false);
+    }
+
+    /**
+     * Loads the job board and starts serving requests
+     * @throws IOHandlerException error during starting the server
+     */
+    public void start() throws IOHandlerException {
+        jobBoard.loadAsync(true);
+        jobBoard.awaitLoaded();
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_START + port);
+        }
+        intakePipeline = new IntakePipeline(jobBoard, () -> hasUnsavedChanges.set(true));
+        server.createContext(PATH_JOBS, timeRequests(PATH_JOBS, this::handleJobs));
+        server.createContext(PATH_APPLICATIONS, timeRequests(PATH_APPLICATIONS, this::handleApplications));
+        server.createContext(PATH_FILTER, timeRequests(PATH_FILTER, this::handleFilter));
+        server.createContext(PATH_MATCH, timeRequests(PATH_MATCH, this::handleMatch));
+        server.createContext(PATH_CANDIDATES, timeRequests(PATH_CANDIDATES, this::handleCandidates));
+        server.createContext("/", exchange -> sendError(exchange, STATUS_NOT_FOUND, ERROR_NOT_FOUND));
+        requestExecutor = createRequestExecutor();
+        server.setExecutor(requestExecutor);
+
+        saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        saveExecutor.scheduleWithFixedDelay(this::saveChanges, SAVE_INTERVAL_SECONDS, SAVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+
+        server.start();
+        System.out.printf(SERVER_STARTED, server.getAddress().getPort());
+    }
+
+    /**
+     * Stops the server and saves any applied jobs
+     */
+    public void stop() {
+        server.stop(0);
+        intakePipeline.close();
+        saveExecutor.shutdown();
+        requestExecutor.shutdown();
+        saveChanges();
+    }
+
+    /**
+     * Gets the port the server is listening on
+     * @return port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Creates the executor that runs each request on its own virtual thread,
+     * falling back to a pool of platform threads on Java versions before 21
+     * @return request executor
+     */
+    private ExecutorService createRequestExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Writes the jobs and their received applications to the
+     * save file if any applications were made since the last save
+     */
+    private void saveChanges() {
+        if (hasUnsavedChanges.getAndSet(false)) {
+            try {
+                jobBoard.save();
+            } catch (IOHandlerException e) {
+                hasUnsavedChanges.set(true);
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Times the requests handled by a handler
+     * @param path path handled
+     * @param handler handler
+     * @return timed handler
+     */
+    private HttpHandler timeRequests(String path, HttpHandler handler) {
+        String metricsName = METRICS_REQUEST_PREFIX + path;
+        return exchange -> {
+            long startTime = Metrics.start();
+            try {
+                handler.handle(exchange);
+            } finally {
+                Metrics.stop(metricsName, startTime);
+            }
+        };
+    }
+
+    /**
+     * Handles GET /jobs, listing all jobs
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET) || !isExactPath(exchange, PATH_JOBS)) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("[");
+        int jobNo = 0;
+        for (Job job : jobBoard.getJobList()) {
+            jobNo += 1;
+            if (jobNo > 1) {
+                json.append(',');
+            }
+            appendJob(json, job, jobNo);
+        }
+        json.append(']');
+        sendResponse(exchange, STATUS_OK, json.toString());
+    }
+
+    /**
+     * Handles POST /applications, submitting a new application,
+     * POST /applications/batch, submitting applications in bulk, and
+     * POST /applications/{id}/apply, applying an application for jobs
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void handleApplications(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_POST)) {
+            return;
+        }
+        String[] pathSegments = exchange.getRequestURI().getPath().split("/");
+        try {
+            if (pathSegments.length == 2) {
+                submitApplication(exchange);
+            } else if (pathSegments.length == 3 && pathSegments[2].equals(PATH_BATCH)) {
+                submitApplications(exchange);
+            } else if (pathSegments.length == 4 && pathSegments[3].equals(PATH_APPLY)) {
+                applyForJobs(exchange, pathSegments[2]);
+            } else {
+                sendError(exchange, STATUS_NOT_FOUND, ERROR_NOT_FOUND);
+            }
+        } catch (InvalidDataFormatException e) {
+            sendError(exchange, STATUS_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Validates and saves a new application the same way
+     * as one read from the applications file
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private void submitApplication(HttpExchange exchange) throws IOException, InvalidDataFormatException {
+        String body = readRequestBody(exchange);
+        if (body == null) {
+            return;
+        }
+        LinkedHashMap<String, Object> fields = new JsonHandler().parseObject(body);
+        String[] applicationData = getApplicationData(fields);
+        if (applicationData[1].trim().isEmpty() || applicationData[2].trim().isEmpty()) {
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_MANDATORY);
+            return;
+        }
+        if (!Application.isWritable(applicationData)) {
+            // Would split or shift the row once appended to the applications file
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_UNWRITABLE);
+            return;
+        }
+        Application application;
+        try {
+            application = new Application(applicationData, jobBoard.getApplicantCount() + 1);
+        } catch (InvalidMandatoryDataException e) {
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_MANDATORY);
+            return;
+        }
+        int applicantNo;
+        try {
+            applicantNo = jobBoard.addApplicant(application);
+        } catch (IOHandlerException e) {
+            sendError(exchange, STATUS_SERVER_ERROR, e.getMessage());
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\"id\":").append(applicantNo).append(",\"application\":");
+        appendApplication(json, application);
+        json.append('}');
+        sendResponse(exchange, STATUS_CREATED, json.toString());
+    }
+
+    /**
+     * Submits applications in bulk as JSONL, one application per line with
+     * optionally the jobs it applies for, the same way as the applicant
+     * portal's submit command. The applications go through the intake
+     * pipeline, which is waited on, and are saved with the next periodic
+     * save. Invalid lines are skipped and counted in the response
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void submitApplications(HttpExchange exchange) throws IOException {
+        String body = readRequestBody(exchange);
+        if (body == null) {
+            return;
+        }
+        List<String> lines = Arrays.asList(body.split("\n"));
+        ApplicationBatch batch = new ApplicationBatch(SUBMISSION_SOURCE_NAME);
+        int submittedNo = 0;
+        int applicationNo = 0;
+        String error = null;
+        for (CompletableFuture<IntakePipeline.Intake> completion : intakePipeline.submit(batch, lines, jobBoard.getJobList())) {
+            try {
+                IntakePipeline.Intake intake = completion.join();
+                batch.getReport().addAll(intake.getReport());
+                if (intake.getSubmission() != null) {
+                    submittedNo += 1;
+                    applicationNo += intake.getSubmission().getJobList().size();
+                }
+            } catch (CompletionException e) {
+                error = e.getCause().getMessage();
+            }
+        }
+        batch.getReport().setRowNo(lines.size());
+        batch.getReport().publish();
+        if (error != null) {
+            sendError(exchange, STATUS_SERVER_ERROR, error);
+            return;
+        }
+        sendResponse(exchange, STATUS_CREATED, "{\"submitted\":" + submittedNo + ",\"applied\":" + applicationNo
+                + ",\"invalid\":" + batch.getReport().getErrorCount() + "}");
+    }
+
+    /**
+     * Builds application data fields in the applications file order
+     * from a JSON object using the applications file header names
+     * @param fields JSON fields
+     * @return application data fields
+     */
+    private String[] getApplicationData(LinkedHashMap<String, Object> fields) {
+        String[] headerNames = IOHandler.APPLICATION_HEADER.trim().split(",");
+        String[] applicationData = new String[headerNames.length];
+        applicationData[0] = Long.toString(Instant.now().getEpochSecond());
+        for (int i = 1; i < headerNames.length; i++) {
+            Object value = fields.get(headerNames[i]);
+            applicationData[i] = (value instanceof String) ? (String) value : "";
+        }
+        return applicationData;
+    }
+
+    /**
+     * Applies an application to the jobs listed in the request
+     * @param exchange request and response
+     * @param applicantNoSegment application number from the path
+     * @throws IOException error during sending response
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private void applyForJobs(HttpExchange exchange, String applicantNoSegment) throws IOException, InvalidDataFormatException {
+        Application application = null;
+        try {
+            application = jobBoard.getApplicant(Integer.parseInt(applicantNoSegment));
+        } catch (java.lang.NumberFormatException e) {
+            // Not a number, handled below as no such application
+        }
+        if (application == null) {
+            sendError(exchange, STATUS_NOT_FOUND, ERROR_APPLICANT);
+            return;
+        }
+        String body = readRequestBody(exchange);
+        if (body == null) {
+            return;
+        }
+        Object jobNos = new JsonHandler().parseObject(body).get("jobs");
+        ArrayList<Job> selectedJobs = new ArrayList<Job>();
+        if (!(jobNos instanceof ArrayList)) {
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_JOBS);
+            return;
+        }
+        for (Object jobNo : (ArrayList<?>) jobNos) {
+            Job job = null;
+            try {
+                job = (jobNo instanceof String) ? jobBoard.getJob(Integer.parseInt((String) jobNo)) : null;
+            } catch (java.lang.NumberFormatException e) {
+                // Not a number, handled below as an invalid job number
+            }
+            if (job == null) {
+                sendError(exchange, STATUS_BAD_REQUEST, ERROR_JOBS);
+                return;
+            }
+            if (!selectedJobs.contains(job)) {
+                selectedJobs.add(job);
+            }
+        }
+        for (Job job : selectedJobs) {
+            jobBoard.applyForJob(job, application);
+        }
+        hasUnsavedChanges.set(true);
+        sendResponse(exchange, STATUS_OK, "{\"applied\":" + selectedJobs.size() + "}");
+    }
+
+    /**
+     * Handles GET /filter?by=..., listing applications received by
+     * all jobs sorted by lastname, degree or wam
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void handleFilter(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET) || !isExactPath(exchange, PATH_FILTER)) {
+            return;
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String filterType = (query != null && query.startsWith(FILTER_QUERY_PREFIX)) ? query.substring(FILTER_QUERY_PREFIX.length()) : "";
+        if (!(filterType.equals(HR.FILTER_LASTNAME) || filterType.equals(HR.FILTER_DEGREE) || filterType.equals(HR.FILTER_WAM))) {
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_FILTER);
+            return;
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (Application application : jobBoard.getFilteredApplicationList(filterType)) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendApplication(json, application);
+        }
+        json.append(']');
+        sendResponse(exchange, STATUS_OK, json.toString());
+    }
+
+    /**
+     * Handles GET /match, listing the best applicant for each job
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void handleMatch(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET) || !isExactPath(exchange, PATH_MATCH)) {
+            return;
+        }
+        HashMap<Job, Integer> jobNos = new HashMap<Job, Integer>();
+        for (Job job : jobBoard.getJobList()) {
+            jobNos.put(job, jobNos.size() + 1);
+        }
+        Matchmaker matchmaker = jobBoard.match();
+        ArrayList<Job> matchedJobList = matchmaker.getMatchedJobList();
+        ArrayList<Application> matchedApplicationList = matchmaker.getMatchedApplicationList();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < matchedJobList.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"job\":");
+            Job job = matchedJobList.get(i);
+            appendJob(json, job, jobNos.get(job));
+            json.append(",\"applicant\":");
+            appendApplication(json, matchedApplicationList.get(i));
+            json.append('}');
+        }
+        json.append(']');
+        sendResponse(exchange, STATUS_OK, json.toString());
+    }
+
+    /**
+     * Handles GET /candidates?q=..., listing the first applicants whose
+     * career summary matches the query, with the number found
+     * @param exchange request and response
+     * @throws IOException error during sending response
+     */
+    private void handleCandidates(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET) || !isExactPath(exchange, PATH_CANDIDATES)) {
+            return;
+        }
+        String query = null;
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        for (String parameter : rawQuery != null ? rawQuery.split("&") : new String[0]) {
+            if (parameter.startsWith(SEARCH_QUERY_PREFIX)) {
+                query = URLDecoder.decode(parameter.substring(SEARCH_QUERY_PREFIX.length()), StandardCharsets.UTF_8);
+            }
+        }
+        if (query == null || query.trim().isEmpty()) {
+            sendError(exchange, STATUS_BAD_REQUEST, ERROR_SEARCH);
+            return;
+        }
+        int[] applicantNos = jobBoard.searchCandidates(query);
+        StringBuilder json = new StringBuilder("{\"found\":").append(applicantNos.length).append(",\"applicants\":[");
+        for (int i = 0; i < Math.min(applicantNos.length, SEARCH_RESULT_NO); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(applicantNos[i]).append(",\"applicant\":");
+            appendApplication(json, jobBoard.getApplicant(applicantNos[i]));
+            json.append('}');
+        }
+        json.append("]}");
+        sendResponse(exchange, STATUS_OK, json.toString());
+    }
+
+    /**
+     * Appends a job as a JSON object
+     * @param json JSON being built
+     * @param job job
+     * @param jobNo job number
+     */
+    private void appendJob(StringBuilder json, Job job, int jobNo) {
+        json.append("{\"id\":").append(jobNo)
+            .append(",\"title\":").append(jsonHandler.quote(job.getTitle()))
+            .append(",\"description\":").append(jsonHandler.quote(job.getDescription()))
+            .append(",\"degree\":").append(jsonHandler.quote(job.getDegree()))
+            .append(",\"salary\":").append(jsonHandler.quote(job.getSalary()))
+            .append(",\"startDate\":").append(jsonHandler.quote(job.getStartDate()))
+            .append(",\"applications\":").append(job.getApplicationCount())
+            .append('}');
+    }
+
+    /**
+     * Appends an application as a JSON object
+     * @param json JSON being built
+     * @param application application
+     */
+    private void appendApplication(StringBuilder json, Application application) {
+        json.append("{\"lastname\":").append(jsonHandler.quote(application.getLastName()))
+            .append(",\"firstname\":").append(jsonHandler.quote(application.getFirstName()))
+            .append(",\"degree\":").append(jsonHandler.quote(application.getDegree()))
+            .append(",\"careerSummary\":").append(jsonHandler.quote(application.getCareerSummary()))
+            .append(",\"salaryExpectations\":").append(jsonHandler.quote(application.getSalaryExpectations()))
+            .append(",\"availability\":").append(jsonHandler.quote(application.getFormattedAvailability()))
+            .append('}');
+    }
+
+    /**
+     * Checks the request method, sending an error response if it is not allowed
+     * @param exchange request and response
+     * @param method allowed method
+     * @return true if request method is allowed
+     * @throws IOException error during sending response
+     */
+    private boolean isMethod(HttpExchange exchange, String method) throws IOException {
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            sendError(exchange, STATUS_METHOD_NOT_ALLOWED, ERROR_METHOD);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the request is for the endpoint itself rather than
+     * a path below it, sending an error response if not
+     * @param exchange request and response
+     * @param path endpoint path
+     * @return true if request path is the endpoint path
+     * @throws IOException error during sending response
+     */
+    private boolean isExactPath(HttpExchange exchange, String path) throws IOException {
+        URI uri = exchange.getRequestURI();
+        if (!uri.getPath().equals(path)) {
+            sendError(exchange, STATUS_NOT_FOUND, ERROR_NOT_FOUND);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the request body, sending an error response if it is too large
+     * @param exchange request and response
+     * @return request body, or null if too large
+     * @throws IOException error during reading request
+     */
+    private String readRequestBody(HttpExchange exchange) throws IOException {
+        InputStream requestBody = exchange.getRequestBody();
+        byte[] bytes = requestBody.readNBytes(MAX_REQUEST_BYTES + 1);
+        requestBody.close();
+        if (bytes.length > MAX_REQUEST_BYTES) {
+            sendError(exchange, STATUS_TOO_LARGE, ERROR_TOO_LARGE);
+            return null;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends an error response
+     * @param exchange request and response
+     * @param statusCode HTTP status code
+     * @param message reason for error
+     * @throws IOException error during sending response
+     */
+    private void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        sendResponse(exchange, statusCode, "{\"error\":" + jsonHandler.quote(message) + "}");
+    }
+
+    /**
+     * Sends a JSON response
+     * @param exchange request and response
+     * @param statusCode HTTP status code
+     * @param json response body
+     * @throws IOException error during sending response
+     */
+    private void sendResponse(HttpExchange exchange, int statusCode, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        OutputStream responseBody = exchange.getResponseBody();
+        responseBody.write(bytes);
+        responseBody.close();
+    }
+}
@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A list that can only be appended to, which can be read by many threads
+ * while another thread appends to it. Elements are kept in chunks that
+ * double in size, so appending never copies earlier elements, and readers
+ * never lock: they only see elements up to the size they read
+ * @param <T> type of element
+ */
+public class AppendOnlyList<T> implements Iterable<T>, Serializable {
+
+    private final static long serialVersionUID = 1L;
+    private final static int FIRST_CHUNK_SIZE = 8;
+    private final static int MAX_CHUNKS = 28;           // Enough chunks for over two billion elements
+
+    private transient Object[][] chunks;
+    private transient volatile int size;                // Elements below size are fully written
+
+    /**
+     * Default constructor
+     */
+    public AppendOnlyList() {
+        this.chunks = new Object[MAX_CHUNKS][];
+        this.size = 0;
+    }
+
+    /**
+     * Appends an element
+     * @param element element
+     * @return index of the element
+     */
+    public synchronized int add(T element) {
+        int index = size;
+        int chunkIndex = getChunkIndex(index);
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = new Object[FIRST_CHUNK_SIZE << chunkIndex];
+        }
+        chunks[chunkIndex][getChunkOffset(index, chunkIndex)] = element;
+        size = index + 1;                               // Publishes the element to readers
+        return index;
+    }
+
+    /**
+     * Appends all elements
+     * @param elements elements
+     */
+    public synchronized void addAll(Iterable<? extends T> elements) {
+        for (T element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Gets an element
+     * @param index index of element
+     * @return element
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int chunkIndex = getChunkIndex(index);
+        return (T) chunks[chunkIndex][getChunkOffset(index, chunkIndex)];
+    }
+
+    /**
+     * Gets number of elements
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if there are no elements
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets a read-only view of the elements appended so far, which
+     * does not change as more elements are appended
+     * @return snapshot of elements
+     */
+    public List<T> snapshot() {
+        final int snapshotSize = size;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (index >= snapshotSize) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + snapshotSize);
+                }
+                return AppendOnlyList.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return snapshotSize;
+            }
+        };
+    }
+
+    /**
+     * Iterates over the elements appended before the iterator was created
+     * @return iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final int snapshotSize = size;
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < snapshotSize;
+            }
+
+            @Override
+            public T next() {
+                if (index >= snapshotSize) {
+                    throw new NoSuchElementException();
+                }
+                T element = get(index);
+                index += 1;
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Gets the chunk an index is in
+     * @param index index of element
+     * @return chunk index
+     */
+    private static int getChunkIndex(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index / FIRST_CHUNK_SIZE + 1);
+    }
+
+    /**
+     * Gets the position of an index within its chunk
+     * @param index index of element
+     * @param chunkIndex chunk index
+     * @return offset in chunk
+     */
+    private static int getChunkOffset(int index, int chunkIndex) {
+        return index - FIRST_CHUNK_SIZE * ((1 << chunkIndex) - 1);
+    }
+
+    /**
+     * Writes the elements appended so far
+     * @param output output stream
+     * @throws IOException error during writing
+     */
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        int snapshotSize = size;
+        output.defaultWriteObject();
+        output.writeInt(snapshotSize);
+        for (int i = 0; i < snapshotSize; i++) {
+            output.writeObject(get(i));
+        }
+    }
+
+    /**
+     * Reads the elements back in order
+     * @param input input stream
+     * @throws IOException error during reading
+     * @throws ClassNotFoundException element class not found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        this.chunks = new Object[MAX_CHUNKS][];
+        int savedSize = input.readInt();
+        for (int i = 0; i < savedSize; i++) {
+            add((T) input.readObject());
+        }
+    }
+}
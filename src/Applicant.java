@@ -1,10 +1,7 @@
-import java.io.File;
-import java.io.FileWriter;
 import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.Scanner;
 
@@ -17,12 +14,8 @@ public class Applicant extends InteractiveRole {
 
     // IO Handlers
     private IOHandler ioHandler;
-    private Scanner keyboard;
-    private String input;
 
     // Filepaths
-    private String jobFilePath;
-    private String applicationFilePath;
     private final String WELCOME_APPLICANT_FILEPATH = "welcome_applicant.ascii";
 
     private boolean applicationCreated; // true if applicant created an application (profile)
@@ -33,14 +26,19 @@ public class Applicant extends InteractiveRole {
     private int applicationCount;
 
     // Data Lists
-    private ArrayList<String[]> jobData;
-    private ArrayList<Job> masterJobList;
+    private JobBoard jobBoard;
     private ArrayList<Job> appliedJobList;
     private ArrayList<Job> availableJobList;
+    private IdentityHashMap<Job, Integer> availableJobNos;     // job numbers as listed, built when first searched
+
+    // Command Input Constants
+    private final String COMMAND_SUBMIT = "submit";
+    private final String COMMAND_SEARCH = "search";
 
     // Default Int Values
     private final int DEFAULT_APPLICATION_COUNT = 0;
     private final int BLANK_INPUT_VALUE = 0;
+    private final int SEARCH_RESULT_NO = 10;
 
     // Creating New Application Prompts
     private final String PROMPT_LASTNAME = "Lastname: ";
@@ -52,6 +50,8 @@ public class Applicant extends InteractiveRole {
     private final String PROMPT_COURSEWORK = "Coursework: ";
     private final String PROMPT_SALARY_EXPECTATIONS = "Salary Expectations ($ per annum): ";
     private final String PROMPT_AVAILABILITY = "Availability: ";
+    private final String PROMPT_SUBMISSION_FILE = "Submission File (JSONL): ";
+    private final String PROMPT_SEARCH_TERMS = "Search Terms: ";
 
     // Data Field Types
     private final String COURSEWORK_FIELD = "Coursework";
@@ -65,18 +65,25 @@ public class Applicant extends InteractiveRole {
     private final String APPLICATION_CREATE_NEW = "# Create new Application";
     private final String LASTNAME_INVALID = "Ooops! Lastname must be provided: ";
     private final String FIRSTNAME_INVALID = "Ooops! Firstname must be provided: ";
+    private final String APPLICATIONS_SUBMITTED = "Submitted %d applications, applying for %d jobs.\n";
+    private final String JOBS_NOT_FOUND = "No jobs found.";
     private final String AGE_INVALID = "Ooops! A valid age between 18 and 100 must be provided: ";
 
     // Error Messages
     private final String SAVE_APPLICATION_FILE_ERROR = "Unable to find application file.";
+    private final String BATCH_INVALID_COMMAND = "ERROR: %s is not a valid command.\n";
     
     // Menu Instructions
     private final String MENU_APPLICANT_INSTRUCTION = "Please enter one of the following commands to continue:\n" +
             "- create new application: [create] or [c]\n" +
             "- list available jobs: [jobs] or [j]\n" +
+            "- search available jobs: [search] <terms>\n" +
+            "- submit applications collected offline: [submit] <file>\n" +
             "- quit the program: [quit] or [q]";
     private final String MENU_APPLICATION_CREATED_INSTRUCTION = "Please enter one of the following commands to continue:\n" +
             "- list available jobs: [jobs] or [j]\n" +
+            "- search available jobs: [search] <terms>\n" +
+            "- submit applications collected offline: [submit] <file>\n" +
             "- quit the program: [quit] or [q]";
     private final String MENU_JOB_APPLY_INSTRUCTION = "Please enter the jobs you would like to apply for (multiple options are possible): ";
     
@@ -91,91 +98,80 @@ public class Applicant extends InteractiveRole {
      * @param applicationFilePath, file path for jobs.csv
      */
     public Applicant(String jobFilePath, String applicationFilePath) {
-        this.jobFilePath = jobFilePath;
-        this.applicationFilePath = applicationFilePath;
         this.ioHandler = new IOHandler();
+        this.jobBoard = new JobBoard(jobFilePath, applicationFilePath);
 
         applicationCount = DEFAULT_APPLICATION_COUNT;
         applicationCreated = false;
 
         keyboard = new Scanner(System.in);
-        jobData = new ArrayList<String[]>();
-        masterJobList = new ArrayList<Job>();
         appliedJobList = new ArrayList<Job>();
         availableJobList = new ArrayList<Job>();
+        registerCommands();
+    }
+
+    /**
+     * Registers the applicant menu commands
+     */
+    private void registerCommands() {
+        registerCommand(argument -> create(), COMMAND_CREATE, COMMAND_C);
+        registerCommand(argument -> jobs(), COMMAND_JOBS, COMMAND_J);
+        registerCommand(this::submitApplications, COMMAND_SUBMIT);
+        registerCommand(this::search, COMMAND_SEARCH);
+        registerQuitCommand(argument -> quit(), COMMAND_QUIT, COMMAND_Q);
     }
 
     /**
      * Launches the program for applicant role
      */
     public void launchPortal() {
+        long startTime = Metrics.start();
         ioHandler.displayWelcomeMessage(WELCOME_APPLICANT_FILEPATH);
         checkSave();
         updateJobCount();
         printStatus();
-        System.out.print(PROMPT_TEXT);
-        menuInput();
-      
-    }
-
-    /**
-     * Checks for any saved file from previous runs of the program
-     */
-    public void checkSave() {
-        if (hasSavedFile()) {
-            loadSave();
-        } else {
-            readJobData();
-            loadJobList();
-        }
+        Metrics.stop(METRICS_STARTUP, startTime);
+        runMenu();
     }
 
     /**
-     * Loads the saved file if present
+     * Runs a single command without the welcome message or prompts
+     * and writes its results in CSV format, used for scripted runs
+     * @param command command to run
+     * @param outputFilePath file to write results to, or null for standard output
+     * @param save true if the save file should be rewritten afterwards
+     * @return true if the command ran successfully
      */
-    private void loadSave() {
-        masterJobList.clear();
-        availableJobList.clear();
-        try {
-            ArrayList<?> objectList = ioHandler.readSave();
-            for (Object obj : objectList) {
-                Job job = (Job) obj;
-                masterJobList.add(job);
-                availableJobList.add(job);
-                }
-            } catch (IOHandlerException e ) {
-            System.out.println(e.getMessage());
+    public boolean runBatch(String command, String outputFilePath, boolean save) {
+        if (!(command.equals(COMMAND_JOBS) || command.equals(COMMAND_J))) {
+            System.out.printf(BATCH_INVALID_COMMAND, command);
+            return false;
         }
-    }
-
-    /**
-     * Reads job data in csv format
-     */
-    private void readJobData() {
-
+        checkSave();
         try {
-            jobData = ioHandler.readFile(jobFilePath, Job.DATA_FIELD_NO, IOHandler.JOB_FILE_TYPE);
+            PrintWriter writer = ioHandler.openOutput(outputFilePath);
+            writer.write(IOHandler.JOB_HEADER);
+            for (Job job : availableJobList) {
+                writer.write(job.getQuotedCSVFormat());
+            }
+            ioHandler.closeOutput(writer, outputFilePath);
         } catch (IOHandlerException e) {
             System.out.println(e.getMessage());
+            return false;
         }
+        if (save) {
+            saveData();
+        }
+        return true;
     }
 
     /**
-     * Load job data
+     * Checks for any saved file from previous runs of the program
      */
-    private void loadJobList() {
-        for (String[] jobDataLine : jobData) {
-            // For each data line
-            int jobLineNo = jobData.indexOf(jobDataLine) + 1;   // Line number in CSV file
-            try {
-                Job job = new Job(jobDataLine, jobLineNo);
-                availableJobList.add(job);
-                masterJobList.add(job);
-            } catch (InvalidMandatoryDataException e) {
-                // Skips line if mandatory field is not valid
-                System.out.println(e.getMessage());
-            }
-        }
+    public void checkSave() {
+        jobBoard.loadJobs();
+        availableJobList = jobBoard.getJobList();
+        availableJobNos = null;
     }
 
     /**
@@ -195,7 +191,8 @@ public class Applicant extends InteractiveRole {
     /**
      * Prints menu text
      */
-    private void printStatus() {
+    @Override
+    protected void printStatus() {
         System.out.printf("%d jobs available. %d applications submitted.\n", availableJobCount, applicationCount);
         if (applicationCreated) {
             System.out.println(MENU_APPLICATION_CREATED_INSTRUCTION);
@@ -206,64 +203,50 @@ public class Applicant extends InteractiveRole {
     }
 
     /**
-     * Receives users command and initiates if valid
+     * Creates a new application, unless one
+     * has already been created
      */
-    private void menuInput() {
-        this.input = keyboardInput();
-        switch (input) {
-
-            //add try catch?
-            case COMMAND_CREATE:
-            case COMMAND_C:
-                if (!applicationCreated) {
-                    createApplication();
-                    printStatus();
-                    System.out.print(PROMPT_TEXT);
-                    menuInput();
-                    break;
-                } else {
-                    printStatus();
-                    System.out.print(PROMPT_TEXT);
-                    menuInput();
-                    break;
-                }
-
-            case COMMAND_JOBS:
-            case COMMAND_J:
-                if (!applicationCreated) {
-                    listAvailableJobs();
-                    printStatus();
-                    System.out.print(PROMPT_TEXT);
-                    menuInput();
-                    break;
-                } else {
-                    listAvailableJobs();
-                    if (hasAvailableJobs()) {
-                        promptApplyJob();
-                    }
-                    printStatus();
-                    System.out.print(PROMPT_TEXT);
-                    menuInput();
-                    break;
-                }
-
-            case COMMAND_QUIT:
-            case COMMAND_Q:
-                closeInput();
-                saveJobPreferences();
-                System.out.println();
-                System.exit(0);
-                break;
+    private void create() {
+        if (!applicationCreated) {
+            createApplication();
+        }
+    }
 
-            default:
-                printInvalidCommand();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
-                break;
+    /**
+     * Lists available jobs, and asks which jobs to apply for
+     * if an application has been created
+     */
+    private void jobs() {
+        listAvailableJobs();
+        if (applicationCreated && hasAvailableJobs()) {
+            promptApplyJob();
+        }
+    }
 
+    /**
+     * Searches the titles and descriptions of the available jobs, and
+     * asks which jobs to apply for if an application has been created
+     * @param terms search terms, or empty to prompt for them
+     */
+    private void search(String terms) {
+        if (isEmptyInput(terms)) {
+            System.out.print(PROMPT_SEARCH_TERMS);
+            terms = keyboardInput();
+        }
+        if (listFoundJobs(terms) && applicationCreated) {
+            promptApplyJob();
         }
     }
 
+    /**
+     * Quits the program, saving the jobs applied for
+     */
+    private void quit() {
+        closeInput();
+        saveJobPreferences();
+        System.out.println();
+    }
+
     /**
      * Creates a new application for the applicant
      */
@@ -464,28 +447,20 @@ public class Applicant extends InteractiveRole {
     private void promptAvailability() {
         System.out.print(PROMPT_AVAILABILITY);
         boolean isValid = false;
-        LocalDate date;
+        FieldParser parser = FieldParser.get();
         while (!isValid) {
             input = keyboardInput().trim();
-            LocalDate currentDate = LocalDate.now();    // Current Date
-            try {
-                date = LocalDate.parse(input, DateTimeFormatter.ofPattern(Application.ALLOWED_DATE_PATTERN));
-                while (!date.isAfter(currentDate) && !date.isEqual(currentDate)) {
-                    // Date is not valid 
-                    printInvalidOptionalField(AVAILABILITY_FIELD);
-                    input = keyboardInput();
-                    date = LocalDate.parse(input, DateTimeFormatter.ofPattern(Application.ALLOWED_DATE_PATTERN));
-                }
+            int status = parser.parseDate(input);
+            if (status == FieldParser.OK && parser.getEpochDay() >= EpochDay.today()) {
+                // Date is today or later
                 isValid = true;
-                application.setAvailability(date);
-            } catch (Exception e) {
-                if (isEmptyInput(input)) {
-                    // If input is blank
-                    isValid = true;
-                    application.setBlankAvailability();
-                } else {
-                    printInvalidOptionalField(AVAILABILITY_FIELD);
-                }
+                application.setAvailability(parser.getEpochDay());
+            } else if (isEmptyInput(input)) {
+                // If input is blank
+                isValid = true;
+                application.setBlankAvailability();
+            } else {
+                printInvalidOptionalField(AVAILABILITY_FIELD);
             }
         }
     }
@@ -504,18 +479,36 @@ public class Applicant extends InteractiveRole {
      * applications file (applications.csv by default)
      */
     private void saveApplication() {
-        File applicationFile = new File(applicationFilePath);
         try {
-            FileWriter fr = new FileWriter(applicationFile, true);
-            PrintWriter csvWriter = new PrintWriter(fr);
-            csvWriter.write(application.getCSVFormat());
-            csvWriter.flush();
-            csvWriter.close();
-        } catch (Exception e) {
+            jobBoard.addApplicant(application);
+        } catch (IOHandlerException e) {
             System.out.println(SAVE_APPLICATION_FILE_ERROR);
         }
     }
 
+    /**
+     * Submits applications collected offline, such as by kiosks, from a
+     * JSONL file with one application per line and the numbers of the
+     * jobs it applies for, as listed by the jobs command
+     * @param submissionFilePath file path, or empty to prompt for it
+     */
+    private void submitApplications(String submissionFilePath) {
+        if (isEmptyInput(submissionFilePath)) {
+            System.out.print(PROMPT_SUBMISSION_FILE);
+            submissionFilePath = keyboardInput().trim();
+        }
+        try {
+            ApplicationBatch batch = new ApplicationBatch(submissionFilePath);
+            ArrayList<ApplicationBatch.Submission> submissions = batch.validate(ApplicationBatch.readLines(submissionFilePath),
+                    jobBoard.getJobList());
+            batch.getReport().publish();
+            int applicationNo = jobBoard.submitApplications(submissions);
+            System.out.printf(APPLICATIONS_SUBMITTED, submissions.size(), applicationNo);
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * Lists available jobs that user can apply to
      */
@@ -532,13 +525,51 @@ public class Applicant extends InteractiveRole {
      */
     private void printAvailableJobs() {
         //maybe repeated? redundant
+        int jobIndex = 0;
         for (Job job : availableJobList) {
-            int jobIndex = availableJobList.indexOf(job) + 1;
-            System.out.printf("[%d] %s (%s). %s. Salary: %s. Start Date: %s.", jobIndex, job.getTitle(),
-                job.getDescription(), job.getDegree(), job.getSalary(), job.getStartDate());
-            // line?
-            System.out.println();
+            jobIndex += 1;
+            printJob(jobIndex, job);
+        }
+    }
+
+    /**
+     * Prints the available jobs best matching the search terms,
+     * numbered as they are listed by the jobs command
+     * @param terms search terms
+     * @return true if any jobs were found
+     */
+    private boolean listFoundJobs(String terms) {
+        if (availableJobNos == null) {
+            availableJobNos = new IdentityHashMap<Job, Integer>();
+            for (int i = 0; i < availableJobList.size(); i++) {
+                availableJobNos.put(availableJobList.get(i), i + 1);
+            }
+        }
+        // Jobs already applied for are not available, so as many more are asked for
+        int foundJobNo = 0;
+        for (Job job : jobBoard.searchJobs(terms, SEARCH_RESULT_NO + appliedJobList.size())) {
+            Integer jobNo = availableJobNos.get(job);
+            if (jobNo != null && foundJobNo < SEARCH_RESULT_NO) {
+                printJob(jobNo, job);
+                foundJobNo += 1;
+            }
+        }
+        if (foundJobNo == 0) {
+            System.out.println(JOBS_NOT_FOUND);
         }
+        return foundJobNo > 0;
+    }
+
+    /**
+     * Prints a job's details
+     * @param jobNo job number as listed
+     * @param job job
+     */
+    private void printJob(int jobNo, Job job) {
+        System.out.printf("[%d] %s (%s). %s. Salary: %s. Start Date: %s.", jobNo, job.getTitle(),
+            job.getDescription(), job.getDegree(), job.getSalary(), job.getStartDate());
+        // line?
+        System.out.println();
     }
 
     /**
@@ -591,8 +622,7 @@ public class Applicant extends InteractiveRole {
      */
     private void applyJobs() {
         for (Job appliedJob : appliedJobList) {
-            String applicationData = application.getCSVFormat();
-            appliedJob.saveApplication(applicationData);
+            jobBoard.applyForJob(appliedJob, application);
         }
     }
 
@@ -602,6 +632,7 @@ public class Applicant extends InteractiveRole {
      */
     private void updateAvailableJobs() {
         availableJobList.removeAll(appliedJobList);
+        availableJobNos = null;     // Jobs after those applied for are numbered again
     }
 
     /**
@@ -659,32 +690,9 @@ public class Applicant extends InteractiveRole {
      */
     private void saveData() {
         try {
-            ioHandler.saveData(masterJobList);
+            jobBoard.save();
         } catch (IOHandlerException e) {
             System.out.println(e.getMessage());
         }
     }
-
-     /**
-     * Prints output when invalid
-     * command is given
-     */
-    private void printInvalidCommand() {
-        System.out.println(MENU_INVALID_COMMAND);
-    }
-
-    /**
-     * Gets user's keyboard input
-     * @return user input
-     */
-    private String keyboardInput() {
-        return keyboard.nextLine();
-    }
-
-    /**
-     * Closes the scanner
-     */
-    private void closeInput() {
-        keyboard.close();
-    }
-}
+}
\ No newline at end of file
@@ -1,7 +1,5 @@
 import java.io.Serializable;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 /**
@@ -11,8 +9,11 @@ import java.util.Objects;
  */
 public class Application implements Serializable{
 
-    private String[] applicationData;
+    private final static long serialVersionUID = 1L;
+
+    private transient String[] applicationData;     // Only set while loading
     private int lineNo;
+    private transient ValidationReport report;     // Only set while loading
 
     // Application Information
     private long createdAt;
@@ -27,19 +28,18 @@ public class Application implements Serializable{
     private int gradeCOMP90007;
     private int gradeINFO90002;
     private int salaryExpectations;
-    private LocalDate availability;
+    private int availability = EpochDay.NONE;     // Epoch day
 
     // Default Int Values
-    private final int NO_WAM = 0;
-    private final int NO_GRADE = 0;
-    private final int NO_AGE = 0;
+    private final static int NO_WAM = 0;
+    private final static int NO_GRADE = 0;
+    private final static int NO_AGE = 0;
+    private final static int AGE_OUT_OF_RANGE = -1;     // Status of an age that is a number but not within valid range
     private final static int REVERSE_SORT_MULTIPLIER = -1;
-    private final int IS_LESSER = -1;
-    private final int IS_GREATER = 1;
     public final static int DATA_FIELD_NO = 13;
 
-    private final String EMPTY_FIELD = "n/a"; // Default value if user gave empty input
-    private final String EMPTY_CSV_FIELD = "";
+    private final static String EMPTY_FIELD = "n/a"; // Default value if user gave empty input
+    private final static String EMPTY_CSV_FIELD = "";
     
     // Data Field Constraints
     public final  static String DEGREE_BACHELOR = "Bachelor";
@@ -62,26 +62,28 @@ public class Application implements Serializable{
     public static final String SUBJECT_CODE_DB = "INFO90002";
 
     // Indexes for Reading CSV File
-    private final int CREATED_AT_INDEX = 0;
-    private final int LAST_NAME_INDEX = 1;
-    private final int FIRST_NAME_INDEX = 2;
-    private final int CAREER_SUMMARY_INDEX = 3;
-    private final int AGE_INDEX = 4;
-    private final int GENDER_INDEX = 5;
-    private final int HIGHEST_DEGREE_INDEX = 6;
-    private final int GRADE_COMP90041_INDEX = 7;
-    private final int GRADE_COMP90038_INDEX = 8;
-    private final int GRADE_COMP90007_INDEX = 9;
-    private final int GRADE_INFO90002_INDEX = 10;
-    private final int SALARY_EXPECTATION_INDEX = 11;
-    private final int AVAILABILITY_INDEX = 12;
-    private final int PHD_PRIORITY_VALUE = 3;
-    private final int MASTER_PRIORITY_VALUE = 2;
-    private final int BACHELOR_PRIORITY_VALUE = 1;
+    private final static int CREATED_AT_INDEX = 0;
+    private final static int LAST_NAME_INDEX = 1;
+    private final static int FIRST_NAME_INDEX = 2;
+    private final static int CAREER_SUMMARY_INDEX = 3;
+    private final static int AGE_INDEX = 4;
+    private final static int GENDER_INDEX = 5;
+    private final static int HIGHEST_DEGREE_INDEX = 6;
+    private final static int GRADE_COMP90041_INDEX = 7;
+    private final static int GRADE_COMP90038_INDEX = 8;
+    private final static int GRADE_COMP90007_INDEX = 9;
+    private final static int GRADE_INFO90002_INDEX = 10;
+    private final static int SALARY_EXPECTATION_INDEX = 11;
+    private final static int AVAILABILITY_INDEX = 12;
+    private final static int PHD_PRIORITY_VALUE = 3;
+    private final static int MASTER_PRIORITY_VALUE = 2;
+    private final static int BACHELOR_PRIORITY_VALUE = 1;
 
     // Warning Messages
-    private final String WARNING_CHARACTERISTICS = "WARNING: invalid characteristic in applications file in line ";
-    private final String WARNING_NUMBER = "WARNING: invalid number format in applications file in line ";
+    private final static String WARNING_CHARACTERISTICS = "WARNING: invalid characteristic in applications file in line ";
+    private final static String WARNING_NUMBER = "WARNING: invalid number format in applications file in line ";
+    private final static String WARNING_MANDATORY = "WARNING: invalid mandatory data field in line ";
+
     /**
      * Application default constructor,
      * used by applicant when creating a new one
@@ -94,13 +96,13 @@ public class Application implements Serializable{
      * @param applicationData contains application data fields
      */
     public Application(String[] applicationData) {
-        this.applicationData = applicationData;
-        try {
-            loadMandatoryData();
-            loadOptionalData(); 
-        } catch (Exception e) {
-            // Do nothing as any error would have be handled at initial launch before any saved files exist
+        this(applicationData, 0, null);
+        // Any error would have been handled at initial launch before any saved files exist
+        FieldParser parser = FieldParser.get();
+        if (loadMandatoryData(parser) == null) {
+            loadOptionalData(parser);
         }
+        this.applicationData = null;
     }
 
     /**
@@ -111,90 +113,194 @@ public class Application implements Serializable{
      * @throws InvalidMandatoryDataException invalid mandatory data
      */
     public Application(String[] applicationData, int lineNo) throws InvalidMandatoryDataException {
+        this(applicationData, lineNo, null);
+        String warning = loadApplicationData();
+        this.applicationData = null;
+        if (warning != null) {
+            throw new InvalidMandatoryDataException(warning);
+        }
+    }
+
+    /**
+     * Application constructor that keeps the data
+     * fields without loading them
+     * @param applicationData contains application data fields
+     * @param lineNo the line number relative to csv file
+     * @param report validation report, or null to print warnings
+     */
+    private Application(String[] applicationData, int lineNo, ValidationReport report) {
         this.applicationData = applicationData;
         this.lineNo = lineNo;
-        loadApplicationData();
+        this.report = report;
     }
 
+    /**
+     * Application constructor when reading an application
+     * kept in an application store
+     * @param view view of the stored application
+     */
+    Application(ApplicationView view) {
+        this.createdAt = view.getCreatedAt();
+        this.lastName = view.getRawLastName();
+        this.firstName = view.getRawFirstName();
+        this.careerSummary = view.getRawCareerSummary();
+        this.age = view.getAge();
+        this.gender = StringPool.intern(view.getRawGender());
+        this.highestDegree = StringPool.intern(view.getRawDegree());
+        this.gradeCOMP90041 = view.getGrade(SUBJECT_CODE_JAVA);
+        this.gradeCOMP90038 = view.getGrade(SUBJECT_CODE_ALGORITHMS);
+        this.gradeCOMP90007 = view.getGrade(SUBJECT_CODE_IT);
+        this.gradeINFO90002 = view.getGrade(SUBJECT_CODE_DB);
+        this.salaryExpectations = view.getRawSalaryExpectations();
+        this.availability = view.getAvailability();
+    }
 
     /**
-     * Loads entire application data and handles any exceptions/errors
-     * @throws InvalidMandatoryDataException invalid mandatory data
+     * Loads an application when reading the applications csv file,
+     * adding invalid fields to a report instead of printing them
+     * @param applicationData contains application data fields
+     * @param lineNo the line number relative to csv file
+     * @param report validation report
+     * @return application, or null if a mandatory data field is invalid
      */
-    private void loadApplicationData() throws InvalidMandatoryDataException {
-        try {
-            loadMandatoryData();
-            loadOptionalData();
-        } catch (InvalidMandatoryDataException e) {
-            throw new InvalidMandatoryDataException(e.getMessage());
-        } catch (NumberFormatException e) {
-            System.out.println(e.getMessage());
-        } catch (InvalidCharacteristicException e) {
-            System.out.println(e.getMessage());
-        } 
+    public static Application load(String[] applicationData, int lineNo, ValidationReport report) {
+        Application application = new Application(applicationData, lineNo, report);
+        if (application.loadApplicationData() != null) {
+            report.add(ValidationReport.INVALID_MANDATORY, lineNo);
+            return null;
+        }
+        application.applicationData = null;
+        application.report = null;
+        return application;
     }
 
     /**
-     * Loads mandatory data fields and handles any number format errors
-     * @throws InvalidMandatoryDataException invalid mandatory data
+     * Checks if submitted application data fields can be written to the
+     * applications file and read back as the same fields. No field may
+     * hold a double quote or line break, and only the career summary,
+     * which is quoted when written, may hold a comma
+     * @param applicationData contains application data fields
+     * @return true if every field can be written
      */
-    private void loadMandatoryData() throws InvalidMandatoryDataException {
-        try {
-            loadLastName();
-            loadFirstName();
-            loadAge(); 
-        } catch (NumberFormatException | InvalidCharacteristicException e) {
-            throw new InvalidMandatoryDataException(e.getMessage());
+    public static boolean isWritable(String[] applicationData) {
+        for (int i = 0; i < applicationData.length; i++) {
+            String field = applicationData[i];
+            if (field == null) {
+                continue;
+            }
+            for (int j = 0; j < field.length(); j++) {
+                char character = field.charAt(j);
+                if (character == '"' || character == '\n' || character == '\r'
+                        || (character == ',' && i != CAREER_SUMMARY_INDEX)) {
+                    return false;
+                }
+            }
         }
+        return true;
     }
 
     /**
-     * Loads optional data fields and handles any number format or characteristics errors
-     * @throws InvalidCharacteristicException invalid characteristic values
-     * @throws NumberFormatException invalid number format
+     * Loads entire application data, reporting
+     * the first invalid optional field
+     * @return warning if a mandatory field is invalid, else null
      */
-    private void loadOptionalData() throws InvalidCharacteristicException, NumberFormatException {
-        try {
-            loadCreatedAt();
-            loadCareerSummary();
-            loadGender();
-            loadHighestDegree();
-            loadCourseGrades();
-            loadSalaryExpectations();
-            loadAvailability();   
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException(e.getMessage());
-        } catch (InvalidCharacteristicException e) {
-            throw new InvalidCharacteristicException(e.getMessage());
+    private String loadApplicationData() {
+        FieldParser parser = FieldParser.get();
+        String warning = loadMandatoryData(parser);
+        if (warning != null) {
+            return warning;
+        }
+        String errorType = loadOptionalData(parser);
+        if (ValidationReport.INVALID_NUMBER.equals(errorType)) {
+            reportInvalidField(errorType, WARNING_NUMBER);
+        } else if (ValidationReport.INVALID_CHARACTERISTIC.equals(errorType)) {
+            reportInvalidField(errorType, WARNING_CHARACTERISTICS);
+        }
+        return null;
+    }
+
+    /**
+     * Adds an invalid field to the validation report,
+     * or prints its warning if there is no report
+     * @param errorType type of error
+     * @param warning warning message, without the line number
+     */
+    private void reportInvalidField(String errorType, String warning) {
+        if (report == null) {
+            System.out.println(warning + lineNo);
+        } else {
+            report.add(errorType, lineNo);
+        }
+    }
+
+    /**
+     * Loads mandatory data fields
+     * @param parser field parser
+     * @return warning if a mandatory field is invalid, else null
+     */
+    private String loadMandatoryData(FieldParser parser) {
+        if (!loadLastName() || !loadFirstName()) {
+            return WARNING_MANDATORY + lineNo;
+        }
+        switch (loadAge(parser)) {
+            case FieldParser.OK:
+                return null;
+
+            case FieldParser.EMPTY:
+            case FieldParser.INVALID:
+                return WARNING_NUMBER + lineNo;
+
+            default:
+                return WARNING_CHARACTERISTICS + lineNo;
         }
-        
+    }
+
+    /**
+     * Loads optional data fields, stopping at the first invalid one
+     * @param parser field parser
+     * @return type of error of the invalid field, or null if all are valid
+     */
+    private String loadOptionalData(FieldParser parser) {
+        if (!loadCreatedAt(parser)) {
+            return ValidationReport.INVALID_NUMBER;
+        }
+        loadCareerSummary();
+        if (!loadGender() || !loadHighestDegree() || !loadCourseGrades(parser) || !loadSalaryExpectations(parser)) {
+            return ValidationReport.INVALID_CHARACTERISTIC;
+        }
+        loadAvailability(parser);
+        return null;
     }
 
     /**
      * Loads the created at (unix timestamp) field
-     * @throws NumberFormatException invalid number format
+     * @param parser field parser
+     * @return false if not a number
      */
-    private void loadCreatedAt() throws NumberFormatException {
-        try {
-            this.createdAt = Long.parseLong(applicationData[CREATED_AT_INDEX]);                
-        } catch (Exception e) {
-            // If value is not a number
-            throw new NumberFormatException(WARNING_NUMBER + lineNo);
-        }        
+    private boolean loadCreatedAt(FieldParser parser) {
+        if (parser.parseLong(applicationData[CREATED_AT_INDEX]) != FieldParser.OK) {
+            return false;
+        }
+        this.createdAt = parser.getLong();
+        return true;
     }
 
     /**
      * Loads the last name field
+     * @return false if missing
      */
-    private void loadLastName() {
-        this.lastName = applicationData[LAST_NAME_INDEX];
+    private boolean loadLastName() {
+        this.lastName = FieldParser.getField(applicationData, LAST_NAME_INDEX);
+        return lastName != null;
     }
 
     /**
      * Loads the first name field
+     * @return false if missing
      */
-    private void loadFirstName() {
-        this.firstName = applicationData[FIRST_NAME_INDEX];
+    private boolean loadFirstName() {
+        this.firstName = FieldParser.getField(applicationData, FIRST_NAME_INDEX);
+        return firstName != null;
     }
 
     /**
@@ -206,176 +312,126 @@ public class Application implements Serializable{
 
     /**
      * Loads the age field
-     * @throws NumberFormatException invalid number format
-     * @throws InvalidCharacteristicException invalid characteristic field
+     * @param parser field parser
+     * @return parse status, or AGE_OUT_OF_RANGE if not within the valid range
      */
-    private void loadAge() throws NumberFormatException, InvalidCharacteristicException {
-        try {
-            int inputAge = Integer.parseInt(applicationData[AGE_INDEX]);
-            if ((inputAge < Application.AGE_UPPER_LIMIT && inputAge > Application.AGE_LOWER_LIMIT)) {
-                // If age is a number and within valid range
-                this.age = inputAge;
-            } else {
-                // Age is not within valid range
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-            }  
-
-        } catch (InvalidCharacteristicException e) {
-            throw new InvalidCharacteristicException(e.getMessage());
-        
-        } catch (Exception e) {
-            // If value is not a number
-            throw new NumberFormatException(WARNING_NUMBER + lineNo);
+    private int loadAge(FieldParser parser) {
+        int status = parser.parseInt(FieldParser.getField(applicationData, AGE_INDEX));
+        if (status != FieldParser.OK) {
+            return status;
+        }
+        int inputAge = parser.getInt();
+        if (!(inputAge < Application.AGE_UPPER_LIMIT && inputAge > Application.AGE_LOWER_LIMIT)) {
+            return AGE_OUT_OF_RANGE;
         }
+        this.age = inputAge;
+        return FieldParser.OK;
     }
 
     /**
      * Loads the gender field
-     * @throws InvalidCharacteristicException invalid field value
+     * @return false if missing or not a valid gender
      */
-    private void loadGender() throws InvalidCharacteristicException {
-        try {
-            this.gender = applicationData[GENDER_INDEX];
-            if (!(gender.equals(GENDER_MALE) || gender.equals(GENDER_FEMALE) || gender.equals(GENDER_OTHER) || isEmptyField(gender))) {
-                // If not valid input
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-            }
-        // } catch (InvalidCharacteristicException e) {
-        //     this.gender = null;
-        //     throw new InvalidCharacteristicException(e.getMessage());
-        } catch (Exception e) {
-            throw new InvalidCharacteristicException(e.getMessage());
-        }
+    private boolean loadGender() {
+        this.gender = StringPool.intern(FieldParser.getField(applicationData, GENDER_INDEX));
+        return gender != null && (gender.equals(GENDER_MALE) || gender.equals(GENDER_FEMALE) || gender.equals(GENDER_OTHER) || isEmptyField(gender));
     }
 
     /**
      * Loads the highest degree field
-     * @throws InvalidCharacteristicException invalid field value
+     * @return false if missing or not a valid degree
      */
-    private void loadHighestDegree() throws InvalidCharacteristicException {
-        try {
-            this.highestDegree = applicationData[HIGHEST_DEGREE_INDEX];
-            if (!(highestDegree.equals(DEGREE_PHD) || highestDegree.equals(DEGREE_MASTER) || highestDegree.equals(DEGREE_BACHELOR) || isEmptyField(highestDegree))) {
-                this.highestDegree = null;
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-            }
-        } catch (Exception e) {
-            throw new InvalidCharacteristicException(e.getMessage());
+    private boolean loadHighestDegree() {
+        this.highestDegree = StringPool.intern(FieldParser.getField(applicationData, HIGHEST_DEGREE_INDEX));
+        if (highestDegree == null) {
+            return false;
         }
+        if (!(highestDegree.equals(DEGREE_PHD) || highestDegree.equals(DEGREE_MASTER) || highestDegree.equals(DEGREE_BACHELOR) || isEmptyField(highestDegree))) {
+            this.highestDegree = null;
+            return false;
+        }
+        return true;
     }
 
     /**
-     * Loads all the course grades field
-     * @throws InvalidCharacteristicException invalid data field
-     * @throws NumberFormatException invalid number format
+     * Loads all the course grades field, stopping
+     * at the first grade out of range
+     * @param parser field parser
+     * @return false if a grade is out of range
      */
-    private void loadCourseGrades() throws NumberFormatException, InvalidCharacteristicException {
-        loadSubjectGrade(SUBJECT_CODE_JAVA);
-        loadSubjectGrade(SUBJECT_CODE_ALGORITHMS);
-        loadSubjectGrade(SUBJECT_CODE_IT);
-        loadSubjectGrade(SUBJECT_CODE_DB);
+    private boolean loadCourseGrades(FieldParser parser) {
+        return loadSubjectGrade(parser, SUBJECT_CODE_JAVA, GRADE_COMP90041_INDEX)
+                && loadSubjectGrade(parser, SUBJECT_CODE_ALGORITHMS, GRADE_COMP90038_INDEX)
+                && loadSubjectGrade(parser, SUBJECT_CODE_IT, GRADE_COMP90007_INDEX)
+                && loadSubjectGrade(parser, SUBJECT_CODE_DB, GRADE_INFO90002_INDEX);
     }
 
     /**
-     * Loads a subject grade field
-     * @throws NumberFormatException invalid number format
-     * @throws InvalidCharacteristicException invalid data field
+     * Loads a subject grade field, which has no grade
+     * if not a number or out of range
+     * @param parser field parser
+     * @param subjectCode subject code
+     * @param index index of the grade field
+     * @return false if out of range
      */
-    private void loadSubjectGrade(String subjectCode) throws NumberFormatException, InvalidCharacteristicException {
-        try {
-            switch (subjectCode)
+    private boolean loadSubjectGrade(FieldParser parser, String subjectCode, int index) {
+        int grade = NO_GRADE;
+        boolean isValidGrade = true;
+        if (parser.parseInt(FieldParser.getField(applicationData, index)) == FieldParser.OK) {
             // If value is an integer, check if it is within valid range
-            {
-                case SUBJECT_CODE_JAVA:
-                    this.gradeCOMP90041 = Integer.parseInt(applicationData[GRADE_COMP90041_INDEX]);
-                    if (!(gradeCOMP90041 >= Application.GRADE_MINIMUM && gradeCOMP90041 <= Application.GRADE_MAXIMUM)) {
-                        this.gradeCOMP90041 = NO_GRADE;
-                        throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-                    }
-                    break;
-    
-                case SUBJECT_CODE_ALGORITHMS:
-                    this.gradeCOMP90038 = Integer.parseInt(applicationData[GRADE_COMP90038_INDEX]);
-                    if (!(gradeCOMP90038 >= Application.GRADE_MINIMUM && gradeCOMP90038 <= Application.GRADE_MAXIMUM)) {
-                        this.gradeCOMP90038 = NO_GRADE;
-                        throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-                    }
-                    break;
-    
-                case SUBJECT_CODE_IT:
-                    this.gradeCOMP90007 = Integer.parseInt(applicationData[GRADE_COMP90007_INDEX]);
-                    if (!(gradeCOMP90007 >= Application.GRADE_MINIMUM && gradeCOMP90007 <= Application.GRADE_MAXIMUM)) {
-                        this.gradeCOMP90007 = NO_GRADE;
-                        throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-                    }
-                    break;
-    
-                case SUBJECT_CODE_DB:
-                    this.gradeINFO90002 = Integer.parseInt(applicationData[GRADE_INFO90002_INDEX]);
-                    if (!(gradeINFO90002 >= Application.GRADE_MINIMUM && gradeINFO90002 <= Application.GRADE_MAXIMUM)) {
-                        this.gradeINFO90002 = NO_GRADE;
-                        throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-                    }
-                    break;
-            } 
-        } catch (InvalidCharacteristicException e) {
-            throw new InvalidCharacteristicException(e.getMessage());
-        } catch (Exception e) {
-            
-            switch (subjectCode) 
-            {
-                case SUBJECT_CODE_JAVA:
-                    this.gradeCOMP90041 = NO_GRADE;
-                    break;
-                    
-                case SUBJECT_CODE_ALGORITHMS:
-                    this.gradeCOMP90038 = NO_GRADE;
-                    break;
-    
-                case SUBJECT_CODE_IT:
-                    this.gradeCOMP90007 = NO_GRADE;
-                    break;
-    
-                case SUBJECT_CODE_DB:
-                    this.gradeINFO90002 = NO_GRADE;
-                    break; 
-                }
+            if (parser.getInt() >= Application.GRADE_MINIMUM && parser.getInt() <= Application.GRADE_MAXIMUM) {
+                grade = parser.getInt();
+            } else {
+                isValidGrade = false;
             }
         }
+        switch (subjectCode)
+        {
+            case SUBJECT_CODE_JAVA:
+                this.gradeCOMP90041 = grade;
+                break;
+
+            case SUBJECT_CODE_ALGORITHMS:
+                this.gradeCOMP90038 = grade;
+                break;
+
+            case SUBJECT_CODE_IT:
+                this.gradeCOMP90007 = grade;
+                break;
+
+            case SUBJECT_CODE_DB:
+                this.gradeINFO90002 = grade;
+                break;
+        }
+        return isValidGrade;
+    }
 
     /**
-     * Loads the salary expectation field
-     * @throws NumberFormatException invalid number format
-     * @throws InvalidCharacteristicException invalid salary value
+     * Loads the salary expectation field, which is 0 if not given
+     * @param parser field parser
+     * @return false if below the minimum salary
      */
-    private void loadSalaryExpectations() throws NumberFormatException, InvalidCharacteristicException {
-        try {
-            int salaryExpectationsInput = Integer.parseInt(applicationData[SALARY_EXPECTATION_INDEX]);
-            if (salaryExpectationsInput >= Application.SALARY_EXPECTATION_MINIMUM) {
-                // If value is a number and within valid range
-                this.salaryExpectations = salaryExpectationsInput;
-            } else {
-                // If value is a number and not within valid range
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-            }         
-        } catch (InvalidCharacteristicException e) {
-            salaryExpectations = 0;
-            throw new InvalidCharacteristicException(e.getMessage());
-        } catch (Exception e ) {
+    private boolean loadSalaryExpectations(FieldParser parser) {
+        this.salaryExpectations = 0;
+        if (parser.parseInt(FieldParser.getField(applicationData, SALARY_EXPECTATION_INDEX)) != FieldParser.OK) {
             // Default Value if no valid input
-            salaryExpectations = 0;
+            return true;
+        }
+        if (parser.getInt() < Application.SALARY_EXPECTATION_MINIMUM) {
+            return false;
         }
+        this.salaryExpectations = parser.getInt();
+        return true;
     }
 
     /**
-     * Loads the availability field
-     * @throws InvalidCharacteristicException invalid availability format
+     * Loads the availability field, which is
+     * not set if not a date with valid pattern
+     * @param parser field parser
      */
-    private void loadAvailability() {
-        try {
-            this.availability = LocalDate.parse(applicationData[AVAILABILITY_INDEX], DateTimeFormatter.ofPattern("dd/MM/yy"));
-        } catch (Exception e) {
-            // Not a date with valid pattern
+    private void loadAvailability(FieldParser parser) {
+        if (parser.parseDate(FieldParser.getField(applicationData, AVAILABILITY_INDEX)) == FieldParser.OK) {
+            this.availability = parser.getEpochDay();
         }
     }
 
@@ -385,7 +441,7 @@ public class Application implements Serializable{
      */
     public String getCSVFormat() {
 
-        String csvFormat = String.format("%d,%s,%s,%s,%d,%s,%s,%s,%s,%s,%s,%s,%s\n", createdAt, lastName, firstName, careerSummary, age, gender, highestDegree,
+        String csvFormat = String.format("%d,%s,%s,%s,%d,%s,%s,%s,%s,%s,%s,%s,%s\n", createdAt, lastName, firstName, getCSVCareerSummary(), age, gender, highestDegree,
         getCSVGradeCOMP90041(), getCSVGradeCOMP90038(), getCSVGradeCOMP90007(), getCSVGradeINFO90002(), getCSVSalaryExpectations(), getCSVAvailability());
         return csvFormat;
     }
@@ -416,11 +472,12 @@ public class Application implements Serializable{
     }
 
     /**
-     * Sets career summary
+     * Sets career summary, kept without the quotes
+     * added when written in CSV format
      * @param careerSummary career summary
      */
     public void setCareerSummary(String careerSummary) {
-        this.careerSummary = checkCommas(careerSummary).trim();
+        this.careerSummary = careerSummary.trim();
     }
 
     /**
@@ -480,9 +537,9 @@ public class Application implements Serializable{
 
     /**
      * Sets availability
-     * @param date date
+     * @param date date as an epoch day
      */
-    public void setAvailability(LocalDate date) {
+    public void setAvailability(int date) {
         this.availability = date;
     }
 
@@ -491,7 +548,7 @@ public class Application implements Serializable{
      * input any
      */
     public void setBlankAvailability() { 
-        this.availability = null;
+        this.availability = EpochDay.NONE;
     }
 
 
@@ -577,24 +634,18 @@ public class Application implements Serializable{
      * @return formatted availability date
      */
     public String getFormattedAvailability() {
-        try {
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-            return dateFormatter.format(availability);          
-        } catch (Exception e) {
+        if (availability == EpochDay.NONE) {
             return EMPTY_FIELD;
         }
+        return EpochDay.format(availability);
     }
 
     /**
      * Gets availability field 
-     * @return availability date
+     * @return availability as an epoch day, NONE if not given
      */
-    private LocalDate getAvailability() {
-        try {
-            return availability;
-        } catch (Exception e) {
-            return null;
-        }
+    int getAvailability() {
+        return availability;
     }
 
     /**
@@ -609,6 +660,80 @@ public class Application implements Serializable{
         }
     }
 
+    // Application Data Field Getters as stored in an application store
+
+    /**
+     * Gets last name as given
+     * @return last name, or null if not given
+     */
+    String getRawLastName() {
+        return lastName;
+    }
+
+    /**
+     * Gets first name as given
+     * @return first name, or null if not given
+     */
+    String getRawFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Gets career summary as given
+     * @return career summary, or null if not given
+     */
+    String getRawCareerSummary() {
+        return careerSummary;
+    }
+
+    /**
+     * Gets gender as given
+     * @return gender, or null if not given
+     */
+    String getRawGender() {
+        return gender;
+    }
+
+    /**
+     * Gets degree as given
+     * @return degree, or null if not given
+     */
+    String getRawDegree() {
+        return highestDegree;
+    }
+
+    /**
+     * Gets salary expectations as given
+     * @return salary expectations, 0 if not given
+     */
+    int getRawSalaryExpectations() {
+        return salaryExpectations;
+    }
+
+    /**
+     * Gets a grade
+     * @param subjectCode subject code
+     * @return grade, 0 if not given
+     */
+    int getGrade(String subjectCode) {
+        switch (subjectCode) {
+            case SUBJECT_CODE_JAVA:
+                return gradeCOMP90041;
+
+            case SUBJECT_CODE_ALGORITHMS:
+                return gradeCOMP90038;
+
+            case SUBJECT_CODE_IT:
+                return gradeCOMP90007;
+
+            case SUBJECT_CODE_DB:
+                return gradeINFO90002;
+
+            default:
+                return NO_GRADE;
+        }
+    }
+
     // Application Data Field Getters in CSV readable format
 
     /**
@@ -664,14 +789,25 @@ public class Application implements Serializable{
      * @return availability
      */
     private String getCSVAvailability() {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-        if (availability == null) {
+        if (availability == EpochDay.NONE) {
             return EMPTY_CSV_FIELD;
         } else {
-            return dateFormatter.format(availability);
+            return EpochDay.format(availability);
         }
     }
 
+    /**
+     * Gets career summary in CSV format, quoting it if it has
+     * commas and was not quoted already
+     * @return career summary
+     */
+    private String getCSVCareerSummary() {
+        if (careerSummary == null || careerSummary.startsWith("\"")) {
+            return careerSummary;
+        }
+        return checkCommas(careerSummary);
+    }
+
     /**
      * Gets salary expectations in CSV format
      * @return salary expectations
@@ -753,29 +889,13 @@ public class Application implements Serializable{
      * @return compareTo value
      */
     public int sortApplicantList (Application application) {
-        LocalDate thisAvailability = this.availability;
-        LocalDate otherAvailablity = application.getAvailability();
-
-        if (thisAvailability == null && otherAvailablity == null) {
-            // If both dates are null
+        // Dates not given are NONE, which sorts after every date
+        int availabilityComparison = Integer.compare(this.availability, application.getAvailability());
+        if (availabilityComparison == 0) {
+            // If both dates are equal or both not given
             return compareName(application);
-        } else if (thisAvailability == null) {
-            // If this date is null
-            return IS_GREATER;
-        } else if (otherAvailablity == null) {
-            // If other date is null
-            return IS_LESSER;
-        } else {
-            // If both dates are not null
-            if (thisAvailability.isBefore(otherAvailablity)) {
-                return IS_LESSER;
-            } else if (thisAvailability.isAfter(otherAvailablity)){
-                return IS_GREATER;
-            } else {
-                // If both dates are not null and equal
-                return compareName(application); 
-            }
         }
+        return availabilityComparison;
     }
 
 
@@ -785,26 +905,12 @@ public class Application implements Serializable{
      * @return compareTo value
      */
     public int compareAvailability(Application application) {
-        if (this.availability == null && application.getAvailability() == null) {
-            //both null
+        int availabilityComparison = Integer.compare(this.availability, application.getAvailability());
+        if (availabilityComparison == 0) {
+            //equal
             return compareCreatedAt(application);
-
-        } else if (this.availability == null) {
-            //before
-            return 1;
-        } else if (application.getAvailability() == null) {
-            //before
-            return -1;
-        } else {
-            if (this.availability.isBefore(application.getAvailability())) {
-                return -1;
-            } else if (this.availability.isAfter(application.getAvailability())){
-                return 1;
-            } else {
-                //equal
-                return compareCreatedAt(application);
-            }
         }
+        return availabilityComparison;
     }
 
     /**
@@ -0,0 +1,246 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A class that validates applications submitted in bulk, such as those
+ * collected offline by kiosks, given as JSONL with one application object
+ * per line. Each object has the fields taken by POST /applications and
+ * optionally the jobs to apply for, as taken by POST /applications/{id}/apply.
+ * Lines are validated a batch at a time on the parser threads with the same
+ * rules as the applications file, and applications without a created at
+ * are given the time of the submission
+ */
+public class ApplicationBatch {
+
+    private final ValidationReport report;
+    private final String submittedAt;
+
+    private final static int BATCH_ROW_NO = 2048;
+    private final static String FIELD_JOBS = "jobs";
+    private final static String[] APPLICATION_HEADER_NAMES = IOHandler.APPLICATION_HEADER.trim().split(",");
+    private final static int CREATED_AT_INDEX = 0;
+    private final static int LAST_NAME_INDEX = 1;
+    private final static int FIRST_NAME_INDEX = 2;
+
+    // Error Messages
+    private final static String ERROR_READ = "Unable to read submission file: ";
+
+    /**
+     * ApplicationBatch constructor
+     * @param sourceName file path or name of the submission, for the validation report
+     */
+    public ApplicationBatch(String sourceName) {
+        this.report = new ValidationReport(sourceName, IOHandler.APPLICATION_FILE_TYPE);
+        this.submittedAt = Long.toString(Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Reads the lines of a submission file
+     * @param filePath file path
+     * @return lines, the first being line 1
+     * @throws IOHandlerException error during reading the file
+     */
+    public static ArrayList<String> readLines(String filePath) throws IOHandlerException {
+        ArrayList<String> lines = new ArrayList<String>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_READ + filePath);
+        }
+        return lines;
+    }
+
+    /**
+     * Validates the submitted applications and the jobs they apply for
+     * @param lines lines of JSONL, the first being line 1
+     * @param jobList jobs as numbered when listed, the first being job 1
+     * @return valid submissions in the order given
+     */
+    public ArrayList<Submission> validate(List<String> lines, List<Job> jobList) {
+        ArrayList<CompletableFuture<ValidatedBatch>> batches = new ArrayList<CompletableFuture<ValidatedBatch>>();
+        for (int startIndex = 0; startIndex < lines.size(); startIndex += BATCH_ROW_NO) {
+            int batchStartIndex = startIndex;
+            int batchEndIndex = Math.min(startIndex + BATCH_ROW_NO, lines.size());
+            batches.add(CompletableFuture.supplyAsync(() -> validateBatch(lines, jobList, batchStartIndex, batchEndIndex),
+                    IOHandler.PARSER_THREADS));
+        }
+        // Batches are joined in order, so submissions and invalid rows keep the order given
+        ArrayList<Submission> submissions = new ArrayList<Submission>(lines.size());
+        for (CompletableFuture<ValidatedBatch> batch : batches) {
+            ValidatedBatch validatedBatch = batch.join();
+            submissions.addAll(validatedBatch.submissions);
+            report.addAll(validatedBatch.report);
+        }
+        report.setRowNo(lines.size());
+        return submissions;
+    }
+
+    /**
+     * Gets the validation report of the lines validated
+     * @return validation report
+     */
+    public ValidationReport getReport() {
+        return report;
+    }
+
+    /**
+     * Validates a batch of lines on a parser thread
+     * @param lines lines of JSONL
+     * @param jobList jobs as numbered when listed
+     * @param startIndex index of the first line of the batch
+     * @param endIndex index after the last line of the batch
+     * @return valid submissions and invalid rows of the batch
+     */
+    private ValidatedBatch validateBatch(List<String> lines, List<Job> jobList, int startIndex, int endIndex) {
+        ValidatedBatch batch = new ValidatedBatch();
+        for (int i = startIndex; i < endIndex; i++) {
+            Submission submission = validateLine(lines.get(i), i + 1, jobList, batch.report);
+            if (submission != null) {
+                batch.submissions.add(submission);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Validates a submitted application and the jobs it applies for
+     * @param line line of JSON
+     * @param lineNo line number, for the report
+     * @param jobList jobs as numbered when listed
+     * @param report validation report the line is added to if invalid
+     * @return submission, or null if the line is invalid or blank
+     */
+    public Submission validateLine(String line, int lineNo, List<Job> jobList, ValidationReport report) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        LinkedHashMap<String, Object> fields;
+        try {
+            fields = new JsonHandler().parseObject(line);
+        } catch (InvalidDataFormatException e) {
+            report.add(ValidationReport.INVALID_DATA_FORMAT, lineNo);
+            return null;
+        }
+        ArrayList<Job> selectedJobs = getSelectedJobs(fields.get(FIELD_JOBS), jobList);
+        if (selectedJobs == null) {
+            report.add(ValidationReport.INVALID_JOB_SELECTION, lineNo);
+            return null;
+        }
+        String[] applicationData = getApplicationData(fields);
+        if (FieldParser.isEmpty(applicationData[LAST_NAME_INDEX]) || FieldParser.isEmpty(applicationData[FIRST_NAME_INDEX])) {
+            // Names are required for submissions, as they are by the server
+            report.add(ValidationReport.INVALID_MANDATORY, lineNo);
+            return null;
+        }
+        if (!Application.isWritable(applicationData)) {
+            // Would split or shift the row once appended to the applications file
+            report.add(ValidationReport.INVALID_DATA_FORMAT, lineNo);
+            return null;
+        }
+        Application application = Application.load(applicationData, lineNo, report);
+        if (application == null) {
+            // Skips line row if invalid mandatory fields in the row
+            return null;
+        }
+        return new Submission(application, selectedJobs);
+    }
+
+    /**
+     * Builds application data fields in the applications file order
+     * from a JSON object using the applications file header names
+     * @param fields JSON fields
+     * @return application data fields
+     */
+    private String[] getApplicationData(LinkedHashMap<String, Object> fields) {
+        String[] applicationData = new String[APPLICATION_HEADER_NAMES.length];
+        for (int i = 0; i < APPLICATION_HEADER_NAMES.length; i++) {
+            Object value = fields.get(APPLICATION_HEADER_NAMES[i]);
+            applicationData[i] = (value instanceof String) ? (String) value : "";
+        }
+        if (FieldParser.isEmpty(applicationData[CREATED_AT_INDEX])) {
+            applicationData[CREATED_AT_INDEX] = submittedAt;
+        }
+        return applicationData;
+    }
+
+    /**
+     * Gets the jobs selected by their numbers, leaving out repeated ones
+     * @param jobNos JSON list of job numbers, or null if no jobs are selected
+     * @param jobList jobs as numbered when listed
+     * @return selected jobs, or null if not a list of valid job numbers
+     */
+    private ArrayList<Job> getSelectedJobs(Object jobNos, List<Job> jobList) {
+        ArrayList<Job> selectedJobs = new ArrayList<Job>();
+        if (jobNos == null) {
+            return selectedJobs;
+        }
+        if (!(jobNos instanceof ArrayList)) {
+            return null;
+        }
+        FieldParser parser = FieldParser.get();
+        for (Object jobNo : (ArrayList<?>) jobNos) {
+            if (!(jobNo instanceof String) || parser.parseInt((String) jobNo) != FieldParser.OK
+                    || parser.getInt() < 1 || parser.getInt() > jobList.size()) {
+                return null;
+            }
+            Job job = jobList.get(parser.getInt() - 1);
+            if (!selectedJobs.contains(job)) {
+                selectedJobs.add(job);
+            }
+        }
+        return selectedJobs;
+    }
+
+    /**
+     * A valid application with the jobs it applies for
+     */
+    public static class Submission {
+        private final Application application;
+        private final ArrayList<Job> jobList;
+
+        /**
+         * Submission constructor
+         * @param application application
+         * @param jobList jobs applied for
+         */
+        private Submission(Application application, ArrayList<Job> jobList) {
+            this.application = application;
+            this.jobList = jobList;
+        }
+
+        /**
+         * Gets the application
+         * @return application
+         */
+        public Application getApplication() {
+            return application;
+        }
+
+        /**
+         * Gets the jobs applied for
+         * @return jobs, empty if none
+         */
+        public ArrayList<Job> getJobList() {
+            return jobList;
+        }
+    }
+
+    /**
+     * The valid submissions and invalid rows of a batch of lines
+     */
+    private static class ValidatedBatch {
+        private final ArrayList<Submission> submissions = new ArrayList<Submission>();
+        private final ValidationReport report = new ValidationReport(null, IOHandler.APPLICATION_FILE_TYPE);
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A class that keeps the applications most recently read from an
+ * application store as objects, up to a number of applications, so that
+ * applicants used again (such as one applying for several jobs) are only
+ * created once and share the same object. When full, the application
+ * used least recently is dropped. Hits, misses and evictions are counted
+ * so the number of applications kept can be sized for the workload
+ */
+public class ApplicationCache {
+
+    private final ApplicationStore store;
+    private final int capacity;
+    private final LinkedHashMap<Integer, Application> applications;     // In order of use, least recent first
+    private long hitNo;
+    private long missNo;
+    private long evictionNo;
+
+    // Metrics Names
+    private final static String METRICS_HITS = "applicantCache.hits";
+    private final static String METRICS_MISSES = "applicantCache.misses";
+    private final static String METRICS_EVICTIONS = "applicantCache.evictions";
+
+    /**
+     * ApplicationCache constructor
+     * @param store application store the applications are read from
+     * @param capacity number of applications kept
+     */
+    public ApplicationCache(ApplicationStore store, int capacity) {
+        this.store = store;
+        this.capacity = capacity;
+        this.applications = new LinkedHashMap<Integer, Application>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Application> eldest) {
+                if (size() > ApplicationCache.this.capacity) {
+                    evictionNo += 1;
+                    Metrics.increment(METRICS_EVICTIONS);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets an application, reading it from the store if not kept
+     * @param index index of the record in the store
+     * @return application
+     */
+    public Application get(int index) {
+        synchronized (applications) {
+            Application application = applications.get(index);
+            if (application != null) {
+                hitNo += 1;
+                Metrics.increment(METRICS_HITS);
+                return application;
+            }
+            missNo += 1;
+            Metrics.increment(METRICS_MISSES);
+        }
+        // Read outside the lock, so threads missing different applications do not wait on each other
+        Application application = store.view().moveTo(index).toApplication();
+        synchronized (applications) {
+            Application keptApplication = applications.putIfAbsent(index, application);
+            return keptApplication != null ? keptApplication : application;
+        }
+    }
+
+    /**
+     * Gets the application store the applications are read from
+     * @return application store
+     */
+    public ApplicationStore getStore() {
+        return store;
+    }
+
+    /**
+     * Gets number of applications kept
+     * @return number of applications
+     */
+    public int size() {
+        synchronized (applications) {
+            return applications.size();
+        }
+    }
+
+    /**
+     * Gets number of applications that were kept when asked for
+     * @return number of hits
+     */
+    public long getHitNo() {
+        synchronized (applications) {
+            return hitNo;
+        }
+    }
+
+    /**
+     * Gets number of applications that were read from the store when asked for
+     * @return number of misses
+     */
+    public long getMissNo() {
+        synchronized (applications) {
+            return missNo;
+        }
+    }
+
+    /**
+     * Gets number of applications dropped to make room
+     * @return number of evictions
+     */
+    public long getEvictionNo() {
+        synchronized (applications) {
+            return evictionNo;
+        }
+    }
+}
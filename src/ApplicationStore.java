@@ -0,0 +1,606 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A class that keeps applications outside of the heap, in files mapped
+ * into memory, so that millions of them can be listed without a heap
+ * large enough to hold them as objects. Each application is a fixed width
+ * record of its numbers and its degree and gender codes, pointing to its
+ * names and career summary in an area of strings appended to a second file.
+ * Records are read through views (see ApplicationView), which are moved
+ * from record to record instead of creating an object for each. Records
+ * are appended by one thread at a time and can be read by many threads.
+ * The files of a store can be opened again later (see open), which is how
+ * parsed applications are kept between runs (see ParseCache)
+ */
+public class ApplicationStore {
+
+    private final static String STRINGS_FILE_EXTENSION = ".strings";
+    private final static int CHUNK_SIZE = 1 << 26;      // Each file is mapped 64 MB at a time
+    private final static int MAX_CHUNKS = 1 << 14;      // Enough chunks for a terabyte of records
+    private final static int NULL_LENGTH = -1;          // Length stored for a field that is not given
+    private final static int MAX_CODE = 255;            // Degree and gender codes are stored as a byte
+    final static int NOT_COMPARED = Integer.MIN_VALUE;  // Strings not compared as bytes, which compareTo never returns
+
+    // Record Layout (byte offsets within a record)
+    final static int CREATED_AT_OFFSET = 0;
+    final static int AGE_OFFSET = 8;
+    final static int GRADE_OFFSET = 12;                 // Four grades, in the order of the applications file
+    final static int SALARY_OFFSET = 28;
+    final static int AVAILABILITY_OFFSET = 32;
+    final static int DEGREE_OFFSET = 36;
+    final static int GENDER_OFFSET = 37;
+    final static int STRINGS_OFFSET = 40;               // Position of the names and career summary
+    final static int RECORD_SIZE = 48;
+    private final static int RECORDS_PER_CHUNK = CHUNK_SIZE / RECORD_SIZE;
+
+    private String filePath;
+    private FileChannel recordChannel;
+    private FileChannel stringChannel;
+    private final MappedByteBuffer[] recordChunks;
+    private final MappedByteBuffer[] stringChunks;
+    private final boolean isReadOnly;
+    private long stringPosition;
+    private volatile int size;                          // Records below size are fully written
+
+    // Dictionary of degree and gender values, code 0 is a value not given
+    private volatile String[] codeValues;               // Replaced as a whole when a value is added
+    private final HashMap<String, Integer> valueCodes;
+
+    // Error Messages
+    private final static String ERROR_OPEN = "Unable to open application store: ";
+    private final static String ERROR_WRITE = "Unable to write to application store: ";
+    private final static String ERROR_TOO_LARGE = "Application too large for application store in line ";
+    private final static String ERROR_READ_ONLY = "Unable to append to read only application store: ";
+    private final static String ERROR_TOO_MANY_VALUES = "Too many distinct degree and gender values for application store: ";
+
+    /**
+     * ApplicationStore constructor, only used through create and open
+     * @param filePath file path of the records
+     * @param recordChannel channel of the records file
+     * @param stringChannel channel of the strings file
+     * @param isReadOnly true if records cannot be appended
+     */
+    private ApplicationStore(String filePath, FileChannel recordChannel, FileChannel stringChannel, boolean isReadOnly) {
+        this.filePath = filePath;
+        this.recordChannel = recordChannel;
+        this.stringChannel = stringChannel;
+        this.isReadOnly = isReadOnly;
+        this.recordChunks = new MappedByteBuffer[MAX_CHUNKS];
+        this.stringChunks = new MappedByteBuffer[MAX_CHUNKS];
+        this.codeValues = new String[1];
+        this.valueCodes = new HashMap<String, Integer>();
+    }
+
+    /**
+     * Creates an empty store, replacing the files of any earlier store
+     * @param filePath file path of the records, the strings are kept
+     * beside it with a .strings extension
+     * @return application store
+     * @throws IOHandlerException error during creating the store files
+     */
+    public static ApplicationStore create(String filePath) throws IOHandlerException {
+        try {
+            FileChannel recordChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            FileChannel stringChannel = FileChannel.open(Paths.get(filePath + STRINGS_FILE_EXTENSION), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            return new ApplicationStore(filePath, recordChannel, stringChannel, false);
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_OPEN + filePath);
+        }
+    }
+
+    /**
+     * Opens the files of an earlier store, as they were when it
+     * had a number of records (see getStringPosition and getCodeValues)
+     * @param filePath file path of the records
+     * @param recordNo number of records
+     * @param stringPosition end of the strings of the records
+     * @param codeValues degree and gender values by code
+     * @param isReadOnly true to map the files read only, so records cannot be appended
+     * @return application store
+     * @throws IOHandlerException error during opening the store files, or if they are too short
+     */
+    public static ApplicationStore open(String filePath, int recordNo, long stringPosition, String[] codeValues,
+                                        boolean isReadOnly) throws IOHandlerException {
+        FileChannel recordChannel = null;
+        FileChannel stringChannel = null;
+        try {
+            StandardOpenOption[] options = isReadOnly ? new StandardOpenOption[]{StandardOpenOption.READ}
+                    : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+            recordChannel = FileChannel.open(Paths.get(filePath), options);
+            stringChannel = FileChannel.open(Paths.get(filePath + STRINGS_FILE_EXTENSION), options);
+            ApplicationStore store = new ApplicationStore(filePath, recordChannel, stringChannel, isReadOnly);
+            store.size = recordNo;
+            store.stringPosition = stringPosition;
+            if (recordChannel.size() < store.getRecordEnd() || stringChannel.size() < stringPosition) {
+                throw new IOException();
+            }
+            store.codeValues = codeValues.clone();
+            for (int code = 1; code < codeValues.length; code++) {
+                store.valueCodes.put(codeValues[code], code);
+            }
+            // Chunks of existing records are mapped up front, since views never map chunks
+            for (int chunkIndex = 0; (long) chunkIndex * CHUNK_SIZE < store.getRecordEnd(); chunkIndex++) {
+                store.getChunk(store.recordChunks, recordChannel, chunkIndex);
+            }
+            for (int chunkIndex = 0; (long) chunkIndex * CHUNK_SIZE < stringPosition; chunkIndex++) {
+                store.getChunk(store.stringChunks, stringChannel, chunkIndex);
+            }
+            return store;
+        } catch (IOException e) {
+            closeQuietly(recordChannel);
+            closeQuietly(stringChannel);
+            throw new IOHandlerException(ERROR_OPEN + filePath);
+        }
+    }
+
+    /**
+     * Copies the records to new store files, which can be opened
+     * with the store's number of records, string position and values
+     * @param copyFilePath file path of the copied records
+     * @throws IOHandlerException error during writing the copied files
+     */
+    public synchronized void copyTo(String copyFilePath) throws IOHandlerException {
+        try {
+            copyFile(recordChannel, getRecordEnd(), copyFilePath);
+            copyFile(stringChannel, stringPosition, copyFilePath + STRINGS_FILE_EXTENSION);
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_WRITE + copyFilePath);
+        }
+    }
+
+    /**
+     * Deletes the files of a store that is no longer used
+     * @param filePath file path of the records
+     */
+    public static void delete(String filePath) {
+        try {
+            Files.deleteIfExists(Paths.get(filePath));
+            Files.deleteIfExists(Paths.get(filePath + STRINGS_FILE_EXTENSION));
+        } catch (IOException e) {
+            System.out.println(ERROR_WRITE + filePath);
+        }
+    }
+
+    /**
+     * Appends an application
+     * @param application application
+     * @param lineNo line number of the application, for errors
+     * @return index of the record
+     * @throws IOHandlerException error during writing to the store files
+     */
+    public synchronized int append(Application application, int lineNo) throws IOHandlerException {
+        if (isReadOnly) {
+            throw new IOHandlerException(ERROR_READ_ONLY + filePath);
+        }
+        byte[] lastName = encode(application.getRawLastName());
+        byte[] firstName = encode(application.getRawFirstName());
+        byte[] careerSummary = encode(application.getRawCareerSummary());
+        int stringsLength = getEncodedLength(lastName) + getEncodedLength(firstName) + getEncodedLength(careerSummary);
+        if (stringsLength > CHUNK_SIZE) {
+            throw new IOHandlerException(ERROR_TOO_LARGE + lineNo);
+        }
+        int degreeCode = getCode(application.getRawDegree());
+        int genderCode = getCode(application.getRawGender());
+        try {
+            // Strings of a record are kept within one chunk, so a view never reads across two
+            if (stringPosition % CHUNK_SIZE + stringsLength > CHUNK_SIZE) {
+                stringPosition += CHUNK_SIZE - stringPosition % CHUNK_SIZE;
+            }
+            long recordStringPosition = stringPosition;
+            MappedByteBuffer stringChunk = getChunk(stringChunks, stringChannel, (int) (stringPosition / CHUNK_SIZE));
+            int stringOffset = (int) (stringPosition % CHUNK_SIZE);
+            stringOffset = putString(stringChunk, stringOffset, lastName);
+            stringOffset = putString(stringChunk, stringOffset, firstName);
+            putString(stringChunk, stringOffset, careerSummary);
+            stringPosition += stringsLength;
+
+            int index = size;
+            MappedByteBuffer recordChunk = getChunk(recordChunks, recordChannel, index / RECORDS_PER_CHUNK);
+            int recordOffset = (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+            recordChunk.putLong(recordOffset + CREATED_AT_OFFSET, application.getCreatedAt());
+            recordChunk.putInt(recordOffset + AGE_OFFSET, application.getAge());
+            recordChunk.putInt(recordOffset + GRADE_OFFSET, application.getGrade(Application.SUBJECT_CODE_JAVA));
+            recordChunk.putInt(recordOffset + GRADE_OFFSET + Integer.BYTES, application.getGrade(Application.SUBJECT_CODE_ALGORITHMS));
+            recordChunk.putInt(recordOffset + GRADE_OFFSET + 2 * Integer.BYTES, application.getGrade(Application.SUBJECT_CODE_IT));
+            recordChunk.putInt(recordOffset + GRADE_OFFSET + 3 * Integer.BYTES, application.getGrade(Application.SUBJECT_CODE_DB));
+            recordChunk.putInt(recordOffset + SALARY_OFFSET, application.getRawSalaryExpectations());
+            recordChunk.putInt(recordOffset + AVAILABILITY_OFFSET, application.getAvailability());
+            recordChunk.put(recordOffset + DEGREE_OFFSET, (byte) degreeCode);
+            recordChunk.put(recordOffset + GENDER_OFFSET, (byte) genderCode);
+            recordChunk.putLong(recordOffset + STRINGS_OFFSET, recordStringPosition);
+            size = index + 1;                           // Publishes the record to readers
+            return index;
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_WRITE + filePath);
+        }
+    }
+
+    /**
+     * Gets a new view, which is not safe to share between threads
+     * @return view, to be moved to a record before reading
+     */
+    public ApplicationView view() {
+        return new ApplicationView(this);
+    }
+
+    /**
+     * Gets number of records
+     * @return number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the end of the strings of the records, for opening the store again
+     * @return position in the strings file
+     */
+    public synchronized long getStringPosition() {
+        return stringPosition;
+    }
+
+    /**
+     * Gets the degree and gender values by code, for opening the store again
+     * @return values, where code 0 is a value not given
+     */
+    public String[] getCodeValues() {
+        return codeValues.clone();
+    }
+
+    /**
+     * Closes the store files, records stay readable
+     * while their mapping is in use
+     */
+    public synchronized void close() {
+        try {
+            recordChannel.close();
+            stringChannel.close();
+        } catch (IOException e) {
+            System.out.println(ERROR_WRITE + filePath);
+        }
+    }
+
+    /**
+     * Sorts the records without creating an object for each, keeping
+     * records that compare equal in the order they were appended
+     * @param comparator comparator of two views
+     * @return record indexes in sorted order
+     */
+    public int[] sort(ViewComparator comparator) {
+        int recordNo = size;
+        int[] indexes = new int[recordNo];
+        for (int i = 0; i < recordNo; i++) {
+            indexes[i] = i;
+        }
+        mergeSort(indexes, new int[recordNo], 0, recordNo, comparator, view(), view());
+        return indexes;
+    }
+
+    /**
+     * An interface that compares two records through views
+     */
+    public interface ViewComparator {
+
+        /**
+         * Compares two records
+         * @param view view of the first record
+         * @param otherView view of the second record
+         * @return compareTo value
+         */
+        int compare(ApplicationView view, ApplicationView otherView);
+    }
+
+    /**
+     * Sorts a range of record indexes by merging sorted halves
+     * @param indexes record indexes
+     * @param buffer buffer as long as the indexes
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     * @param comparator comparator of two views
+     * @param view view of the first record compared
+     * @param otherView view of the second record compared
+     */
+    private void mergeSort(int[] indexes, int[] buffer, int start, int end, ViewComparator comparator,
+                           ApplicationView view, ApplicationView otherView) {
+        if (end - start < 2) {
+            return;
+        }
+        int middle = (start + end) >>> 1;
+        mergeSort(indexes, buffer, start, middle, comparator, view, otherView);
+        mergeSort(indexes, buffer, middle, end, comparator, view, otherView);
+        if (compare(indexes[middle - 1], indexes[middle], comparator, view, otherView) <= 0) {
+            // Halves are already in order
+            return;
+        }
+        System.arraycopy(indexes, start, buffer, start, end - start);
+        int left = start;
+        int right = middle;
+        for (int i = start; i < end; i++) {
+            if (right >= end || (left < middle && compare(buffer[left], buffer[right], comparator, view, otherView) <= 0)) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Compares two records
+     * @param index index of the first record
+     * @param otherIndex index of the second record
+     * @param comparator comparator of two views
+     * @param view view of the first record
+     * @param otherView view of the second record
+     * @return compareTo value
+     */
+    private int compare(int index, int otherIndex, ViewComparator comparator, ApplicationView view, ApplicationView otherView) {
+        view.moveTo(index);
+        otherView.moveTo(otherIndex);
+        return comparator.compare(view, otherView);
+    }
+
+    /**
+     * Gets the chunk of records holding a record
+     * @param index index of the record
+     * @return chunk of records
+     */
+    MappedByteBuffer getRecordChunk(int index) {
+        return recordChunks[index / RECORDS_PER_CHUNK];
+    }
+
+    /**
+     * Gets the offset of a record in its chunk
+     * @param index index of the record
+     * @return byte offset
+     */
+    int getRecordOffset(int index) {
+        return (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+    }
+
+    /**
+     * Gets the chunk of strings holding a position
+     * @param position position in the strings file
+     * @return chunk of strings
+     */
+    MappedByteBuffer getStringChunk(long position) {
+        return stringChunks[(int) (position / CHUNK_SIZE)];
+    }
+
+    /**
+     * Gets the offset of a position in its chunk of strings
+     * @param position position in the strings file
+     * @return byte offset
+     */
+    int getStringOffset(long position) {
+        return (int) (position % CHUNK_SIZE);
+    }
+
+    /**
+     * Reads a string
+     * @param chunk chunk of strings
+     * @param offset offset of the string's length
+     * @return string, or null if not given
+     */
+    static String getString(MappedByteBuffer chunk, int offset) {
+        int length = chunk.getInt(offset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares two strings ignoring case as String.toLowerCase().compareTo
+     * does, straight from their bytes if both are ASCII, where lower casing
+     * a byte gives the same character as lower casing the string
+     * @param chunk chunk of the first string
+     * @param offset offset of the first string's length
+     * @param otherChunk chunk of the second string
+     * @param otherOffset offset of the second string's length
+     * @return compareTo value, or NOT_COMPARED if either string is not ASCII or not given
+     */
+    static int compareLowerCase(MappedByteBuffer chunk, int offset, MappedByteBuffer otherChunk, int otherOffset) {
+        int length = chunk.getInt(offset);
+        int otherLength = otherChunk.getInt(otherOffset);
+        if (length == NULL_LENGTH || otherLength == NULL_LENGTH) {
+            return NOT_COMPARED;
+        }
+        int comparison = 0;
+        for (int i = 0; i < Math.min(length, otherLength); i++) {
+            int character = chunk.get(offset + Integer.BYTES + i);
+            int otherCharacter = otherChunk.get(otherOffset + Integer.BYTES + i);
+            if (character < 0 || otherCharacter < 0) {
+                // Bytes of characters past ASCII are negative
+                return NOT_COMPARED;
+            }
+            if (comparison == 0) {
+                comparison = toLowerCase(character) - toLowerCase(otherCharacter);
+            }
+        }
+        // Rest of the longer string is only checked to be ASCII
+        if (!isAscii(chunk, offset, otherLength, length) || !isAscii(otherChunk, otherOffset, length, otherLength)) {
+            return NOT_COMPARED;
+        }
+        return comparison != 0 ? comparison : length - otherLength;
+    }
+
+    /**
+     * Checks if the bytes of a string from a position are ASCII
+     * @param chunk chunk of the string
+     * @param offset offset of the string's length
+     * @param start position to check from
+     * @param length length of the string
+     * @return true if ASCII
+     */
+    private static boolean isAscii(MappedByteBuffer chunk, int offset, int start, int length) {
+        for (int i = start; i < length; i++) {
+            if (chunk.get(offset + Integer.BYTES + i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower cases an ASCII character
+     * @param character ASCII character
+     * @return lower case character
+     */
+    private static int toLowerCase(int character) {
+        return character >= 'A' && character <= 'Z' ? character + ('a' - 'A') : character;
+    }
+
+    /**
+     * Gets the offset of the string after a string
+     * @param chunk chunk of strings
+     * @param offset offset of the string's length
+     * @return offset of the next string
+     */
+    static int skipString(MappedByteBuffer chunk, int offset) {
+        int length = chunk.getInt(offset);
+        return offset + Integer.BYTES + Math.max(length, 0);
+    }
+
+    /**
+     * Gets a degree or gender value by its code
+     * @param code code
+     * @return value, or null if not given
+     */
+    String getValue(int code) {
+        return codeValues[code];
+    }
+
+    /**
+     * Gets the code of a degree or gender value, adding it to
+     * the dictionary if new
+     * @param value value
+     * @return code
+     * @throws IOHandlerException error if there are too many values to code
+     */
+    private int getCode(String value) throws IOHandlerException {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = valueCodes.get(value);
+        if (code == null) {
+            code = codeValues.length;
+            if (code > MAX_CODE) {
+                throw new IOHandlerException(ERROR_TOO_MANY_VALUES + filePath);
+            }
+            String[] newCodeValues = Arrays.copyOf(codeValues, code + 1);
+            newCodeValues[code] = value;
+            codeValues = newCodeValues;
+            valueCodes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Gets a chunk of a file, mapping it if not mapped yet
+     * @param chunks mapped chunks of the file
+     * @param channel channel of the file
+     * @param chunkIndex index of the chunk
+     * @return chunk
+     * @throws IOException error during mapping the file
+     */
+    private MappedByteBuffer getChunk(MappedByteBuffer[] chunks, FileChannel channel, int chunkIndex) throws IOException {
+        if (chunks[chunkIndex] == null) {
+            long chunkStart = (long) chunkIndex * CHUNK_SIZE;
+            if (isReadOnly) {
+                // A read only file cannot grow, so its last chunk is mapped as far as the file goes
+                chunks[chunkIndex] = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, Math.min(CHUNK_SIZE, channel.size() - chunkStart));
+            } else {
+                chunks[chunkIndex] = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK_SIZE);
+            }
+        }
+        return chunks[chunkIndex];
+    }
+
+    /**
+     * Gets the end of the records, which skips the unused
+     * bytes at the end of each full chunk
+     * @return position in the records file
+     */
+    private long getRecordEnd() {
+        return (long) (size / RECORDS_PER_CHUNK) * CHUNK_SIZE + (long) (size % RECORDS_PER_CHUNK) * RECORD_SIZE;
+    }
+
+    /**
+     * Copies the start of a file to a new file
+     * @param channel channel of the file
+     * @param byteNo number of bytes to copy
+     * @param copyFilePath file path of the copy
+     * @throws IOException error during copying
+     */
+    private static void copyFile(FileChannel channel, long byteNo, String copyFilePath) throws IOException {
+        try (FileChannel copyChannel = FileChannel.open(Paths.get(copyFilePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copiedNo = 0;
+            while (copiedNo < byteNo) {
+                copiedNo += channel.transferTo(copiedNo, byteNo - copiedNo, copyChannel);
+            }
+            copyChannel.force(false);
+        }
+    }
+
+    /**
+     * Closes a channel, ignoring errors
+     * @param channel channel, or null if not opened
+     */
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already failing to open the store
+            }
+        }
+    }
+
+    /**
+     * Writes a string
+     * @param chunk chunk of strings
+     * @param offset offset to write to
+     * @param bytes encoded string, or null if not given
+     * @return offset after the string
+     */
+    private int putString(MappedByteBuffer chunk, int offset, byte[] bytes) {
+        if (bytes == null) {
+            chunk.putInt(offset, NULL_LENGTH);
+            return offset + Integer.BYTES;
+        }
+        chunk.putInt(offset, bytes.length);
+        chunk.put(offset + Integer.BYTES, bytes);
+        return offset + Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Encodes a string
+     * @param value string
+     * @return UTF-8 bytes, or null if not given
+     */
+    private byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the length of an encoded string with its length
+     * @param bytes encoded string, or null if not given
+     * @return number of bytes
+     */
+    private int getEncodedLength(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+}
@@ -0,0 +1,316 @@
+import java.nio.MappedByteBuffer;
+
+/**
+ * A class that reads an application from an application store without
+ * creating an object for it. A view is moved to a record and then read
+ * with the same getters as an application, so one view can list any
+ * number of records. A view is not safe to share between threads
+ */
+public class ApplicationView {
+
+    private ApplicationStore store;
+    private MappedByteBuffer recordChunk;
+    private int recordOffset;
+    private int index;
+
+    private final static String EMPTY_FIELD = "n/a"; // Default value if no data given
+    private final static String EMPTY_CSV_FIELD = "";
+    private final static String[] SUBJECT_CODES = {Application.SUBJECT_CODE_JAVA, Application.SUBJECT_CODE_ALGORITHMS,
+            Application.SUBJECT_CODE_IT, Application.SUBJECT_CODE_DB};     // In the order of the applications file
+
+    /**
+     * ApplicationView constructor, only used through the store
+     * @param store application store
+     */
+    ApplicationView(ApplicationStore store) {
+        this.store = store;
+        this.index = -1;
+    }
+
+    /**
+     * Moves the view to a record
+     * @param index index of the record
+     * @return this view
+     */
+    public ApplicationView moveTo(int index) {
+        this.index = index;
+        this.recordChunk = store.getRecordChunk(index);
+        this.recordOffset = store.getRecordOffset(index);
+        return this;
+    }
+
+    /**
+     * Gets the index of the record viewed
+     * @return index of the record
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Creates an application from the record viewed
+     * @return application
+     */
+    public Application toApplication() {
+        return new Application(this);
+    }
+
+    // Application Data Field Getters, as given by Application
+
+    /**
+     * Gets created at
+     * @return created at
+     */
+    public long getCreatedAt() {
+        return recordChunk.getLong(recordOffset + ApplicationStore.CREATED_AT_OFFSET);
+    }
+
+    /**
+     * Gets last name
+     * @return last name
+     */
+    public String getLastName() {
+        return getDisplayField(getRawLastName());
+    }
+
+    /**
+     * Gets first name
+     * @return first name
+     */
+    public String getFirstName() {
+        return getDisplayField(getRawFirstName());
+    }
+
+    /**
+     * Gets degree
+     * @return degree
+     */
+    public String getDegree() {
+        return getDisplayField(getRawDegree());
+    }
+
+    /**
+     * Gets gender
+     * @return gender
+     */
+    public String getGender() {
+        return getDisplayField(getRawGender());
+    }
+
+    /**
+     * Gets career summary
+     * @return career summary
+     */
+    public String getCareerSummary() {
+        return getDisplayField(getRawCareerSummary());
+    }
+
+    /**
+     * Gets salary expectations
+     * @return salary expectations
+     */
+    public String getSalaryExpectations() {
+        int salaryExpectations = getRawSalaryExpectations();
+        if (salaryExpectations == 0) {
+            return EMPTY_FIELD;
+        }
+        return Integer.toString(salaryExpectations);
+    }
+
+    /**
+     * Gets availability in the dd/mm/yy format
+     * @return formatted availability date
+     */
+    public String getFormattedAvailability() {
+        int availability = getAvailability();
+        if (availability == EpochDay.NONE) {
+            return EMPTY_FIELD;
+        }
+        return EpochDay.format(availability);
+    }
+
+    /**
+     * Gets availability
+     * @return availability as an epoch day, NONE if not given
+     */
+    public int getAvailability() {
+        return recordChunk.getInt(recordOffset + ApplicationStore.AVAILABILITY_OFFSET);
+    }
+
+    /**
+     * Gets age
+     * @return age
+     */
+    public int getAge() {
+        return recordChunk.getInt(recordOffset + ApplicationStore.AGE_OFFSET);
+    }
+
+    /**
+     * Gets application data in CSV form, as given by Application
+     * @return application data in csv form
+     */
+    public String getCSVFormat() {
+        String careerSummary = getRawCareerSummary();
+        if (careerSummary != null && !careerSummary.startsWith("\"") && careerSummary.contains(",")) {
+            careerSummary = "\"" + careerSummary + "\"";
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(getCreatedAt()).append(',').append(getRawLastName()).append(',').append(getRawFirstName());
+        stringBuilder.append(',').append(careerSummary).append(',').append(getAge());
+        stringBuilder.append(',').append(getRawGender()).append(',').append(getRawDegree());
+        for (String subjectCode : SUBJECT_CODES) {
+            stringBuilder.append(',').append(getCSVNumber(getGrade(subjectCode)));
+        }
+        stringBuilder.append(',').append(getCSVNumber(getRawSalaryExpectations())).append(',');
+        if (getAvailability() != EpochDay.NONE) {
+            stringBuilder.append(EpochDay.format(getAvailability()));
+        }
+        return stringBuilder.append('\n').toString();
+    }
+
+    /**
+     * Compares applicants in the order they are listed in the
+     * HR portal, as Application.sortApplicantList does
+     * @param view view of the applicant to compare against
+     * @return compareTo value
+     */
+    public int sortApplicantList(ApplicationView view) {
+        // Dates not given are NONE, which sorts after every date
+        int availabilityComparison = Integer.compare(getAvailability(), view.getAvailability());
+        if (availabilityComparison != 0) {
+            return availabilityComparison;
+        }
+        MappedByteBuffer stringChunk = getStringChunk();
+        MappedByteBuffer otherStringChunk = view.getStringChunk();
+        int lastNameOffset = getStringOffset();
+        int otherLastNameOffset = view.getStringOffset();
+        int lastNameComparison = ApplicationStore.compareLowerCase(stringChunk, lastNameOffset, otherStringChunk, otherLastNameOffset);
+        if (lastNameComparison == ApplicationStore.NOT_COMPARED) {
+            lastNameComparison = getRawLastName().toLowerCase().compareTo(view.getRawLastName().toLowerCase());
+        }
+        if (lastNameComparison != 0) {
+            return lastNameComparison;
+        }
+        int firstNameComparison = ApplicationStore.compareLowerCase(stringChunk, ApplicationStore.skipString(stringChunk, lastNameOffset),
+                otherStringChunk, ApplicationStore.skipString(otherStringChunk, otherLastNameOffset));
+        if (firstNameComparison == ApplicationStore.NOT_COMPARED) {
+            firstNameComparison = getRawFirstName().toLowerCase().compareTo(view.getRawFirstName().toLowerCase());
+        }
+        return firstNameComparison;
+    }
+
+    // Stored Data Field Getters, as given to the store
+
+    /**
+     * Gets last name as stored
+     * @return last name, or null if not given
+     */
+    String getRawLastName() {
+        MappedByteBuffer stringChunk = getStringChunk();
+        return ApplicationStore.getString(stringChunk, getStringOffset());
+    }
+
+    /**
+     * Gets first name as stored
+     * @return first name, or null if not given
+     */
+    String getRawFirstName() {
+        MappedByteBuffer stringChunk = getStringChunk();
+        return ApplicationStore.getString(stringChunk, ApplicationStore.skipString(stringChunk, getStringOffset()));
+    }
+
+    /**
+     * Gets career summary as stored
+     * @return career summary, or null if not given
+     */
+    String getRawCareerSummary() {
+        MappedByteBuffer stringChunk = getStringChunk();
+        int offset = ApplicationStore.skipString(stringChunk, ApplicationStore.skipString(stringChunk, getStringOffset()));
+        return ApplicationStore.getString(stringChunk, offset);
+    }
+
+    /**
+     * Gets degree as stored
+     * @return degree, or null if not given
+     */
+    String getRawDegree() {
+        return store.getValue(recordChunk.get(recordOffset + ApplicationStore.DEGREE_OFFSET) & 0xFF);
+    }
+
+    /**
+     * Gets gender as stored
+     * @return gender, or null if not given
+     */
+    String getRawGender() {
+        return store.getValue(recordChunk.get(recordOffset + ApplicationStore.GENDER_OFFSET) & 0xFF);
+    }
+
+    /**
+     * Gets salary expectations as stored
+     * @return salary expectations, 0 if not given
+     */
+    int getRawSalaryExpectations() {
+        return recordChunk.getInt(recordOffset + ApplicationStore.SALARY_OFFSET);
+    }
+
+    /**
+     * Gets a grade as stored
+     * @param subjectCode subject code
+     * @return grade, 0 if not given
+     */
+    int getGrade(String subjectCode) {
+        switch (subjectCode) {
+            case Application.SUBJECT_CODE_JAVA:
+                return recordChunk.getInt(recordOffset + ApplicationStore.GRADE_OFFSET);
+
+            case Application.SUBJECT_CODE_ALGORITHMS:
+                return recordChunk.getInt(recordOffset + ApplicationStore.GRADE_OFFSET + Integer.BYTES);
+
+            case Application.SUBJECT_CODE_IT:
+                return recordChunk.getInt(recordOffset + ApplicationStore.GRADE_OFFSET + 2 * Integer.BYTES);
+
+            case Application.SUBJECT_CODE_DB:
+                return recordChunk.getInt(recordOffset + ApplicationStore.GRADE_OFFSET + 3 * Integer.BYTES);
+
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Gets the chunk of strings of the record viewed
+     * @return chunk of strings
+     */
+    private MappedByteBuffer getStringChunk() {
+        return store.getStringChunk(recordChunk.getLong(recordOffset + ApplicationStore.STRINGS_OFFSET));
+    }
+
+    /**
+     * Gets the offset of the record's strings in their chunk
+     * @return byte offset
+     */
+    private int getStringOffset() {
+        return store.getStringOffset(recordChunk.getLong(recordOffset + ApplicationStore.STRINGS_OFFSET));
+    }
+
+    /**
+     * Gets a data field for display
+     * @param field data field as stored
+     * @return data field, or n/a if empty
+     */
+    private String getDisplayField(String field) {
+        if (field == null || field.trim().length() == 0) {
+            return EMPTY_FIELD;
+        }
+        return field;
+    }
+
+    /**
+     * Gets a number in CSV format
+     * @param number number
+     * @return number, or an empty field if 0
+     */
+    private String getCSVNumber(int number) {
+        return number == 0 ? EMPTY_CSV_FIELD : Integer.toString(number);
+    }
+}
@@ -0,0 +1,359 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+/**
+ * A class that indexes the words of applicants' career summaries so that
+ * HR can search candidates by skill. Each word keeps a posting list of the
+ * applicants whose summary holds it, by applicant index. As applicants are
+ * only ever appended, the indexes in a list only go up, so each is stored
+ * as the gap from the one before in as few bytes as it needs, usually one,
+ * which keeps millions of applicants' postings small enough for the heap.
+ * Every few postings a skip entry notes where a block starts, so that
+ * searching for applicants holding several words can jump over blocks
+ * without reading them. Words in a phrase are found together through the
+ * postings and then checked to be next to each other in the summary
+ */
+public class CandidateIndex {
+
+    private final HashMap<String, Postings> postingsMap;   // word to the applicants whose summary holds it
+    private int applicantNo;                                // applicants indexed, in order
+
+    // Query Syntax
+    private final static String OPERATOR_OR = "OR";
+    private final static String OPERATOR_AND = "AND";
+    private final static char PHRASE_QUOTE = '"';
+
+    private final static int SKIP_INTERVAL = 64;            // postings between skip entries
+    private final static int INITIAL_BYTE_NO = 4;
+    private final static int MAX_GAP_BYTE_NO = 5;           // bytes of the largest gap
+    private final static int[] NO_SKIPS = new int[0];
+
+    /**
+     * CandidateIndex constructor
+     */
+    public CandidateIndex() {
+        this.postingsMap = new HashMap<String, Postings>();
+    }
+
+    /**
+     * Gets the number of applicants indexed
+     * @return number of applicants
+     */
+    public synchronized int size() {
+        return applicantNo;
+    }
+
+    /**
+     * Indexes the applicants added since last indexed
+     * @param totalApplicantNo number of applicants there are now
+     * @param careerSummaries career summary of each applicant by index, null if not given
+     * @return number of applicants indexed
+     */
+    public synchronized int addUpTo(int totalApplicantNo, IntFunction<String> careerSummaries) {
+        int startApplicantNo = applicantNo;
+        for (int i = startApplicantNo; i < totalApplicantNo; i++) {
+            ArrayList<String> tokens = Tokenizer.tokenize(careerSummaries.apply(i));
+            for (int j = 0; j < tokens.size(); j++) {
+                String token = tokens.get(j);
+                Postings postings = postingsMap.get(token);
+                if (postings == null) {
+                    postings = new Postings();
+                    postingsMap.put(token, postings);
+                }
+                postings.add(i);        // Repeats of a word in the same summary are skipped
+            }
+        }
+        applicantNo = Math.max(applicantNo, totalApplicantNo);
+        return applicantNo - startApplicantNo;
+    }
+
+    /**
+     * Searches for the applicants whose career summary matches the query.
+     * Words must all be in the summary, words in double quotes must be in
+     * the summary next to each other in that order, and OR between them
+     * finds the applicants matching either side, e.g.
+     * {@code java "machine learning" OR python}
+     * @param query query
+     * @param careerSummaries career summary of each applicant by index, to check phrases
+     * @return indexes of the matching applicants, in order
+     */
+    public synchronized int[] search(String query, IntFunction<String> careerSummaries) {
+        int[] matches = new int[0];
+        for (ArrayList<ArrayList<String>> clause : parse(query)) {
+            matches = union(matches, searchClause(clause, careerSummaries));
+        }
+        return matches;
+    }
+
+    /**
+     * Splits a query into clauses joined by OR, each holding the
+     * phrases that must all match, a single word being a phrase of one
+     * @param query query
+     * @return clauses, each a list of phrases, each a list of words
+     */
+    private static ArrayList<ArrayList<ArrayList<String>>> parse(String query) {
+        ArrayList<ArrayList<ArrayList<String>>> clauses = new ArrayList<ArrayList<ArrayList<String>>>();
+        ArrayList<ArrayList<String>> clause = new ArrayList<ArrayList<String>>();
+        int index = 0;
+        while (index < query.length()) {
+            char character = query.charAt(index);
+            if (Character.isWhitespace(character)) {
+                index += 1;
+                continue;
+            }
+            int endIndex;
+            String term;
+            if (character == PHRASE_QUOTE) {
+                endIndex = query.indexOf(PHRASE_QUOTE, index + 1);
+                endIndex = endIndex < 0 ? query.length() : endIndex;
+                term = query.substring(index + 1, endIndex);
+                endIndex += 1;
+            } else {
+                endIndex = index;
+                while (endIndex < query.length() && !Character.isWhitespace(query.charAt(endIndex))) {
+                    endIndex += 1;
+                }
+                term = query.substring(index, endIndex);
+                if (term.equals(OPERATOR_OR)) {
+                    clauses.add(clause);
+                    clause = new ArrayList<ArrayList<String>>();
+                    index = endIndex;
+                    continue;
+                } else if (term.equals(OPERATOR_AND)) {
+                    index = endIndex;
+                    continue;
+                }
+            }
+            // Words joined by punctuation, such as node.js, are searched as a phrase
+            ArrayList<String> phrase = Tokenizer.tokenize(term);
+            if (!phrase.isEmpty()) {
+                clause.add(phrase);
+            }
+            index = endIndex;
+        }
+        clauses.add(clause);
+        return clauses;
+    }
+
+    /**
+     * Searches for the applicants matching all phrases of a clause
+     * @param clause phrases
+     * @param careerSummaries career summary of each applicant by index, to check phrases
+     * @return indexes of the matching applicants, in order
+     */
+    private int[] searchClause(ArrayList<ArrayList<String>> clause, IntFunction<String> careerSummaries) {
+        if (clause.isEmpty()) {
+            return new int[0];
+        }
+        // The rarest word goes first, so the others are only read where it is
+        TreeSet<String> words = new TreeSet<String>();
+        boolean hasPhrases = false;
+        for (ArrayList<String> phrase : clause) {
+            words.addAll(phrase);
+            hasPhrases |= phrase.size() > 1;
+        }
+        Postings[] wordPostings = new Postings[words.size()];
+        int wordIndex = 0;
+        for (String word : words) {
+            Postings postings = postingsMap.get(word);
+            if (postings == null) {
+                return new int[0];
+            }
+            wordPostings[wordIndex++] = postings;
+        }
+        Arrays.sort(wordPostings, Comparator.comparingInt(postings -> postings.size));
+        PostingsReader[] readers = new PostingsReader[wordPostings.length];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new PostingsReader(wordPostings[i]);
+        }
+        int[] matches = new int[wordPostings[0].size];
+        int matchNo = 0;
+        int applicantIndex = readers[0].next();
+        while (applicantIndex >= 0) {
+            int readerIndex = 1;
+            while (readerIndex < readers.length) {
+                int otherIndex = readers[readerIndex].advance(applicantIndex);
+                if (otherIndex != applicantIndex) {
+                    break;
+                }
+                readerIndex += 1;
+            }
+            if (readerIndex < readers.length) {
+                int otherIndex = readers[readerIndex].getCurrent();
+                if (otherIndex < 0) {
+                    // No more applicants hold this word
+                    break;
+                }
+                applicantIndex = readers[0].advance(otherIndex);
+                continue;
+            }
+            if (!hasPhrases || hasPhrases(careerSummaries.apply(applicantIndex), clause)) {
+                matches[matchNo++] = applicantIndex;
+            }
+            applicantIndex = readers[0].next();
+        }
+        return Arrays.copyOf(matches, matchNo);
+    }
+
+    /**
+     * Checks if a career summary holds each phrase with its
+     * words next to each other in order
+     * @param careerSummary career summary
+     * @param clause phrases
+     * @return true if every phrase is in the summary
+     */
+    private static boolean hasPhrases(String careerSummary, ArrayList<ArrayList<String>> clause) {
+        for (ArrayList<String> phrase : clause) {
+            if (phrase.size() > 1 && !Tokenizer.containsPhrase(careerSummary, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges two ordered lists of applicant indexes
+     * @param indexes applicant indexes, in order
+     * @param otherIndexes other applicant indexes, in order
+     * @return applicant indexes in either list, in order, each once
+     */
+    private static int[] union(int[] indexes, int[] otherIndexes) {
+        int[] merged = new int[indexes.length + otherIndexes.length];
+        int i = 0;
+        int j = 0;
+        int mergedNo = 0;
+        while (i < indexes.length || j < otherIndexes.length) {
+            if (j == otherIndexes.length || (i < indexes.length && indexes[i] < otherIndexes[j])) {
+                merged[mergedNo++] = indexes[i++];
+            } else if (i == indexes.length || otherIndexes[j] < indexes[i]) {
+                merged[mergedNo++] = otherIndexes[j++];
+            } else {
+                merged[mergedNo++] = indexes[i++];
+                j += 1;
+            }
+        }
+        return Arrays.copyOf(merged, mergedNo);
+    }
+
+    /**
+     * The applicants a word appears in, in order, each stored as the gap
+     * from the one before in 7 bits a byte, the high bit set on every
+     * byte but the last, with a skip entry before every block of postings
+     */
+    private static class Postings {
+        private byte[] bytes = new byte[INITIAL_BYTE_NO];
+        private int byteNo;
+        private int size;
+        private int lastIndex = -1;
+        private int[] skipIndexes = NO_SKIPS;       // last applicant index before each block
+        private int[] skipOffsets = NO_SKIPS;       // byte offset of each block
+        private int skipNo;
+
+        /**
+         * Adds an applicant after those already added,
+         * unless they are the last one added
+         * @param applicantIndex applicant index
+         */
+        private void add(int applicantIndex) {
+            if (applicantIndex == lastIndex) {
+                return;
+            }
+            if (size > 0 && size % SKIP_INTERVAL == 0) {
+                if (skipNo == skipIndexes.length) {
+                    skipIndexes = Arrays.copyOf(skipIndexes, Math.max(INITIAL_BYTE_NO, skipNo * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipIndexes.length);
+                }
+                skipIndexes[skipNo] = lastIndex;
+                skipOffsets[skipNo] = byteNo;
+                skipNo += 1;
+            }
+            if (byteNo + MAX_GAP_BYTE_NO > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int gap = applicantIndex - lastIndex;
+            while (gap >= 0x80) {
+                bytes[byteNo++] = (byte) (gap | 0x80);
+                gap >>>= 7;
+            }
+            bytes[byteNo++] = (byte) gap;
+            lastIndex = applicantIndex;
+            size += 1;
+        }
+    }
+
+    /**
+     * Reads the applicants of a posting list in order
+     */
+    private static class PostingsReader {
+        private final Postings postings;
+        private int offset;
+        private int current = -1;                   // applicant read last, -1 before the first and past the end
+        private int skipIndex;
+
+        /**
+         * PostingsReader constructor
+         * @param postings postings
+         */
+        private PostingsReader(Postings postings) {
+            this.postings = postings;
+        }
+
+        /**
+         * Gets the applicant read last
+         * @return applicant index, or -1 if past the end
+         */
+        private int getCurrent() {
+            return current;
+        }
+
+        /**
+         * Reads the next applicant
+         * @return applicant index, or -1 if past the end
+         */
+        private int next() {
+            if (offset >= postings.byteNo) {
+                offset = Integer.MAX_VALUE;
+                current = -1;
+                return current;
+            }
+            byte[] bytes = postings.bytes;
+            int gap = 0;
+            int shift = 0;
+            byte value;
+            do {
+                value = bytes[offset++];
+                gap |= (value & 0x7F) << shift;
+                shift += 7;
+            } while (value < 0);
+            current += gap;
+            return current;
+        }
+
+        /**
+         * Reads up to the first applicant at or after an index,
+         * jumping over blocks that end before it
+         * @param applicantIndex applicant index
+         * @return applicant index at or after the one given, or -1 if past the end
+         */
+        private int advance(int applicantIndex) {
+            if (current >= applicantIndex || offset == Integer.MAX_VALUE) {
+                return current;
+            }
+            while (skipIndex < postings.skipNo && postings.skipIndexes[skipIndex] < applicantIndex) {
+                if (postings.skipOffsets[skipIndex] > offset) {
+                    offset = postings.skipOffsets[skipIndex];
+                    current = postings.skipIndexes[skipIndex];
+                }
+                skipIndex += 1;
+            }
+            while (current < applicantIndex && next() >= 0) {
+                // Reads on to the applicant
+            }
+            return current;
+        }
+    }
+}
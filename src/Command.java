@@ -0,0 +1,12 @@
+/**
+ * An interface that represents a menu command which can be
+ * registered with an interactive role and run by its name
+ */
+public interface Command {
+
+    /**
+     * Runs the command
+     * @param argument text given after the command name, empty if none
+     */
+    void execute(String argument);
+}
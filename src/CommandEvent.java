@@ -0,0 +1,24 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a menu command, including the
+ * time spent printing its results
+ */
+@Name("hrassistant.Command")
+@Label("Menu Command")
+@Category("HR Assistant")
+@Description("A menu command entered by the user")
+public class CommandEvent extends jdk.jfr.Event {
+
+    @Label("Role")
+    public String role;
+
+    @Label("Command")
+    public String command;
+
+    @Label("Argument")
+    public String argument;
+}
@@ -0,0 +1,32 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for reading a jobs or applications CSV file
+ */
+@Name("hrassistant.CsvRead")
+@Label("CSV File Read")
+@Category({"HR Assistant", "File"})
+@Description("Reading and splitting the lines of a jobs or applications file")
+public class CsvReadEvent extends jdk.jfr.Event {
+
+    @Label("File Path")
+    public String filePath;
+
+    @Label("File Type")
+    public String fileType;
+
+    @Label("Rows")
+    public int rowNo;
+
+    @Label("Invalid Lines")
+    @Description("Lines with more fields than allowed, which are skipped")
+    public int invalidLineNo;
+
+    @Label("Bytes")
+    @DataAmount
+    public long byteNo;
+}
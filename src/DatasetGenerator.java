@@ -0,0 +1,361 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * A class that writes synthetic jobs and applications files for load
+ * testing, along with a save journal of the jobs each applicant applied
+ * for. The same seed always gives the same files, and rows are written as
+ * they are generated, so any number of rows can be written in constant memory
+ */
+public class DatasetGenerator {
+
+    private int rowNo;
+    private int jobNo;
+    private long seed;
+    private double skew;
+    private String outputDirectory;
+    private boolean force;
+    private Random random;
+    private double[] jobWeights;        // Cumulative chance of applying for each job, most popular first
+
+    // Flags Constants
+    private final String FLAG_N = "-n";
+    private final String FLAG_ROWS = "--rows";
+    private final String FLAG_J = "-j";
+    private final String FLAG_JOBS = "--jobs";
+    private final String FLAG_S = "-s";
+    private final String FLAG_SEED = "--seed";
+    private final String FLAG_Z = "-z";
+    private final String FLAG_SKEW = "--skew";
+    private final String FLAG_O = "-o";
+    private final String FLAG_OUT = "--out";
+    private final String FLAG_FORCE = "--force";
+
+    // Defaults
+    private final int ROW_NO_DEFAULT = 1000;
+    private final int JOB_NO_DEFAULT = 100;
+    private final long SEED_DEFAULT = 42;
+    private final double SKEW_DEFAULT = 1.0;
+
+    // Data Constants
+    private final long FIRST_CREATED_AT = 1665550000;
+    private final int MAX_APPLIED_JOBS = 3;
+    private final int WRITE_BUFFER_SIZE = 1 << 16;
+    private final String[] LAST_NAMES = {"Gosling", "Lovelace", "Hopper", "Knuth", "Ritchie", "Liskov", "Turing", "Hamilton", "Dijkstra", "Torvalds"};
+    private final String[] FIRST_NAMES = {"James", "Ada", "Grace", "Donald", "Dennis", "Barbara", "Alan", "Margaret", "Edsger", "Linus"};
+    private final String[] TITLES = {"Programmer", "Data Analyst", "Head of Java", "Web Developer", "Systems Engineer", "Researcher"};
+    private final String[] DESCRIPTIONS = {"Must know Java", "Code. Eat. Sleep. Repeat.", "\"Fluent in R, Python and SQL\"", "\"Frontend, css and javascript\"", ""};
+    private final String[] SUMMARIES = {
+        "\"I am a computer scientist, best known for java\"",
+        "\"Frontend developer, css and javascript\"",
+        "\"Data scientist using r, python and go\"",
+        "Backend engineer writing php and ruby",
+        "Mathematician",
+        ""
+    };
+    private final String[] GENDERS = {Application.GENDER_MALE, Application.GENDER_FEMALE, Application.GENDER_OTHER, ""};
+    private final String[] DEGREES = {Application.DEGREE_PHD, Application.DEGREE_MASTER, Application.DEGREE_BACHELOR, ""};
+    private final String JOB_DATE_FORMAT = "%02d/%02d/%02d";
+    // Mostly dd/MM/yy as read by the program, but also other formats or empty
+    private final String[] DATE_FORMATS = {"%02d/%02d/%02d", "%02d/%02d/%02d", "%02d/%02d/%02d", "20%3$02d-%2$02d-%1$02d", "%02d/%02d/20%02d", "%d/%d/%d", ""};
+
+    // Error Messages
+    private final String ERROR_ARGUMENT = "ERROR: %s needs a valid value.\n";
+    private final String ERROR_FLAG = "ERROR: %s is not a valid argument.\n";
+    private final String ERROR_OUT = "ERROR: --out must be given, as the files written replace any already there.";
+    private final String ERROR_EXISTS = "ERROR: %s already exists. Give --force to overwrite it.\n";
+    private final String ERROR_WRITE = "Unable to write file: ";
+    private final String GENERATED = "Wrote %d jobs and %d applications (%d applied) to %s\n";
+    private final String HELP_TEXT = "Usage: java DatasetGenerator [arguments]\n\n" +
+            "Arguments:\n" +
+            "    -n or --rows            Optional: number of applications (default: 1000)\n" +
+            "    -j or --jobs            Optional: number of jobs (default: 100)\n" +
+            "    -s or --seed            Optional: random seed (default: 42)\n" +
+            "    -z or --skew            Optional: how much more popular the first jobs are (default: 1.0)\n" +
+            "    -o or --out             Mandatory: directory to write jobs.csv, applications.csv and the save journal to\n" +
+            "    --force                 Optional: overwrite those files and delete the save file if already in the directory";
+
+    public static void main(String[] args) {
+        DatasetGenerator datasetGenerator = new DatasetGenerator();
+        if (datasetGenerator.loadFlags(args)) {
+            datasetGenerator.generate();
+        } else {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Default constructor
+     */
+    public DatasetGenerator() {
+        this.rowNo = ROW_NO_DEFAULT;
+        this.jobNo = JOB_NO_DEFAULT;
+        this.seed = SEED_DEFAULT;
+        this.skew = SKEW_DEFAULT;
+        this.outputDirectory = null;
+        this.force = false;
+    }
+
+    /**
+     * Loads the flags given by the user
+     * @param args command arguments
+     * @return true if all flags are valid
+     */
+    private boolean loadFlags(String[] args) {
+        int i = 0;
+        while (i < args.length) {
+            String flag = args[i];
+            if (flag.equals(FLAG_FORCE)) {
+                force = true;
+                i += 1;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                System.out.printf(ERROR_ARGUMENT, flag);
+                System.out.println(HELP_TEXT);
+                return false;
+            }
+            String flagArgument = args[i + 1];
+            try {
+                if (flag.equals(FLAG_N) || flag.equals(FLAG_ROWS)) {
+                    rowNo = Integer.parseInt(flagArgument);
+                } else if (flag.equals(FLAG_J) || flag.equals(FLAG_JOBS)) {
+                    jobNo = Integer.parseInt(flagArgument);
+                } else if (flag.equals(FLAG_S) || flag.equals(FLAG_SEED)) {
+                    seed = Long.parseLong(flagArgument);
+                } else if (flag.equals(FLAG_Z) || flag.equals(FLAG_SKEW)) {
+                    skew = Double.parseDouble(flagArgument);
+                } else if (flag.equals(FLAG_O) || flag.equals(FLAG_OUT)) {
+                    outputDirectory = flagArgument;
+                } else {
+                    System.out.printf(ERROR_FLAG, flag);
+                    System.out.println(HELP_TEXT);
+                    return false;
+                }
+            } catch (java.lang.NumberFormatException e) {
+                System.out.printf(ERROR_ARGUMENT, flag);
+                return false;
+            }
+            i += 2;
+        }
+        if (rowNo < 0 || jobNo < 1 || skew < 0) {
+            System.out.println(HELP_TEXT);
+            return false;
+        }
+        if (outputDirectory == null) {
+            System.out.println(ERROR_OUT);
+            System.out.println(HELP_TEXT);
+            return false;
+        }
+        return force || !hasExistingFiles();
+    }
+
+    /**
+     * Checks if the output directory already holds any of
+     * the files written or the save file deleted
+     * @return true if any of them exist
+     */
+    private boolean hasExistingFiles() {
+        String[] fileNames = {"jobs.csv", "applications.csv", SaveStore.JOURNAL_FILEPATH, IOHandler.DATA_SAVE_FILEPATH};
+        for (String fileName : fileNames) {
+            File file = new File(outputDirectory, fileName);
+            if (file.exists()) {
+                System.out.printf(ERROR_EXISTS, file);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the jobs file, then the applications file and
+     * the save journal together
+     */
+    public void generate() {
+        random = new Random(seed);
+        loadJobWeights();
+        File jobFile = new File(outputDirectory, "jobs.csv");
+        File applicationFile = new File(outputDirectory, "applications.csv");
+        File journalFile = new File(outputDirectory, SaveStore.JOURNAL_FILEPATH);
+        new File(outputDirectory, IOHandler.DATA_SAVE_FILEPATH).delete();     // An older save file would hide the new jobs
+        try {
+            writeJobs(jobFile);
+        } catch (IOException e) {
+            System.out.println(ERROR_WRITE + jobFile);
+            return;
+        }
+        try {
+            long appliedNo = writeApplications(applicationFile, journalFile);
+            System.out.printf(GENERATED, jobNo, rowNo, appliedNo, outputDirectory);
+        } catch (IOException e) {
+            System.out.println(ERROR_WRITE + applicationFile);
+        }
+    }
+
+    /**
+     * Loads the cumulative chance of applying for each job, where the
+     * chance of the job ranked k is proportional to 1 / k^skew
+     */
+    private void loadJobWeights() {
+        jobWeights = new double[jobNo];
+        double total = 0;
+        for (int i = 0; i < jobNo; i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            jobWeights[i] = total;
+        }
+        for (int i = 0; i < jobNo; i++) {
+            jobWeights[i] /= total;
+        }
+    }
+
+    /**
+     * Picks a job by its popularity
+     * @return job index
+     */
+    private int pickJob() {
+        double chance = random.nextDouble();
+        int low = 0;
+        int high = jobNo - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (jobWeights[middle] < chance) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Writes the jobs file
+     * @param jobFile jobs file
+     * @throws IOException error during writing
+     */
+    private void writeJobs(File jobFile) throws IOException {
+        BufferedWriter jobWriter = new BufferedWriter(new FileWriter(jobFile), WRITE_BUFFER_SIZE);
+        jobWriter.write(IOHandler.JOB_HEADER);
+        StringBuilder stringBuilder = new StringBuilder(128);
+        for (int i = 0; i < jobNo; i++) {
+            stringBuilder.setLength(0);
+            stringBuilder.append(getJobCreatedAt(i)).append(',');
+            stringBuilder.append(pick(TITLES)).append(',');
+            stringBuilder.append(pick(DESCRIPTIONS)).append(',');
+            stringBuilder.append(pick(DEGREES)).append(',');
+            stringBuilder.append(40000 + random.nextInt(120) * 5000).append(',');
+            stringBuilder.append(getDate(JOB_DATE_FORMAT)).append('\n');   // Jobs with invalid start dates are skipped when read
+            jobWriter.write(stringBuilder.toString());
+        }
+        jobWriter.close();
+    }
+
+    /**
+     * Writes the applications file, and for each application the jobs
+     * it was applied for to the save journal, which is replayed onto the
+     * jobs file the next time the jobs are loaded
+     * @param applicationFile applications file
+     * @param journalFile save journal file
+     * @return number of jobs applied for
+     * @throws IOException error during writing
+     */
+    private long writeApplications(File applicationFile, File journalFile) throws IOException {
+        BufferedWriter applicationWriter = new BufferedWriter(new FileWriter(applicationFile), WRITE_BUFFER_SIZE);
+        BufferedWriter journalWriter = new BufferedWriter(new FileWriter(journalFile), WRITE_BUFFER_SIZE);
+        applicationWriter.write(IOHandler.APPLICATION_HEADER);
+        StringBuilder stringBuilder = new StringBuilder(256);
+        int[] appliedJobs = new int[MAX_APPLIED_JOBS];
+        long appliedNo = 0;
+        for (int i = 0; i < rowNo; i++) {
+            String applicationLine = getApplicationLine(stringBuilder, i);
+            applicationWriter.write(applicationLine);
+            applicationWriter.write('\n');
+            int appliedJobNo = random.nextInt(MAX_APPLIED_JOBS + 1);        // Some applicants apply for no job
+            for (int j = 0; j < appliedJobNo; j++) {
+                appliedJobs[j] = pickJob();
+                if (!hasApplied(appliedJobs, j)) {
+                    // Version 0 entries are replayed when there is no save file
+                    journalWriter.write("0,A," + getJobCreatedAt(appliedJobs[j]) + "," + applicationLine + "\n");
+                    appliedNo += 1;
+                }
+            }
+        }
+        applicationWriter.close();
+        journalWriter.close();
+        return appliedNo;
+    }
+
+    /**
+     * Checks if the latest job picked was already applied for
+     * @param appliedJobs jobs picked so far
+     * @param latest index of the latest job picked
+     * @return true if already applied for
+     */
+    private boolean hasApplied(int[] appliedJobs, int latest) {
+        for (int i = 0; i < latest; i++) {
+            if (appliedJobs[i] == appliedJobs[latest]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets an application line in CSV format
+     * @param stringBuilder reused string builder
+     * @param applicationIndex application index
+     * @return application line without new line
+     */
+    private String getApplicationLine(StringBuilder stringBuilder, int applicationIndex) {
+        stringBuilder.setLength(0);
+        stringBuilder.append(FIRST_CREATED_AT + jobNo + applicationIndex).append(',');
+        stringBuilder.append(pick(LAST_NAMES)).append(',');
+        stringBuilder.append(pick(FIRST_NAMES)).append(',');
+        stringBuilder.append(pick(SUMMARIES)).append(',');
+        stringBuilder.append(Application.AGE_LOWER_LIMIT + random.nextInt(Application.AGE_UPPER_LIMIT - Application.AGE_LOWER_LIMIT + 1)).append(',');
+        stringBuilder.append(pick(GENDERS)).append(',');
+        stringBuilder.append(pick(DEGREES)).append(',');
+        for (int i = 0; i < 4; i++) {
+            if (random.nextInt(4) != 0) {
+                // Leaves a quarter of the grades empty
+                stringBuilder.append(Application.GRADE_MINIMUM + random.nextInt(Application.GRADE_MAXIMUM - Application.GRADE_MINIMUM + 1));
+            }
+            stringBuilder.append(',');
+        }
+        if (random.nextInt(5) != 0) {
+            stringBuilder.append(30000 + random.nextInt(120) * 5000);
+        }
+        stringBuilder.append(',');
+        stringBuilder.append(getDate(pick(DATE_FORMATS)));
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Gets a date in a format
+     * @param dateFormat format with the day, month and year
+     * @return date
+     */
+    private String getDate(String dateFormat) {
+        return String.format(dateFormat, random.nextInt(28) + 1, random.nextInt(12) + 1, 22 + random.nextInt(4));
+    }
+
+    /**
+     * Gets the created at of a job
+     * @param jobIndex job index
+     * @return created at
+     */
+    private long getJobCreatedAt(int jobIndex) {
+        return FIRST_CREATED_AT + jobIndex;
+    }
+
+    /**
+     * Picks one of the values
+     * @param values values
+     * @return value
+     */
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,67 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A class that renders dates kept as epoch days (days since 1970-01-01),
+ * which is how jobs and applications store their dates. The text of each
+ * day is built once and shared, since the same few hundred dates appear
+ * across millions of rows
+ */
+public class EpochDay {
+
+    public final static int NONE = Integer.MAX_VALUE;      // No date given, which sorts after every date
+    public final static DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(Application.ALLOWED_DATE_PATTERN);
+
+    private final static int CACHE_START = (int) LocalDate.of(2000, 1, 1).toEpochDay();   // Two digit years are in 2000 to 2099
+    private final static int CACHE_END = (int) LocalDate.of(2100, 1, 1).toEpochDay();
+    private final static String[] formattedDays = new String[CACHE_END - CACHE_START];
+    private final static String[] isoFormattedDays = new String[CACHE_END - CACHE_START];
+
+    /**
+     * Epoch days are only used through the static methods
+     */
+    private EpochDay(){}
+
+    /**
+     * Gets today's date
+     * @return epoch day
+     */
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Gets a date in the dd/MM/yy format
+     * @param epochDay epoch day, not NONE
+     * @return formatted date
+     */
+    public static String format(int epochDay) {
+        if (epochDay < CACHE_START || epochDay >= CACHE_END) {
+            return FORMATTER.format(LocalDate.ofEpochDay(epochDay));
+        }
+        String formattedDay = formattedDays[epochDay - CACHE_START];
+        if (formattedDay == null) {
+            // Threads racing here build equal strings, so either may be kept
+            formattedDay = FORMATTER.format(LocalDate.ofEpochDay(epochDay));
+            formattedDays[epochDay - CACHE_START] = formattedDay;
+        }
+        return formattedDay;
+    }
+
+    /**
+     * Gets a date in the yyyy-MM-dd format
+     * @param epochDay epoch day, not NONE
+     * @return formatted date
+     */
+    public static String formatIso(int epochDay) {
+        if (epochDay < CACHE_START || epochDay >= CACHE_END) {
+            return LocalDate.ofEpochDay(epochDay).toString();
+        }
+        String formattedDay = isoFormattedDays[epochDay - CACHE_START];
+        if (formattedDay == null) {
+            formattedDay = LocalDate.ofEpochDay(epochDay).toString();
+            isoFormattedDays[epochDay - CACHE_START] = formattedDay;
+        }
+        return formattedDay;
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * A class that parses CSV data fields into numbers and dates without
+ * throwing exceptions or creating objects. Each parse returns a status,
+ * and the value of the last field parsed is kept in the parser, so bad
+ * data in a large file costs no more to load than good data. Each thread
+ * has its own parser
+ */
+public class FieldParser {
+
+    // Parse Statuses
+    public final static int OK = 0;
+    public final static int EMPTY = 1;          // Missing, empty or whitespace only
+    public final static int INVALID = 2;
+
+    private final static ThreadLocal<FieldParser> PARSERS = ThreadLocal.withInitial(FieldParser::new);
+
+    private final static int RADIX = 10;
+    private final static char UNICODE_DIGIT_START = '\u0080';   // Other scripts' digits are accepted, as with Long.parseLong
+    private final static int DATE_LENGTH = 8;           // dd/MM/yy
+    private final static int DAY_INDEX = 0;
+    private final static int MONTH_INDEX = 3;
+    private final static int YEAR_INDEX = 6;
+    private final static int FIRST_SEPARATOR_INDEX = 2;
+    private final static int SECOND_SEPARATOR_INDEX = 5;
+    private final static char DATE_SEPARATOR = '/';
+    private final static int BASE_YEAR = 2000;           // Two digit years are in 2000 to 2099, as with DateTimeFormatter
+    private final static int DAYS_0000_TO_1970 = 719528;
+
+    private long value;
+
+    /**
+     * Parsers are only created per thread, through get
+     */
+    private FieldParser(){}
+
+    /**
+     * Gets the parser of the current thread
+     * @return parser
+     */
+    public static FieldParser get() {
+        return PARSERS.get();
+    }
+
+    /**
+     * Gets a data field of a row
+     * @param data data fields of the row
+     * @param index index of the field
+     * @return data field, or null if the row is too short
+     */
+    public static String getField(String[] data, int index) {
+        return index < data.length ? data[index] : null;
+    }
+
+    /**
+     * Checks if a data field is missing, empty or whitespace only
+     * @param field data field
+     * @return true if empty
+     */
+    public static boolean isEmpty(String field) {
+        if (field == null) {
+            return true;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an int, accepting the same text as Integer.parseInt
+     * @param field data field
+     * @return parse status
+     */
+    public int parseInt(String field) {
+        return parseNumber(field, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses a long, accepting the same text as Long.parseLong
+     * @param field data field
+     * @return parse status
+     */
+    public int parseLong(String field) {
+        return parseNumber(field, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parses a dd/MM/yy date into an epoch day, accepting the same
+     * text as LocalDate.parse with that pattern. As with LocalDate.parse,
+     * a day past the end of its month is moved back to the last day
+     * @param field data field
+     * @return parse status
+     */
+    public int parseDate(String field) {
+        if (isEmpty(field)) {
+            return EMPTY;
+        }
+        if (field.length() != DATE_LENGTH || field.charAt(FIRST_SEPARATOR_INDEX) != DATE_SEPARATOR || field.charAt(SECOND_SEPARATOR_INDEX) != DATE_SEPARATOR) {
+            return INVALID;
+        }
+        int day = parseTwoDigits(field, DAY_INDEX);
+        int month = parseTwoDigits(field, MONTH_INDEX);
+        int year = parseTwoDigits(field, YEAR_INDEX);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 0) {
+            return INVALID;
+        }
+        year += BASE_YEAR;
+        value = toEpochDay(year, month, Math.min(day, getMonthLength(year, month)));
+        return OK;
+    }
+
+    /**
+     * Gets the last int parsed
+     * @return int value
+     */
+    public int getInt() {
+        return (int) value;
+    }
+
+    /**
+     * Gets the last long parsed
+     * @return long value
+     */
+    public long getLong() {
+        return value;
+    }
+
+    /**
+     * Gets the last date parsed
+     * @return days since 1970-01-01
+     */
+    public int getEpochDay() {
+        return (int) value;
+    }
+
+    /**
+     * Parses a signed number within a range, building it as a negative
+     * number so that the minimum value does not overflow
+     * @param field data field
+     * @param minValue minimum value
+     * @param maxValue maximum value
+     * @return parse status
+     */
+    private int parseNumber(String field, long minValue, long maxValue) {
+        if (isEmpty(field)) {
+            return EMPTY;
+        }
+        int length = field.length();
+        int index = 0;
+        boolean isNegative = false;
+        char firstChar = field.charAt(0);
+        if (firstChar == '-' || firstChar == '+') {
+            isNegative = firstChar == '-';
+            index = 1;
+            if (length == 1) {
+                // Sign without digits
+                return INVALID;
+            }
+        }
+        long limit = isNegative ? minValue : -maxValue;
+        long multiplyLimit = limit / RADIX;
+        long result = 0;
+        for (; index < length; index++) {
+            char digitChar = field.charAt(index);
+            int digit = digitChar < UNICODE_DIGIT_START ? digitChar - '0' : Character.digit(digitChar, RADIX);
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return INVALID;
+            }
+            result *= RADIX;
+            if (result < limit + digit) {
+                return INVALID;
+            }
+            result -= digit;
+        }
+        value = isNegative ? result : -result;
+        return OK;
+    }
+
+    /**
+     * Parses two ASCII digits
+     * @param field data field
+     * @param index index of the first digit
+     * @return number, or -1 if not two digits
+     */
+    private int parseTwoDigits(String field, int index) {
+        int tens = field.charAt(index) - '0';
+        int ones = field.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * RADIX + ones;
+    }
+
+    /**
+     * Gets the number of days in a month
+     * @param year year
+     * @param month month from 1 to 12
+     * @return number of days
+     */
+    private int getMonthLength(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Checks if a year is a leap year
+     * @param year year
+     * @return true if leap year
+     */
+    private boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    /**
+     * Converts a date to days since 1970-01-01, as LocalDate.toEpochDay
+     * does for years after year 0
+     * @param year year
+     * @param month month from 1 to 12
+     * @param day day of month
+     * @return epoch day
+     */
+    private long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * A class that watches a file on a daemon thread and calls back each time
+ * the file is created or written to, by this process or any other. Writes
+ * that arrive together may be called back once, so the callback should
+ * handle everything that changed since it last ran
+ */
+public class FileWatcher {
+
+    private final Path filePath;
+    private final Runnable onChange;
+    private WatchService watchService;
+
+    // Error Messages
+    private final static String ERROR_WATCH = "Unable to watch file: ";
+    private final static String ERROR_CHANGE = "Unable to handle change to file: ";
+
+    /**
+     * FileWatcher constructor
+     * @param filePath file path
+     * @param onChange callback run on the watcher thread after each change
+     */
+    public FileWatcher(String filePath, Runnable onChange) {
+        this.filePath = Paths.get(filePath).toAbsolutePath();
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the file
+     * @throws IOHandlerException error during watching the file's directory
+     */
+    public synchronized void start() throws IOHandlerException {
+        try {
+            // Files cannot be watched on their own, so their directory is watched instead
+            watchService = FileSystems.getDefault().newWatchService();
+            filePath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_WATCH + filePath);
+        }
+        Thread thread = new Thread(this::watch, "file-watcher");
+        thread.setDaemon(true);     // Never keeps the program from exiting
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file
+     */
+    public synchronized void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            System.out.println(ERROR_WATCH + filePath);
+        }
+    }
+
+    /**
+     * Waits for changes to the file's directory until stopped,
+     * calling back for those to the file
+     */
+    private void watch() {
+        Path fileName = filePath.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean isChanged = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // Events lost on overflow may have been for the file
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    isChanged = true;
+                }
+            }
+            if (isChanged) {
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    System.out.println(ERROR_CHANGE + filePath);
+                }
+            }
+            if (!key.reset()) {
+                // Directory is gone
+                return;
+            }
+        }
+    }
+}
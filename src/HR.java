@@ -1,11 +1,5 @@
-import java.io.File;
-import java.io.FileWriter;
 import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Scanner;
 
 /**
@@ -14,25 +8,20 @@ import java.util.Scanner;
  */
 public class HR extends InteractiveRole {
 
-    private Scanner keyboard;
     private IOHandler ioHandler;
-    private String input;
-    private int applicationCount;
+    private volatile int applicationCount = UNKNOWN_APPLICATION_COUNT;
+    private boolean prefetchApplicants;
     private Job job;
 
     private final int ALPHABET_MAX_INDEX = 25;              // Maximum Index of Alphabet (A-Z)
+    private final int SEARCH_RESULT_NO = 20;                // Candidates listed by a search
+    private final static int UNKNOWN_APPLICATION_COUNT = -1;    // Jobs still loading
 
     // Filepaths
-    private String jobFilePath;
-    private String applicationFilePath;
     private final String WELCOME_HR_FILEPATH = "welcome_hr.ascii";
 
-    // Data parsed from the CSV files
-    private ArrayList<String[]> masterJobData;             
-    private ArrayList<String[]> masterApplicantData;        
-
-    private ArrayList<Job> masterJobList;                   
-    private ArrayList<Application> masterApplicantList;     // includes all applicants
+    // Jobs and applicants
+    private JobBoard jobBoard;
     private ArrayList<Application> masterApplicationList;   // includes only applicants that applied for a job
 
     // Filter Type Constants
@@ -47,6 +36,10 @@ public class HR extends InteractiveRole {
     private final String COMMAND_F = "f";
     private final String COMMAND_MATCH = "match";
     private final String COMMAND_M = "m";
+    private final String COMMAND_STATS = "stats";
+    private final String COMMAND_RELOAD = "reload";
+    private final String COMMAND_IMPORT = "import";
+    private final String COMMAND_SEARCH = "search";
     
     // Creating New Job Prompts
     private final String PROMPT_TITLE = "Position Title: ";
@@ -54,10 +47,22 @@ public class HR extends InteractiveRole {
     private final String PROMPT_DEGREE = "Minimum Degree Requirement: ";
     private final String PROMPT_SALARY = "Salary ($ per annum): ";
     private final String PROMPT_START_DATE = "Start Date: ";
+    private final String PROMPT_IMPORT_FILE = "Import File (CSV or JSONL): ";
+    private final String PROMPT_SEARCH_QUERY = "Search Career Summaries (words, \"phrases\", OR): ";
     private final String PROMPT_SELECT_FILTER = "Filter by: [lastname], [degree] or [wam]: ";
 
+    // Listing Formats
+    private final String APPLICANT_DETAILS = "[%s] %s, %s (%s): %s. Salary Expectations: %s. Available: %s\n";
+    private final String JOBS_IMPORTED = "Imported %d jobs from %s.\n";
+    private final String CANDIDATES_FOUND = "%d candidates found.\n";
+    private final String CANDIDATES_LISTED = "%d candidates found, the first %d listed.\n";
+    private final String JOBS_RELOADED = "Reloaded jobs file: %d added, %d removed, %d updated.\n";
+    private final String APPLICANT_CACHE_STATS = "Applicant cache: %d of %d applicants kept, %d hits, %d misses, %d evictions\n";
+
     // Error Messages
     private final String SAVE_JOB_FILE_ERROR = "Unable to find jobs file.";
+    private final String BATCH_INVALID_COMMAND = "ERROR: %s is not a valid command.\n";
+    private final String BATCH_INVALID_FILTER = "ERROR: filter requires --by [lastname], [degree] or [wam].";
 
     // Menu Instructions
     private final String TITLE_INVALID = "Ooops! Position Title must be provided: ";
@@ -69,6 +74,10 @@ public class HR extends InteractiveRole {
             "- list applicants: [applicants] or [a]\n" +
             "- filter applications: [filter] or [f]\n" +
             "- matchmaking: [match] or [m]\n" +
+            "- show timings and counters: [stats]\n" +
+            "- reload jobs edited in the jobs file: [reload]\n" +
+            "- import jobs from a CSV or JSONL file: [import] <file>\n" +
+            "- search candidates by career summary: [search] <query>\n" +
             "- quit the program: [quit] or [q]";
 
     /**
@@ -83,189 +92,219 @@ public class HR extends InteractiveRole {
      * @param applicationFilePath, file path for jobs.csv
      */
     public HR(String jobFilePath, String applicationFilePath) {
-        this.jobFilePath = jobFilePath;
-        this.applicationFilePath = applicationFilePath;
         this.ioHandler = new IOHandler();
         this.keyboard = new Scanner(System.in);
-
-        this.masterJobData = new ArrayList<String[]>();
-        this.masterApplicantData = new ArrayList<String[]>();
-
-        this.masterJobList = new ArrayList<Job>();
-        this.masterApplicantList = new ArrayList<Application>();
+        this.jobBoard = new JobBoard(jobFilePath, applicationFilePath);
         this.masterApplicationList = new ArrayList<Application>();
+        registerCommands();
     }
 
     /**
-     * Launches the program for applicant role
+     * Registers the HR menu commands
      */
-    public void launchPortal() {
-
-        ioHandler.displayWelcomeMessage(WELCOME_HR_FILEPATH);
-        checkSave();
-        updateApplicationCount();
-        printStatus();
-        System.out.print(PROMPT_TEXT);
-        menuInput();
+    private void registerCommands() {
+        registerCommand(argument -> createJob(), COMMAND_CREATE, COMMAND_C);
+        registerCommand(argument -> listAvailableJobs(), COMMAND_JOBS, COMMAND_J);
+        registerCommand(argument -> listApplicants(), COMMAND_APPLICANTS, COMMAND_A);
+        registerCommand(argument -> filterApplications(), COMMAND_FILTER, COMMAND_F);
+        registerCommand(argument -> match(), COMMAND_MATCH, COMMAND_M);
+        registerCommand(argument -> printStats(), COMMAND_STATS);
+        registerCommand(argument -> reloadJobs(), COMMAND_RELOAD);
+        registerCommand(this::importJobs, COMMAND_IMPORT);
+        registerCommand(this::searchCandidates, COMMAND_SEARCH);
+        registerQuitCommand(argument -> quit(), COMMAND_QUIT, COMMAND_Q);
     }
 
-
     /**
-     * Checks if there are saved files and loads them if so
+     * Keeps the applicants in an application store outside of the
+     * heap, so that listing them does not create an object for each
+     * @param storeFilePath file path of the application store
+     * @param cacheSize number of applicants kept as objects once read
      */
-    public void checkSave() {
-        if (hasSavedFile()) {
-            loadSave();             // Load Jobs with received application data 
-        } else {
-            readMasterJobData();
-            loadMasterJobList();
-        }
-        // Loads applicant data (regardless of job applied)
-        readMasterApplicantData();
-        loadMasterApplicantList();
+    public void useApplicantStore(String storeFilePath, int cacheSize) {
+        jobBoard.useApplicantStore(storeFilePath, cacheSize);
     }
 
     /**
-     * Reads application data from CSV
+     * Keeps the applications parsed from the applications file in a
+     * cache beside it, so that later runs only parse appended rows
      */
-    private void readMasterApplicantData() {
-        try {
-            masterApplicantData = ioHandler.readFile(applicationFilePath, Application.DATA_FIELD_NO, IOHandler.APPLICATION_FILE_TYPE);
-        } catch (IOHandlerException e) {
-            System.out.println(e.getMessage());
-        }
+    public void useParseCache() {
+        jobBoard.useParseCache();
     }
 
     /**
-     * Read jobs data from CSV file
+     * Adds applications appended to the applications file by other
+     * portals, servers or imports while the portal is running
      */
-    private void readMasterJobData() {
-        try {
-            masterJobData = ioHandler.readFile(jobFilePath, Job.DATA_FIELD_NO, IOHandler.JOB_FILE_TYPE);
-        } catch (IOHandlerException e) {
-            System.out.println(e.getMessage());
-        }
+    public void followApplicationFile() {
+        jobBoard.followApplicationFile();
     }
 
     /**
-     * Loads application data
+     * Loads the applicants in the background from startup instead of
+     * the first time a command needs them
+     * @param prefetchApplicants true to prefetch the applicants
      */
-    private void loadMasterApplicantList() {
-        for (String[] applicationData : masterApplicantData) {
-            int applicationLineNo = masterApplicantData.indexOf(applicationData) + 1;
-            try {
-                Application application = new Application(applicationData, applicationLineNo);
-                masterApplicantList.add(application);
-            } catch (InvalidMandatoryDataException e) {
-                // Skips line row if invalid mandatory fields in the row
-                System.out.println(e.getMessage());
-            }
-        }
+    public void setApplicantPrefetch(boolean prefetchApplicants) {
+        this.prefetchApplicants = prefetchApplicants;
     }
 
     /**
-     * Loads job data
+     * Launches the program for applicant role
      */
-    private void loadMasterJobList() {
-        for (String[] jobData : masterJobData) {
-            int jobLineNo = masterJobData.indexOf(jobData) + 1;
-            try {
-                Job job = new Job(jobData, jobLineNo);
-                masterJobList.add(job);
-            } catch (InvalidMandatoryDataException e) {
-                // Skip line if invalid mandatory line in row
-                System.out.println(e.getMessage());
-            }
-        }
+    public void launchPortal() {
+        long startTime = Metrics.start();
+        ioHandler.displayWelcomeMessage(WELCOME_HR_FILEPATH);
+        checkSave();
+        // The menu is shown straight away, with the count once the jobs are loaded
+        jobBoard.whenJobsLoaded(this::updateApplicationCount);
+        printStatus();
+        Metrics.stop(METRICS_STARTUP, startTime);
+        runMenu();
     }
 
+
     /**
-     * Reads the saved file and loads the objects - jobs
-     * with received application data
+     * Runs a single command without the welcome message or prompts
+     * and writes its results in CSV format, used for scripted runs
+     * @param command command to run
+     * @param filterType filter type for the filter command
+     * @param outputFilePath file to write results to, or null for standard output
+     * @param save true if the save file should be rewritten afterwards
+     * @return true if the command ran successfully
      */
-    private void loadSave() {
-        masterJobList.clear();
+    public boolean runBatch(String command, String filterType, String outputFilePath, boolean save) {
+        if (!isValidBatchCommand(command, filterType)) {
+            return false;
+        }
+        checkSave();
+        jobBoard.awaitLoaded();     // Scripts get every warning before the results
+        updateApplicationCount();
         try {
-            ArrayList<?> objectList = ioHandler.readSave();
-            for (Object obj : objectList) {
-                masterJobList.add((Job) obj);
-            }
+            PrintWriter writer = ioHandler.openOutput(outputFilePath);
+            writeBatchOutput(writer, command, filterType);
+            ioHandler.closeOutput(writer, outputFilePath);
         } catch (IOHandlerException e) {
             System.out.println(e.getMessage());
+            return false;
+        }
+        if (save) {
+            saveData();
         }
+        return true;
     }
 
     /**
-     * Updates application count
+     * Checks if a batch command (and its filter type) is valid
+     * @param command command to run
+     * @param filterType filter type for the filter command
+     * @return true if valid
      */
-    private void updateApplicationCount() {
-        int applicationCounter = 0;
-        for (Job job : masterJobList) {
-            applicationCounter += job.getApplicationCount();
+    private boolean isValidBatchCommand(String command, String filterType) {
+        switch (command) {
+            case COMMAND_JOBS:
+            case COMMAND_J:
+            case COMMAND_APPLICANTS:
+            case COMMAND_A:
+            case COMMAND_MATCH:
+            case COMMAND_M:
+                return true;
+
+            case COMMAND_FILTER:
+            case COMMAND_F:
+                if (FILTER_LASTNAME.equals(filterType) || FILTER_DEGREE.equals(filterType) || FILTER_WAM.equals(filterType)) {
+                    return true;
+                }
+                System.out.println(BATCH_INVALID_FILTER);
+                return false;
+
+            default:
+                System.out.printf(BATCH_INVALID_COMMAND, command);
+                return false;
         }
-        this.applicationCount = applicationCounter;
     }
 
     /**
-     * Receives users command and initiates if valid
+     * Writes the results of a batch command in CSV format
+     * @param writer output writer
+     * @param command command to run
+     * @param filterType filter type for the filter command
      */
-    private void menuInput() {
-        this.input = keyboardInput();
-        switch (input) {
-            case COMMAND_CREATE:
-            case COMMAND_C:
-                createJob();
-                printStatus();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
-                break;
-
+    private void writeBatchOutput(PrintWriter writer, String command, String filterType) {
+        switch (command) {
             case COMMAND_JOBS:
             case COMMAND_J:
-                listAvailableJobs();
-                printStatus();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
+                writer.write(IOHandler.JOB_HEADER);
+                for (Job job : jobBoard.getJobList()) {
+                    writer.write(job.getQuotedCSVFormat());
+                }
                 break;
 
             case COMMAND_APPLICANTS:
             case COMMAND_A:
-                listApplicants();
-                printStatus();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
+                writer.write(IOHandler.APPLICATION_HEADER);
+                ApplicationStore store = jobBoard.getApplicantStore();
+                if (store != null) {
+                    ApplicationView view = store.view();
+                    for (int index : jobBoard.getSortedApplicantIndexes(store)) {
+                        writer.write(view.moveTo(index).getCSVFormat());
+                    }
+                    break;
+                }
+                for (Application application : jobBoard.getSortedApplicantList()) {
+                    writer.write(application.getCSVFormat());
+                }
                 break;
 
             case COMMAND_FILTER:
             case COMMAND_F:
-                filterApplications();
-                printStatus();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
+                writer.write(IOHandler.APPLICATION_HEADER);
+                for (Application application : jobBoard.getFilteredApplicationList(filterType)) {
+                    writer.write(application.getCSVFormat());
+                }
                 break;
 
             case COMMAND_MATCH:
             case COMMAND_M:
-                match();
-                printStatus();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
+                Matchmaker matchmaker = jobBoard.match();
+                ArrayList<Job> matchedJobList = matchmaker.getMatchedJobList();
+                ArrayList<Application> matchedApplicationList = matchmaker.getMatchedApplicationList();
+                writer.write(IOHandler.MATCH_HEADER);
+                for (int i = 0; i < matchedJobList.size(); i++) {
+                    String jobCSVFormat = matchedJobList.get(i).getQuotedCSVFormat();
+                    writer.write(jobCSVFormat.substring(0, jobCSVFormat.length() - 1));   // Drop the job's line break
+                    writer.write(CSV_DELIMITER);
+                    writer.write(matchedApplicationList.get(i).getCSVFormat());
+                }
                 break;
+        }
+    }
 
-            case COMMAND_QUIT:
-            case COMMAND_Q:
-                closeInput();
-                saveData();
-                System.out.println();
-                System.exit(0);
-                break;
+    /**
+     * Checks if there are saved files and starts loading them if so,
+     * loading the jobs (with received application data if saved) in the
+     * background and the applicant data (regardless of job applied) when
+     * first needed, or in the background too if prefetched
+     */
+    public void checkSave() {
+        jobBoard.loadAsync(prefetchApplicants);
+    }
 
-            default:
-                printInvalidCommand();
-                System.out.print(PROMPT_TEXT);
-                menuInput();
-                break;
-        }
+    /**
+     * Updates application count
+     */
+    private void updateApplicationCount() {
+        this.applicationCount = jobBoard.getApplicationCount();
+    }
+
+    /**
+     * Quits the program, saving the jobs and their received applications
+     */
+    private void quit() {
+        closeInput();
+        saveData();
+        System.out.println();
     }
 
     /**
@@ -280,7 +319,6 @@ public class HR extends InteractiveRole {
         promptSalary();
         promptStartDate();
         job.setCreatedAt();
-        masterJobList.add(job);
         saveJobToCSV();
     }
 
@@ -355,14 +393,13 @@ public class HR extends InteractiveRole {
     private void promptStartDate() {
         System.out.print(PROMPT_START_DATE);
         boolean isValid = false;
-        LocalDate date;
+        FieldParser parser = FieldParser.get();
         while (!isValid) {
             input = keyboardInput();
-            try {
-                date = LocalDate.parse(input, DateTimeFormatter.ofPattern("dd/MM/yy"));
+            if (parser.parseDate(input) == FieldParser.OK) {
                 isValid = true;
-                job.setStartDate(date);
-            } catch (Exception e) {
+                job.setStartDate(parser.getEpochDay());
+            } else {
                 printInvalidOptionalField("Start Date");
             }
         }
@@ -372,14 +409,9 @@ public class HR extends InteractiveRole {
      * Save new job to CSV
      */
     private void saveJobToCSV() {
-        File jobFile = new File(jobFilePath);
         try {
-            FileWriter fr = new FileWriter(jobFile, true);
-            PrintWriter csvWriter = new PrintWriter(fr);
-            csvWriter.write(job.getCSVFormat());
-            csvWriter.flush();
-            csvWriter.close();
-        } catch (Exception e) {
+            jobBoard.addJob(job);
+        } catch (IOHandlerException e) {
             System.out.println(SAVE_JOB_FILE_ERROR);
         }
     }
@@ -435,49 +467,19 @@ public class HR extends InteractiveRole {
      * @param filterType filter type
      */
     private void filterBy(String filterType) {
-        ArrayList<Application> sortedList = masterApplicationList;
-        Collections.sort(sortedList, new Comparator<Application>() {
-            @Override
-            public int compare(Application thisApplication, Application otherApplication) {
-                return thisApplication.filterBy(filterType,otherApplication);
-            }
-        });
-        for (Application application : sortedList) {
-            printApplicantDetails(application, getApplicationListIndex(application));
+        int applicationIndex = 0;
+        for (Application application : jobBoard.getFilteredApplicationList(filterType)) {
+            applicationIndex += 1;
+            printApplicantDetails(application, applicationIndex);
         }
     }
 
-    /**
-     * Gets index of application (applicants who applied)
-     * @param application application
-     * @return the index
-     */
-    private int getApplicationListIndex(Application application) {
-        return masterApplicationList.indexOf(application) + 1;
-    }
     /**
      * Update the application list with no duplicate ensured
      * by using a unique key
      */
     private void updateApplicationList() {
-        ArrayList<Integer> hashSet = new ArrayList<Integer>();
-        for (Job job : masterJobList) {
-            // For each Job
-            if (job.hasApplications()) {
-                // If the Job has received applications
-                ArrayList<String[]> receivedApplicationData = job.getReceivedApplications();
-                for (String[] data : receivedApplicationData) {
-                    // For each Application
-                    Application application = new Application(data);
-                    int hashCode = application.hashCode();
-                    if (!hashSet.contains(hashCode)) {
-                        // If not duplicate application
-                        masterApplicationList.add(application);
-                        hashSet.add(hashCode);
-                    }
-                }
-            }
-        }
+        masterApplicationList = jobBoard.getReceivedApplicationList();
     }
 
     /**
@@ -496,55 +498,70 @@ public class HR extends InteractiveRole {
      * List applicants in sorted order
      */
     private void listApplicants() {
-        ArrayList<Application> sortedList = masterApplicantList;
-        // Sorts applicants by their availability
-        Collections.sort(sortedList, new Comparator<Application>() {
-            @Override
-            public int compare(Application thisApplication, Application otherApplication) {
-                return thisApplication.sortApplicantList(otherApplication);
-            }
-        });
-        if (masterApplicantList.size() != 0) {
+        ApplicationStore store = jobBoard.getApplicantStore();
+        if (store != null) {
+            listStoredApplicants(store);
+            return;
+        }
+        ArrayList<Application> sortedList = jobBoard.getSortedApplicantList();
+        if (sortedList.size() != 0) {
             // Prints each application details
+            int applicantIndex = 0;
             for (Application application : sortedList) {
-                printApplicantDetails(application, getApplicantListIndex(application));
+                applicantIndex += 1;
+                printApplicantDetails(application, applicantIndex);
             }
         } else {
             System.out.println(APPLICANTS_UNAVAILABLE);
         }
     }
 
+    /**
+     * List applicants kept in an application store in sorted order,
+     * reading each through a view instead of creating an object
+     * @param store application store
+     */
+    private void listStoredApplicants(ApplicationStore store) {
+        int[] sortedIndexes = jobBoard.getSortedApplicantIndexes(store);
+        if (sortedIndexes.length == 0) {
+            System.out.println(APPLICANTS_UNAVAILABLE);
+            return;
+        }
+        ApplicationView view = store.view();
+        int applicantIndex = 0;
+        for (int index : sortedIndexes) {
+            applicantIndex += 1;
+            view.moveTo(index);
+            System.out.printf(APPLICANT_DETAILS, applicantIndex, view.getLastName(), view.getFirstName(), view.getDegree(),
+                    view.getCareerSummary(), view.getSalaryExpectations(), view.getFormattedAvailability());
+        }
+    }
+
     /**
      * Prints applicant details
      * @param application application
      * @param applicantIndex index of application in the list
      */
     private void printApplicantDetails(Application application, int applicantIndex) {
-        System.out.printf("[%s] %s, %s (%s): %s. Salary Expectations: %s. Available: %s\n", applicantIndex,
+        System.out.printf(APPLICANT_DETAILS, applicantIndex,
                 application.getLastName(), application.getFirstName(), application.getDegree(),
                 application.getCareerSummary(),
                 application.getSalaryExpectations(), application.getFormattedAvailability());
     }
 
-    /**
-     * Gets index of applicant
-     * @param application application
-     * @return the index
-     */
-    private int getApplicantListIndex(Application application) {
-        return masterApplicantList.indexOf(application) + 1;
-    }
-
     
     /**
      * List available jobs
      */
     private void listAvailableJobs() {
-        if (masterJobList.size() == 0) {
+        ArrayList<Job> jobList = jobBoard.getJobList();
+        if (jobList.size() == 0) {
             System.out.println(JOBS_UNAVAILABLE);
         } else {
-            for (Job job : masterJobList) {
-                printJobDetails(job);
+            int jobIndex = 0;
+            for (Job job : jobList) {
+                jobIndex += 1;
+                printJobDetails(job, jobIndex);
                 System.out.println();
                 if (job.hasApplications()) {
                     printReceivedApplicationDetails(job);
@@ -556,34 +573,20 @@ public class HR extends InteractiveRole {
     /**
      * Print job details
      * @param job
+     * @param jobIndex index of job in the list
      */
-    private void printJobDetails(Job job) {
-        int jobIndex = getJobIndex(job);
+    private void printJobDetails(Job job, int jobIndex) {
         System.out.printf("[%d] %s (%s). %s. Salary: %s. Start Date: %s.", jobIndex, job.getTitle(),
                 job.getDescription(), job.getDegree(), job.getSalary(), job.getStartDate());
     }
 
-    /**
-     * Get job index
-     * @param job
-     * @return int
-     */
-    private int getJobIndex(Job job) {
-        return masterJobList.indexOf(job) + 1;
-    }
-
     /**
      * List available jobs
      * @param job job
      * @return list of applicants that applied
      */
     private ArrayList<Application> getReceivedApplicationList(Job job) {
-        ArrayList<String[]> receivedApplicationsData = job.getReceivedApplications();
-        ArrayList<Application> receivedApplications = new ArrayList<Application>();
-        for (String[] data : receivedApplicationsData) {
-            receivedApplications.add(new Application(data));
-        }
-        return receivedApplications;
+        return new ArrayList<Application>(job.getReceivedApplications());
     }
 
     /**
@@ -644,54 +647,104 @@ public class HR extends InteractiveRole {
     }
 
     /**
-     * Prints menu status
+     * Prints menu status, leaving out the
+     * application count while jobs are loading
      */
-    private void printStatus() {
+    @Override
+    protected void printStatus() {
         // System.out.printf("0 applications received.\n");
-        System.out.printf("%d applications received.\n", applicationCount);
+        if (applicationCount != UNKNOWN_APPLICATION_COUNT) {
+            System.out.printf("%d applications received.\n", applicationCount);
+        }
         System.out.println(MENU_HR_INSTRUCTION);
     }
 
-    /**
-     * Keyboard input
-     * @return input string
+    
+     /**
+     * Saves user preferences if any to
+     * a permanent storage option
      */
-    private String keyboardInput() {
-        return keyboard.nextLine();
+    private void saveData() {
+        try {
+            jobBoard.save();
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+        }
     }
 
     /**
-     * Close scanner
+     * Prints the timings and counters, and how well the
+     * applicant cache is doing if applicants are in a store
      */
-    private void closeInput() {
-        keyboard.close();
+    private void printStats() {
+        Metrics.printStats();
+        ApplicationCache cache = jobBoard.getApplicantCache();
+        if (cache != null) {
+            System.out.printf(APPLICANT_CACHE_STATS, cache.size(), cache.getStore().size(), cache.getHitNo(),
+                    cache.getMissNo(), cache.getEvictionNo());
+        }
     }
 
     /**
-     * Prints invalid commands
+     * Reloads the jobs from the jobs file, keeping the
+     * applications received by jobs still in it
      */
-    private void printInvalidCommand() {
-        System.out.println(MENU_INVALID_COMMAND);
+    private void reloadJobs() {
+        try {
+            JobBoard.JobReload reload = jobBoard.reloadJobs();
+            updateApplicationCount();
+            System.out.printf(JOBS_RELOADED, reload.getAddedNo(), reload.getRemovedNo(), reload.getUpdatedNo());
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+        }
     }
 
-    
-     /**
-     * Saves user preferences if any to
-     * a permanent storage option
+    /**
+     * Imports jobs in bulk from a CSV or JSONL file
+     * @param importFilePath file path, or empty to prompt for it
      */
-    private void saveData() {
+    private void importJobs(String importFilePath) {
+        if (isEmptyInput(importFilePath)) {
+            System.out.print(PROMPT_IMPORT_FILE);
+            importFilePath = keyboardInput().trim();
+        }
         try {
-            ioHandler.saveData(masterJobList);
+            int importedNo = jobBoard.importJobs(importFilePath);
+            System.out.printf(JOBS_IMPORTED, importedNo, importFilePath);
         } catch (IOHandlerException e) {
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * Searches the career summaries of all applicants, listing the
+     * matching applicants by their applicant number
+     * @param query words that must all be in the summary, "phrases" whose
+     *              words must be next to each other, joined by OR for either
+     *              side, or empty to prompt for it
+     */
+    private void searchCandidates(String query) {
+        if (isEmptyInput(query)) {
+            System.out.print(PROMPT_SEARCH_QUERY);
+            query = keyboardInput();
+        }
+        int[] applicantNos = jobBoard.searchCandidates(query);
+        int listedNo = Math.min(applicantNos.length, SEARCH_RESULT_NO);
+        for (int i = 0; i < listedNo; i++) {
+            printApplicantDetails(jobBoard.getApplicant(applicantNos[i]), applicantNos[i]);
+        }
+        if (listedNo < applicantNos.length) {
+            System.out.printf(CANDIDATES_LISTED, applicantNos.length, listedNo);
+        } else {
+            System.out.printf(CANDIDATES_FOUND, applicantNos.length);
+        }
+    }
+
     /**
      * Matchmaking
      */
     private void match() {
-        Matchmaker matchmaker = new Matchmaker(masterJobList);
+        Matchmaker matchmaker = new Matchmaker(jobBoard.getJobList());
         matchmaker.startProgram();
     }
 }
@@ -23,16 +23,56 @@ public class HRAssistant {
     private final String FLAG_JOBS = "--jobs";
     private final String FLAG_H = "-h";
     private final String FLAG_HELP = "--help";
+    private final String FLAG_E = "-e";
+    private final String FLAG_EXEC = "--exec";
+    private final String FLAG_O = "-o";
+    private final String FLAG_OUT = "--out";
+    private final String FLAG_B = "-b";
+    private final String FLAG_BY = "--by";
+    private final String FLAG_SAVE = "--save";
+    private final String FLAG_PREFETCH = "--prefetch";
+    private final String FLAG_PARSE_CACHE = "--parse-cache";
+    private final String FLAG_FOLLOW = "--follow";
+    private final String FLAG_S = "-s";
+    private final String FLAG_SERVE = "--serve";
+    private final String FLAG_M = "-m";
+    private final String FLAG_METRICS = "--metrics";
+    private final String FLAG_V = "-v";
+    private final String FLAG_VALIDATION = "--validation";
+    private final String FLAG_D = "-d";
+    private final String FLAG_STORE = "--store";
+    private final String FLAG_C = "-c";
+    private final String FLAG_CACHE = "--cache";
     
     // Filepaths
     private String applicationFilePath;
     private String jobFilePath;
 
+    // Batch Mode Arguments
+    private String batchCommand;
+    private String batchFilter;
+    private String batchOutputFilePath;
+    private boolean batchSave;
+
+    // Loading Arguments
+    private boolean prefetchApplicants;
+    private boolean useParseCache;
+    private boolean followApplications;
+
+    // Application Store Arguments
+    private String applicantStoreFilePath;
+    private int applicantCacheSize;
+
+    // Server Mode Arguments
+    private String serverPort;
+
     // Default Filepaths
     private final String JOB_FILEPATH_DEFAULT = "jobs.csv";
     private final String APPLICATIONS_FILEPATH_DEFAULT = "applications.csv";
 
     private final String CSV_EXTENSION = ".csv";
+    private final int MAX_PORT = 65535;
+    private final int APPLICANT_CACHE_SIZE_DEFAULT = 10000;
     private final String UNDEFINED_ROLE = "ERROR: no role defined.";
     private final String HELP_TEXT = "HRAssistant - COMP90041 - Final Project\n\n" +
             "Usage: java HRAssistant [arguments]\n\n" +
@@ -40,6 +80,18 @@ public class HRAssistant {
             "    -r or --role            Mandatory: determines the user's role\n" +
             "    -a or --applications    Optional: path to applications file\n" +
             "    -j or --jobs            Optional: path to jobs file\n" +
+            "    -e or --exec            Optional: run a single command without prompts and exit\n" +
+            "    -b or --by              Optional: filter type for the filter command\n" +
+            "    -o or --out             Optional: path to output file for --exec (default: standard output)\n" +
+            "    --save                  Optional: rewrite the save file after --exec\n" +
+            "    --prefetch              Optional: load applicants in the background from startup instead of when first needed (hr role)\n" +
+            "    --parse-cache           Optional: cache parsed applications beside the applications file, parsing only appended rows (hr role and server)\n" +
+            "    --follow                Optional: add applications appended to the applications file while running (hr role and server)\n" +
+            "    -s or --serve           Optional: serve jobs and applications as JSON on a port instead of a role\n" +
+            "    -m or --metrics         Optional: record timings and counters, written as JSON to a file on exit\n" +
+            "    -v or --validation      Optional: append a JSON report of invalid rows to a file on each load\n" +
+            "    -d or --store           Optional: keep applicants off the heap in a store file at this path (hr role and server)\n" +
+            "    -c or --cache           Optional: number of applicants from the store kept as objects once read (default: 10000)\n" +
             "    -h or --help            Optional: print Help (this message) and exit";
 
     public static void main(String[] args) {
@@ -56,7 +108,12 @@ public class HRAssistant {
         this.hasOptionalFlags = false;
         this.ioHandler = new IOHandler();
         scanCommandArguments(args);
+        serverPort = getOptionalFlagArgument(FLAG_S, FLAG_SERVE);
+        loadMetricsFlag();
+        ValidationReport.setReportFilePath(getOptionalFlagArgument(FLAG_V, FLAG_VALIDATION));
+        loadApplicantStoreFlags();
         checkValidArgument();
+        loadBatchFlags();
         loadFlags();
     }
 
@@ -90,6 +147,14 @@ public class HRAssistant {
             this.optionalFlags.add(arg);
         } else if (arg.equals(FLAG_R) || arg.equals(FLAG_ROLE)) {
             this.mandatoryFlag = arg;
+        } else if (arg.equals(FLAG_SAVE)) {
+            this.batchSave = true;
+        } else if (arg.equals(FLAG_PREFETCH)) {
+            this.prefetchApplicants = true;
+        } else if (arg.equals(FLAG_PARSE_CACHE)) {
+            this.useParseCache = true;
+        } else if (arg.equals(FLAG_FOLLOW)) {
+            this.followApplications = true;
         }
     }
 
@@ -98,7 +163,10 @@ public class HRAssistant {
      * is valid
      */
     private void checkValidArgument() {
-        checkMandatoryFlags();
+        if (serverPort == null) {
+            // Role is not needed when serving both roles
+            checkMandatoryFlags();
+        }
         checkOptionalFlags();
     }
 
@@ -139,50 +207,99 @@ public class HRAssistant {
     private void loadFlags() {
         if (hasOptionalFlags) {
             loadOptionalFlags();
-            loadMandatoryFlag();
         } else {
             loadDefaultOptionalFlags();
+        }
+        if (serverPort != null) {
+            flagServe(serverPort);
+        } else {
             loadMandatoryFlag();
         }
     }
 
     /**
-     * Load up any optional flags given by user
+     * Load up any optional flags given by user, falling back
+     * to the default filepath for any file flag not given
      */
     private void loadOptionalFlags() {
+        String jobFlagArgument = JOB_FILEPATH_DEFAULT;
+        String applicationFlagArgument = APPLICATIONS_FILEPATH_DEFAULT;
         for (String flag: optionalFlags) {
             String flagArgument = getFlagArgument(flag);
-            loadOptionalApplicationFlag(flag, flagArgument);
-            loadOptionalJobFlag(flag, flagArgument);
-        } 
+            if (flag.equals(FLAG_J) || flag.equals(FLAG_JOBS)) {
+                jobFlagArgument = flagArgument;
+            } else if ((isValidOptionalFlag(flag)) && (flag.equals(FLAG_A) || flag.equals(FLAG_APPLICATIONS))) {
+                applicationFlagArgument = flagArgument;
+            }
+        }
+        flagApplications(applicationFlagArgument);
+        flagJobs(jobFlagArgument);
     }
 
     /**
-     * Check if job flag argument is valid, else load default job flag
-     * @param flag optional flag
-     * @param flagArgument optional flag argument
+     * Enables metrics if user has indicated the metrics flag,
+     * writing them to the file given when the program exits
      */
-    private void loadOptionalJobFlag(String flag, String flagArgument) {
-        if ((flag.equals(FLAG_J) || flag.equals(FLAG_JOBS))) {
-            flagJobs(flagArgument);
-        } else {
-            flagJobs(JOB_FILEPATH_DEFAULT);
+    private void loadMetricsFlag() {
+        String metricsFilePath = getOptionalFlagArgument(FLAG_M, FLAG_METRICS);
+        if (metricsFilePath != null) {
+            Metrics.enable(metricsFilePath);
         }
     }
 
     /**
-     * Check if application flag argument is valid, else load default application flag
-     * @param flag optional flag
-     * @param flagArgument optional flag
+     * Load up the application store flags (store file and
+     * cache size) if user has indicated them
      */
-    private void loadOptionalApplicationFlag(String flag, String flagArgument) {
-        if ((isValidOptionalFlag(flag)) && (flag.equals(FLAG_A) || flag.equals(FLAG_APPLICATIONS))) {
-            flagApplications(flagArgument);
-        } else {
-            flagApplications(APPLICATIONS_FILEPATH_DEFAULT);
+    private void loadApplicantStoreFlags() {
+        applicantStoreFilePath = getOptionalFlagArgument(FLAG_D, FLAG_STORE);
+        String cacheSizeArgument = getOptionalFlagArgument(FLAG_C, FLAG_CACHE);
+        applicantCacheSize = APPLICANT_CACHE_SIZE_DEFAULT;
+        if (cacheSizeArgument != null) {
+            applicantCacheSize = -1;
+            try {
+                applicantCacheSize = Integer.parseInt(cacheSizeArgument);
+            } catch (java.lang.NumberFormatException e) {
+                // Handled below as an invalid cache size
+            }
+            if (applicantCacheSize < 0) {
+                System.out.printf("ERROR: %s is not a valid cache size.\n", cacheSizeArgument);
+                exitProgram();
+            }
+        }
+    }
+
+    /**
+     * Load up the batch mode flags (command, filter type and
+     * output file) if user has indicated them
+     */
+    private void loadBatchFlags() {
+        batchCommand = getOptionalFlagArgument(FLAG_E, FLAG_EXEC);
+        batchFilter = getOptionalFlagArgument(FLAG_B, FLAG_BY);
+        batchOutputFilePath = getOptionalFlagArgument(FLAG_O, FLAG_OUT);
+        if (batchCommand != null) {
+            IOHandler.redirectMessages();       // Scripts read the results apart from any warnings
         }
     }
 
+    /**
+     * Get the argument of a flag that has a short and a long form
+     * @param shortFlag short form of flag
+     * @param longFlag long form of flag
+     * @return argument that follows the flag, or null if flag is not given
+     */
+    private String getOptionalFlagArgument(String shortFlag, String longFlag) {
+        String flag = commandArgs.contains(shortFlag) ? shortFlag : longFlag;
+        if (!commandArgs.contains(flag)) {
+            return null;
+        }
+        if (!isValidIndex(getArgIndex(flag))) {
+            flagHelp();
+            exitProgram();
+        }
+        return getFlagArgument(flag);
+    }
+
     /**
      * Load default optional flags
      */
@@ -206,7 +323,8 @@ public class HRAssistant {
     }
 
     /**
-     * Initiates the Role flag which starts the respective role portals
+     * Initiates the Role flag which starts the respective role portals,
+     * or runs a single command for the role if the exec flag is given
      * @param flagArgument argument for role flag
      */
     private void flagRole(String flagArgument) {
@@ -215,16 +333,77 @@ public class HRAssistant {
         {
             case "applicant":
                 Applicant applicant = new Applicant(jobFilePath, applicationFilePath);
-                applicant.launchPortal();
+                if (batchCommand != null) {
+                    exitBatch(applicant.runBatch(batchCommand, batchOutputFilePath, batchSave));
+                } else {
+                    applicant.launchPortal();
+                }
                 break;
 
             case "hr":
                 HR hr = new HR(jobFilePath, applicationFilePath);
-                hr.launchPortal();
+                hr.setApplicantPrefetch(prefetchApplicants);
+                if (useParseCache) {
+                    hr.useParseCache();
+                }
+                if (followApplications) {
+                    hr.followApplicationFile();
+                }
+                if (applicantStoreFilePath != null) {
+                    hr.useApplicantStore(applicantStoreFilePath, applicantCacheSize);
+                }
+                if (batchCommand != null) {
+                    exitBatch(hr.runBatch(batchCommand, batchFilter, batchOutputFilePath, batchSave));
+                } else {
+                    hr.launchPortal();
+                }
                 break;
         }
     }
 
+    /**
+     * Initiates the Serve flag which starts the HTTP server
+     * @param flagArgument argument for serve flag (port)
+     */
+    private void flagServe(String flagArgument) {
+        int port = -1;
+        try {
+            port = Integer.parseInt(flagArgument);
+        } catch (java.lang.NumberFormatException e) {
+            // Handled below as an invalid port
+        }
+        if (port < 0 || port > MAX_PORT) {
+            System.out.printf("ERROR: %s is not a valid port.\n", flagArgument);
+            exitProgram();
+        }
+        JobBoard jobBoard = new JobBoard(jobFilePath, applicationFilePath);
+        if (applicantStoreFilePath != null) {
+            jobBoard.useApplicantStore(applicantStoreFilePath, applicantCacheSize);
+        }
+        if (useParseCache) {
+            jobBoard.useParseCache();
+        }
+        if (followApplications) {
+            jobBoard.followApplicationFile();
+        }
+        ApiServer server = new ApiServer(jobBoard, port);
+        try {
+            server.start();
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Exits the program after a batch command with a status
+     * code that scripts can check
+     * @param isSuccessful true if the batch command succeeded
+     */
+    private void exitBatch(boolean isSuccessful) {
+        System.exit(isSuccessful ? 0 : 1);
+    }
+
     /**
      * Initiates the Application flag which assigns the filepath 
      * for the CSV file containing application info
@@ -1,15 +1,30 @@
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.FileReader;
+import java.io.FilterInputStream;
 import java.io.FileWriter;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Class to handle input output of files
@@ -19,12 +34,30 @@ public class IOHandler {
     public final static String JOB_FILE_TYPE = "jobs";
     public final static String APPLICATION_FILE_TYPE = "applications";
     public final static String DATA_SAVE_FILEPATH = "save.ser";
-    private final String APPLICATION_HEADER = "createdAt,lastname,firstname,careerSummary,age,gender,highestDegree,COMP90041,COMP90038,COMP90007,INFO90002,salaryExpectations,availability\n";
-    private final String JOB_HEADER = "createdAt,title,description,degree,salary,startDate";
+    private final static Object APPEND_LOCK = new Object();
+    private static PrintStream resultStream = System.out;  // standard output for batch results
+
+    // Parsing Threads, shared by all files being read
+    private final static int BATCH_LINE_NO = 2048;
+    private final static int LINE_END_BUFFER_SIZE = 8192;
+    private final static int MAX_BATCHES_IN_FLIGHT = 4 * Runtime.getRuntime().availableProcessors();
+    final static ExecutorService PARSER_THREADS = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "csv-parser");
+        thread.setDaemon(true);     // Never keeps the program from exiting
+        return thread;
+    });
+
+    // Metrics Names
+    private final String METRICS_READ_FILE = "file.read.";
+    private final String METRICS_ROWS = "file.rows.";
+    private final String METRICS_INVALID_ROWS = "file.invalidRows.";
+    public final static String APPLICATION_HEADER = "createdAt,lastname,firstname,careerSummary,age,gender,highestDegree,COMP90041,COMP90038,COMP90007,INFO90002,salaryExpectations,availability\n";
+    public final static String JOB_HEADER = "createdAt,title,description,degree,salary,startDate\n";
+    public final static String MATCH_HEADER = "jobCreatedAt,title,description,degree,salary,startDate," + APPLICATION_HEADER;
 
     // Error Messages
-    private final String ERROR_READ_SAVE = "Unable to read object from save file.";
     private final String ERROR_WRITE = "Unable to write object to file: ";
+    private final String ERROR_WRITE_OUTPUT = "Unable to write to standard output.";
     private final String ERROR_READ = "Unable to read file: ";
     private final String ERROR_CREATE_FILE = "Unable to create new file: ";
     private final String ERROR_WELCOME_MESSAGE = "Welcome Message File not found.";
@@ -36,71 +69,314 @@ public class IOHandler {
     public IOHandler(){}
     
     /**
-     * Reads the CSV file
+     * Reads the CSV file, adding rows with too many
+     * data fields to the validation report
      * @param filePath file path
      * @param dataFieldNo number of data fields
      * @param fileType type of file (jobs or application)
+     * @param report validation report for the file
      * @return array of data strings
      * @throws IOHandlerException error during reading file
      */
-    public ArrayList<String[]> readFile(String filePath, int dataFieldNo, String fileType) throws IOHandlerException {
+    public ArrayList<String[]> readFile(String filePath, int dataFieldNo, String fileType, ValidationReport report) throws IOHandlerException {
         ArrayList<String[]> data = new ArrayList<String[]>();
+        readFile(filePath, dataFieldNo, fileType, report, (processedLine, lineNo) -> data.add(processedLine));
+        return data;
+    }
+
+    /**
+     * Reads the CSV file one row at a time, without keeping
+     * the rows, adding rows with too many data fields to
+     * the validation report. Lines are split into data fields
+     * a batch at a time by the parser threads, while the rows
+     * of earlier batches are handled in file order
+     * @param filePath file path
+     * @param dataFieldNo number of data fields
+     * @param fileType type of file (jobs or application)
+     * @param report validation report for the file
+     * @param rowHandler handler of each valid row
+     * @throws IOHandlerException error during reading file, or from the row handler
+     */
+    public void readFile(String filePath, int dataFieldNo, String fileType, ValidationReport report, RowHandler rowHandler) throws IOHandlerException {
+        readFile(filePath, dataFieldNo, fileType, report, rowHandler, new ReadProgress());
+    }
+
+    /**
+     * Reads the CSV file one row at a time from where an earlier
+     * read stopped, so that only rows appended since are read.
+     * Only the bytes in the file when reading starts are read,
+     * rows appended meanwhile are left for a later read
+     * @param filePath file path
+     * @param dataFieldNo number of data fields
+     * @param fileType type of file (jobs or application)
+     * @param report validation report for the file
+     * @param rowHandler handler of each valid row
+     * @param progress where the earlier read stopped, moved on to where this read stops
+     * @throws IOHandlerException error during reading file, or from the row handler
+     */
+    public void readFile(String filePath, int dataFieldNo, String fileType, ValidationReport report, RowHandler rowHandler,
+                         ReadProgress progress) throws IOHandlerException {
+        readFile(filePath, dataFieldNo, fileType, report, rowHandler, progress, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the CSV file one row at a time from where an earlier
+     * read stopped up to a position, so that rows past it are
+     * left for a later read
+     * @param filePath file path
+     * @param dataFieldNo number of data fields
+     * @param fileType type of file (jobs or application)
+     * @param report validation report for the file
+     * @param rowHandler handler of each valid row
+     * @param progress where the earlier read stopped, moved on to where this read stops
+     * @param endByteNo position to stop at, or the end of the file if sooner
+     * @throws IOHandlerException error during reading file, or from the row handler
+     */
+    public void readFile(String filePath, int dataFieldNo, String fileType, ValidationReport report, RowHandler rowHandler,
+                         ReadProgress progress, long endByteNo) throws IOHandlerException {
         String currentLine;
-        int lineNo = 1; // Start from Line 1
+        int startLineNo = progress.lineNo;
+        int startValidLineNo = progress.validLineNo;
+        long startTime = Metrics.start();
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
         try {
             File file = new File(filePath);
             file.createNewFile(); //creates new file if not avail.
-            BufferedReader csvReader = new BufferedReader(new FileReader(file));
-            csvReader.readLine(); // Reads the File Header
-            while ((currentLine = csvReader.readLine()) != null) {
-                try {
-                    data.add(processLine(currentLine, dataFieldNo, lineNo, fileType));
-                    lineNo += 1;
-                } catch (InvalidDataFormatException e) {
-                    System.out.println(e.getMessage());
-                    lineNo += 1;
+            FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            try {
+                endByteNo = Math.max(progress.byteNo, Math.min(endByteNo, fileChannel.size()));
+                boolean isAtLineStart = endByteNo == 0 || isLineBreak(fileChannel, endByteNo - 1);
+                fileChannel.position(progress.byteNo);
+                BufferedReader csvReader = new BufferedReader(new InputStreamReader(
+                        new LimitedInputStream(Channels.newInputStream(fileChannel), endByteNo - progress.byteNo)));
+                if (progress.byteNo == 0) {
+                    csvReader.readLine(); // Reads the File Header
                 }
+                CompletableFuture<Void> handled = CompletableFuture.completedFuture(null);
+                ArrayDeque<CompletableFuture<Void>> batchesInFlight = new ArrayDeque<CompletableFuture<Void>>();
+                ArrayList<String> batch = new ArrayList<String>(BATCH_LINE_NO);
+                while ((currentLine = csvReader.readLine()) != null) {
+                    batch.add(currentLine);
+                    if (batch.size() == BATCH_LINE_NO) {
+                        handled = handleBatch(handled, batch, dataFieldNo, report, rowHandler, progress);
+                        batchesInFlight.add(handled);
+                        batch = new ArrayList<String>(BATCH_LINE_NO);
+                        if (batchesInFlight.size() > MAX_BATCHES_IN_FLIGHT) {
+                            // Reading waits for the oldest batch, so the file is never held whole
+                            batchesInFlight.poll().join();
+                        }
+                    }
+                }
+                handleBatch(handled, batch, dataFieldNo, report, rowHandler, progress).join();
+                progress.byteNo = endByteNo;
+                progress.isAtLineStart = isAtLineStart;
+            } finally {
+                fileChannel.close();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOHandlerException) {
+                throw (IOHandlerException) e.getCause();
             }
-            csvReader.close();
-        }  catch (Exception e) {
+            throw new IOHandlerException(ERROR_READ + filePath);
+        } catch (Exception e) {
             throw new IOHandlerException(ERROR_READ + filePath);
         } 
-        return data;
+        report.setRowNo(progress.lineNo - 1);
+        int rowNo = progress.lineNo - startLineNo;
+        int invalidLineNo = rowNo - (progress.validLineNo - startValidLineNo);
+        event.end();
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.fileType = fileType;
+            event.rowNo = rowNo;
+            event.invalidLineNo = invalidLineNo;
+            event.byteNo = new File(filePath).length();
+            event.commit();
+        }
+        Metrics.stop(METRICS_READ_FILE + fileType, startTime);
+        Metrics.add(METRICS_ROWS + fileType, rowNo);
+        Metrics.add(METRICS_INVALID_ROWS + fileType, invalidLineNo);
     }
 
     /**
-     * Process string for any commas within quotes when reading CSV
-     * @param currentLine current line
+     * Checks if a byte of a file is a line break
+     * @param fileChannel channel of the file
+     * @param byteNo position of the byte
+     * @return true if a line break
+     * @throws IOException error during reading the file
+     */
+    private boolean isLineBreak(FileChannel fileChannel, long byteNo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        fileChannel.read(buffer, byteNo);
+        return buffer.get(0) == '\n';
+    }
+
+    /**
+     * Splits a batch of lines on a parser thread, then handles its
+     * rows once the rows of the batches before it are handled
+     * @param previousBatch handling of the previous batch
+     * @param batch lines of the batch
      * @param dataFieldNo number of data fields
-     * @param lineNo line it is reading from
-     * @param fileType type of file (job or application)
-     * @throws InvalidDataFormatException invalid data no per row
-     * @return array of data strings
+     * @param report validation report for the file
+     * @param rowHandler handler of each valid row
+     * @param progress lines handled so far
+     * @return handling of the batch
      */
-    private String[] processLine(String currentLine, int dataFieldNo, int lineNo, String fileType) throws InvalidDataFormatException {
-        String[] processedLine;
-        StringBuilder stringBuilder = new StringBuilder();
-        currentLine = currentLine.replaceAll(",\"", "<QUOTES><SENTENCE>");  // Mark the start of strings that have commas within
-        currentLine = currentLine.replaceAll("\",", "<SENTENCE><QUOTES>");  // Mark the end of strings that have commas within
-        processedLine = currentLine.split("<QUOTES>");                                  // Split strings that have quotes from those without                                           
-        for (String line : processedLine) {
-            if (line.contains("<SENTENCE>")) {
-                // Process strings that have commas within the sentence
-                line = line.replaceAll("<SENTENCE>", "<SPLIT>");      
-                line = line.replaceAll("\"", "<SPLIT>");
-                stringBuilder.append(line);
-            } else {
-                // Process strings without any commas within the sentence
-                line = line.replaceAll(",", "<SPLIT>");
-                stringBuilder.append(line);
+    private CompletableFuture<Void> handleBatch(CompletableFuture<Void> previousBatch, ArrayList<String> batch, int dataFieldNo,
+                                                ValidationReport report, RowHandler rowHandler, ReadProgress progress) {
+        CompletableFuture<String[][]> splitBatch = CompletableFuture.supplyAsync(() -> {
+            String[][] processedLines = new String[batch.size()][];
+            for (int i = 0; i < processedLines.length; i++) {
+                processedLines[i] = processLine(batch.get(i));
+            }
+            return processedLines;
+        }, PARSER_THREADS);
+        return previousBatch.thenCombine(splitBatch, (ignored, processedLines) -> {
+            try {
+                for (String[] processedLine : processedLines) {
+                    if (processedLine.length <= dataFieldNo) {
+                        progress.validLineNo += 1;
+                        rowHandler.handle(processedLine, progress.lineNo);
+                    } else {
+                        report.add(ValidationReport.INVALID_DATA_FORMAT, progress.lineNo);
+                    }
+                    progress.lineNo += 1;
+                }
+            } catch (IOHandlerException e) {
+                throw new CompletionException(e);
             }
+            return null;
+        });
+    }
+
+    /**
+     * Where a read of a file stopped, so that a later read can carry
+     * on from it. Only used by one batch of a read at a time
+     */
+    public static class ReadProgress {
+        private long byteNo = 0;        // Start from the File Header
+        private int lineNo = 1;         // Start from Line 1
+        private int validLineNo = 0;
+        private boolean isAtLineStart = true;
+
+        /**
+         * ReadProgress constructor, for a file not read yet
+         */
+        public ReadProgress(){}
+
+        /**
+         * ReadProgress constructor, for a file read up to a line
+         * @param byteNo position of the line in the file
+         * @param lineNo number of the line
+         * @param validLineNo number of rows with a valid data format before the line
+         */
+        public ReadProgress(long byteNo, int lineNo, int validLineNo) {
+            this.byteNo = byteNo;
+            this.lineNo = lineNo;
+            this.validLineNo = validLineNo;
         }
-        processedLine = stringBuilder.toString().split("<SPLIT>");
-        if (processedLine.length <= dataFieldNo) {
-            return processedLine; 
-        } else {
-            throw new InvalidDataFormatException(String.format("WARNING: invalid data format in %s file in line %d", fileType, lineNo));
+
+        /**
+         * Gets number of bytes read
+         * @return number of bytes
+         */
+        public long getByteNo() {
+            return byteNo;
+        }
+
+        /**
+         * Gets number of the next line to read
+         * @return line number
+         */
+        public int getLineNo() {
+            return lineNo;
+        }
+
+        /**
+         * Gets number of rows read with a valid data format
+         * @return number of rows
+         */
+        public int getValidLineNo() {
+            return validLineNo;
+        }
+
+        /**
+         * Checks if the read stopped at the start of a line, which is
+         * not so if the file's last line has no line break yet
+         * @return true if at the start of a line
+         */
+        public boolean isAtLineStart() {
+            return isAtLineStart;
+        }
+    }
+
+    /**
+     * An input stream that stops after a number of bytes
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remainingByteNo;
+
+        /**
+         * LimitedInputStream constructor
+         * @param inputStream input stream
+         * @param byteNo number of bytes to read
+         */
+        private LimitedInputStream(InputStream inputStream, long byteNo) {
+            super(inputStream);
+            this.remainingByteNo = Math.max(byteNo, 0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remainingByteNo == 0) {
+                return -1;
+            }
+            int value = super.read();
+            if (value != -1) {
+                remainingByteNo -= 1;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (remainingByteNo == 0) {
+                return -1;
+            }
+            int readNo = super.read(bytes, offset, (int) Math.min(length, remainingByteNo));
+            if (readNo > 0) {
+                remainingByteNo -= readNo;
+            }
+            return readNo;
         }
+
+        @Override
+        public long skip(long byteNo) throws IOException {
+            long skippedNo = super.skip(Math.min(byteNo, remainingByteNo));
+            remainingByteNo -= skippedNo;
+            return skippedNo;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remainingByteNo);
+        }
+    }
+
+    /**
+     * An interface that handles the rows of a CSV file as they are read
+     */
+    public interface RowHandler {
+
+        /**
+         * Handles a row
+         * @param processedLine data fields of the row
+         * @param lineNo line number of the row, counting every row after the header as
+         *               the report does for rows with an invalid data format
+         * @throws IOHandlerException error during handling the row
+         */
+        void handle(String[] processedLine, int lineNo) throws IOHandlerException;
     }
 
     /**
@@ -130,44 +406,108 @@ public class IOHandler {
     }
 
     /**
-     * Saves state of program
-     * @param obj object
-     * @throws IOHandlerException error during saving data to save file
+     * Appends text to the end of a file, holding a lock on the file
+     * so that lines written by other processes are not mixed in
+     * @param filePath file path
+     * @param text text to append
+     * @return position in the file the text was written at
+     * @throws IOHandlerException error during writing to the file
      */
-    public void saveData(Object obj) throws IOHandlerException {
-        writeObject(obj, DATA_SAVE_FILEPATH);
+    public long appendToFile(String filePath, String text) throws IOHandlerException {
+        synchronized (APPEND_LOCK) {
+            // A process may only hold one lock on a file, so threads take turns first
+            try {
+                FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                FileLock fileLock = fileChannel.lock();
+                long byteNo = fileChannel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
+                }
+                fileLock.release();
+                fileChannel.close();
+                return byteNo;
+            } catch (Exception e) {
+                throw new IOHandlerException(ERROR_WRITE + filePath);
+            }
+        }
     }
 
     /**
-     * Reads saved file
-     * @return list of read objects
-     * @throws IOHandlerException error during reading save file
+     * Gets the end of the last full line of a file, leaving out
+     * a last line that is still being written
+     * @param filePath file path
+     * @param startByteNo position to look back to
+     * @return position after the last line break, or the start position if there is none after it
+     * @throws IOHandlerException error during reading the file
      */
-    public ArrayList<?> readSave() throws IOHandlerException {
-            try {
-                ObjectInputStream input = new ObjectInputStream(new FileInputStream(DATA_SAVE_FILEPATH));
-                ArrayList<?> objectList = (ArrayList<?>) input.readObject();                                // Any type to avoid java compiler warning when typecasting
-                input.close();
-             return objectList;
-            } catch (Exception e) {
-                throw new IOHandlerException(ERROR_READ_SAVE);
+    public long getLastLineEnd(String filePath, long startByteNo) throws IOHandlerException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(LINE_END_BUFFER_SIZE);
+            long blockEnd = fileChannel.size();
+            while (blockEnd > startByteNo) {
+                long blockStart = Math.max(startByteNo, blockEnd - LINE_END_BUFFER_SIZE);
+                buffer.clear();
+                buffer.limit((int) (blockEnd - blockStart));
+                while (buffer.hasRemaining() && fileChannel.read(buffer, blockStart + buffer.position()) >= 0) {
+                    // Reads the whole block
+                }
+                for (int i = buffer.position() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        return blockStart + i + 1;
+                    }
+                }
+                blockEnd = blockStart;
             }
+            return startByteNo;
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_READ + filePath);
+        }
     }
 
     /**
-     * Write object to a file
-     * @param obj object
-     * @param filepath filepath
-     * @throws IOHandlerException error during writing to a file
+     * Sends messages, such as load warnings and errors, to standard error
+     * from now on, so that batch results written to standard output are
+     * only the CSV rows
      */
-    private void writeObject(Object obj, String filePath) throws IOHandlerException {
+    public static void redirectMessages() {
+        resultStream = System.out;
+        System.setOut(System.err);
+    }
+
+    /**
+     * Opens a buffered writer for batch output
+     * @param filePath output file path, or null to write to standard output
+     * @return writer
+     * @throws IOHandlerException error during opening the output file
+     */
+    public PrintWriter openOutput(String filePath) throws IOHandlerException {
+        if (filePath == null) {
+            return new PrintWriter(new BufferedWriter(new OutputStreamWriter(resultStream)));
+        }
         try {
-            ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(filePath,false));
-            output.writeObject(obj);
-            output.close();
+            return new PrintWriter(new BufferedWriter(new FileWriter(filePath, false)));
         } catch (Exception e) {
             throw new IOHandlerException(ERROR_WRITE + filePath);
-        } 
+        }
+    }
+
+    /**
+     * Flushes a writer opened for batch output, closing it if it
+     * writes to a file, and checks that every write went through
+     * @param writer writer
+     * @param filePath output file path, or null if writing to standard output
+     * @throws IOHandlerException error during writing the output
+     */
+    public void closeOutput(PrintWriter writer, String filePath) throws IOHandlerException {
+        writer.flush();
+        if (filePath != null) {
+            writer.close();
+        }
+        // PrintWriter and PrintStream keep write errors to themselves until asked
+        if (writer.checkError() || (filePath == null && resultStream.checkError())) {
+            throw new IOHandlerException(filePath == null ? ERROR_WRITE_OUTPUT : ERROR_WRITE + filePath);
+        }
     }
 
     /**
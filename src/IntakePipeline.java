@@ -0,0 +1,360 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class that takes in submitted applications through a pipeline of
+ * stages (validate, persist, index, then match), each running on its own threads
+ * and passing applications on through a bounded queue. When a stage falls
+ * behind, the stage before it waits for room, back to the submitter, so a
+ * burst of submissions is held up at the start instead of piling up in
+ * memory. Applications are validated on several threads, so they may be
+ * persisted in a different order than submitted, and are persisted on one
+ * thread a group at a time, so a burst is appended in a few writes
+ */
+public class IntakePipeline {
+
+    private final JobBoard jobBoard;
+    private final Runnable onPersisted;
+    private final SubmissionPublisher<Intake> intakePublisher;
+    private final Stage lastStage;
+
+    // Pipeline Constants
+    private final static int STAGE_CAPACITY = 256;              // applications queued for each stage
+    private final static int PERSIST_GROUP_NO = 256;            // most applications appended in one write
+    private final static int VALIDATE_THREAD_NO = Runtime.getRuntime().availableProcessors();
+    private final static String STAGE_VALIDATE = "validate";
+    private final static String STAGE_PERSIST = "persist";
+    private final static String STAGE_INDEX = "index";
+    private final static String STAGE_MATCH = "match";
+    private final static ExecutorService DELIVERY_THREADS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "intake-delivery");
+        thread.setDaemon(true);     // Never keeps the program from exiting
+        return thread;
+    });
+
+    // Metrics Names
+    private final static String METRICS_STAGE_PREFIX = "intake.";
+
+    /**
+     * IntakePipeline constructor, starting the stages
+     * @param jobBoard shared jobs and applicants
+     * @param onPersisted called after each group of applications is persisted, such as to schedule a save
+     */
+    public IntakePipeline(JobBoard jobBoard, Runnable onPersisted) {
+        this.jobBoard = jobBoard;
+        this.onPersisted = onPersisted;
+        this.intakePublisher = new SubmissionPublisher<Intake>(DELIVERY_THREADS, STAGE_CAPACITY);
+        Stage validateStage = new Stage(STAGE_VALIDATE, VALIDATE_THREAD_NO, 1, this::validate);
+        Stage persistStage = new Stage(STAGE_PERSIST, 1, PERSIST_GROUP_NO, this::persist);
+        Stage indexStage = new Stage(STAGE_INDEX, 1, PERSIST_GROUP_NO, this::index);
+        this.lastStage = new Stage(STAGE_MATCH, 1, PERSIST_GROUP_NO, this::match);
+        intakePublisher.subscribe(validateStage);
+        validateStage.subscribe(persistStage);
+        persistStage.subscribe(indexStage);
+        indexStage.subscribe(lastStage);
+    }
+
+    /**
+     * Submits applications given as JSONL, one application per line with
+     * optionally the jobs it applies for, waiting while the pipeline is full
+     * @param batch batch the applications are validated for
+     * @param lines lines of JSONL, the first being line 1
+     * @param jobList jobs as numbered when listed, the first being job 1
+     * @return intakes of the lines that are not blank, in the order given, each completed once
+     *         its application is matched or found invalid, or exceptionally if it could not be persisted
+     */
+    public ArrayList<CompletableFuture<Intake>> submit(ApplicationBatch batch, List<String> lines, List<Job> jobList) {
+        ArrayList<CompletableFuture<Intake>> intakes = new ArrayList<CompletableFuture<Intake>>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).trim().isEmpty()) {
+                continue;
+            }
+            Intake intake = new Intake(batch, lines.get(i), i + 1, jobList);
+            intakes.add(intake.completion);
+            intakePublisher.submit(intake);     // Waits for room in the first stage
+        }
+        return intakes;
+    }
+
+    /**
+     * Stops taking in applications and waits until
+     * those already submitted are through the pipeline
+     */
+    public void close() {
+        intakePublisher.close();
+        lastStage.closed.join();
+    }
+
+    /**
+     * Validates applications
+     * @param group applications
+     */
+    private void validate(List<Intake> group) {
+        for (Intake intake : group) {
+            intake.submission = intake.batch.validateLine(intake.line, intake.lineNo, intake.jobList, intake.report);
+        }
+    }
+
+    /**
+     * Appends valid applications to the applications file in one write and
+     * records their applications to jobs for the next save
+     * @param group applications
+     * @throws IOHandlerException error during writing to the applications file
+     */
+    private void persist(List<Intake> group) throws IOHandlerException {
+        ArrayList<Intake> validIntakes = new ArrayList<Intake>(group.size());
+        ArrayList<ApplicationBatch.Submission> submissions = new ArrayList<ApplicationBatch.Submission>(group.size());
+        for (Intake intake : group) {
+            if (intake.submission != null) {
+                validIntakes.add(intake);
+                submissions.add(intake.submission);
+            }
+        }
+        if (submissions.isEmpty()) {
+            return;
+        }
+        int[] applicantNos = jobBoard.addSubmissions(submissions);
+        for (int i = 0; i < applicantNos.length; i++) {
+            validIntakes.get(i).applicantNo = applicantNos[i];
+        }
+        onPersisted.run();
+    }
+
+    /**
+     * Indexes the career summaries of persisted applications, so that
+     * candidate searches find them without indexing them first
+     * @param group applications
+     */
+    private void index(List<Intake> group) {
+        for (Intake intake : group) {
+            if (intake.submission != null) {
+                // Indexes every applicant added since, including this group
+                jobBoard.indexApplicants();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares valid applications with the top candidates of the jobs they
+     * apply for, so that matching only has the jobs to go over, then
+     * completes the applications
+     * @param group applications
+     */
+    private void match(List<Intake> group) {
+        for (Intake intake : group) {
+            if (intake.submission != null) {
+                for (Job job : intake.submission.getJobList()) {
+                    job.getMatch().update(job);
+                }
+            }
+            intake.completion.complete(intake);
+        }
+    }
+
+    /**
+     * A submitted application on its way through the pipeline
+     */
+    public static class Intake {
+        private final ApplicationBatch batch;
+        private final String line;
+        private final int lineNo;
+        private final List<Job> jobList;
+        private final ValidationReport report;
+        private final CompletableFuture<Intake> completion;
+        private ApplicationBatch.Submission submission;     // Set once valid
+        private int applicantNo;                            // Set once persisted
+
+        /**
+         * Intake constructor
+         * @param batch batch the application is validated for
+         * @param line line of JSON
+         * @param lineNo line number
+         * @param jobList jobs as numbered when listed
+         */
+        private Intake(ApplicationBatch batch, String line, int lineNo, List<Job> jobList) {
+            this.batch = batch;
+            this.line = line;
+            this.lineNo = lineNo;
+            this.jobList = jobList;
+            this.report = new ValidationReport(null, IOHandler.APPLICATION_FILE_TYPE);
+            this.completion = new CompletableFuture<Intake>();
+        }
+
+        /**
+         * Gets the invalid fields found in the application
+         * @return validation report of the line
+         */
+        public ValidationReport getReport() {
+            return report;
+        }
+
+        /**
+         * Gets the application with the jobs it applies for
+         * @return submission, or null if invalid
+         */
+        public ApplicationBatch.Submission getSubmission() {
+            return submission;
+        }
+
+        /**
+         * Gets the applicant number given when persisted
+         * @return applicant number, starting from 1
+         */
+        public int getApplicantNo() {
+            return applicantNo;
+        }
+    }
+
+    /**
+     * The work of a stage, done for a group of applications
+     */
+    private interface StageHandler {
+
+        /**
+         * Handles a group of applications, in the order received
+         * @param group applications, each with its submission if valid
+         * @throws IOHandlerException error during handling the group, failing each of its applications
+         */
+        void handle(List<Intake> group) throws IOHandlerException;
+    }
+
+    /**
+     * A stage of the pipeline, which asks the stage before it for no more
+     * applications than it has room for, handles them a group at a time on
+     * its own threads, and publishes them to the next stage, waiting while
+     * the next stage has no room
+     */
+    private static class Stage extends SubmissionPublisher<Intake> implements Flow.Processor<Intake, Intake> {
+        private final String metricsName;
+        private final int maxGroupNo;
+        private final StageHandler handler;
+        private final ArrayBlockingQueue<Intake> queue = new ArrayBlockingQueue<Intake>(STAGE_CAPACITY);
+        private final AtomicInteger inStageNo = new AtomicInteger(0);     // received but not passed on yet
+        private final ArrayList<Thread> threads = new ArrayList<Thread>();
+        private final CompletableFuture<Void> closed = new CompletableFuture<Void>();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean isUpstreamComplete;
+
+        /**
+         * Stage constructor, starting its threads
+         * @param name name of the stage
+         * @param threadNo number of groups handled at once
+         * @param maxGroupNo most applications handled as one group
+         * @param handler work of the stage
+         */
+        private Stage(String name, int threadNo, int maxGroupNo, StageHandler handler) {
+            super(DELIVERY_THREADS, STAGE_CAPACITY);
+            this.metricsName = METRICS_STAGE_PREFIX + name;
+            this.maxGroupNo = maxGroupNo;
+            this.handler = handler;
+            for (int i = 0; i < threadNo; i++) {
+                Thread thread = new Thread(this::work, "intake-" + name);
+                thread.setDaemon(true);     // Never keeps the program from exiting
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        /**
+         * Asks the stage before for as many applications as the stage has room for
+         * @param subscription subscription to the stage before
+         */
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(STAGE_CAPACITY);
+        }
+
+        /**
+         * Queues an application received from the stage before
+         * @param intake application
+         */
+        @Override
+        public void onNext(Intake intake) {
+            inStageNo.incrementAndGet();
+            queue.add(intake);      // Never full, as no more than its capacity is requested
+        }
+
+        /**
+         * Closes the stage when the stage before fails
+         * @param throwable failure of the stage before
+         */
+        @Override
+        public void onError(Throwable throwable) {
+            closeExceptionally(throwable);
+            stop();
+        }
+
+        /**
+         * Closes the stage once the applications received are passed on,
+         * as the stage before has no more
+         */
+        @Override
+        public void onComplete() {
+            isUpstreamComplete = true;
+            closeIfDrained();
+        }
+
+        /**
+         * Handles groups of applications until the stage is closed
+         */
+        private void work() {
+            ArrayList<Intake> group = new ArrayList<Intake>(maxGroupNo);
+            while (!isClosed()) {
+                try {
+                    group.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Applications that queued up while the last group was handled go together
+                queue.drainTo(group, maxGroupNo - 1);
+                long startTime = Metrics.start();
+                try {
+                    handler.handle(group);
+                    Metrics.stop(metricsName, startTime);
+                    for (Intake intake : group) {
+                        submit(intake);     // Waits for room in the next stage
+                    }
+                } catch (IOHandlerException | RuntimeException e) {
+                    for (Intake intake : group) {
+                        intake.completion.completeExceptionally(e);
+                    }
+                }
+                subscription.request(group.size());
+                if (inStageNo.addAndGet(-group.size()) == 0) {
+                    closeIfDrained();
+                }
+                group.clear();
+            }
+        }
+
+        /**
+         * Closes the stage once the stage before it is closed
+         * and every application received is passed on
+         */
+        private synchronized void closeIfDrained() {
+            if (isUpstreamComplete && inStageNo.get() == 0 && !isClosed()) {
+                close();
+                stop();
+            }
+        }
+
+        /**
+         * Stops the stage's threads
+         */
+        private void stop() {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            closed.complete(null);
+        }
+    }
+}
@@ -1,4 +1,5 @@
-import java.io.File;
+import java.util.HashMap;
+import java.util.Scanner;
 
 /**
  * An abstract class that represents roles that are interactive (requires user input etc.), which includes
@@ -7,6 +8,19 @@ import java.io.File;
 public abstract class InteractiveRole {
     
     protected final String CSV_DELIMITER = ",";
+    private final String COMMAND_ARGUMENT_DELIMITER = " ";
+    private final String METRICS_COMMAND_PREFIX = "command.";
+    private final String METRICS_INVALID_COMMAND = "command.invalid";
+    protected final String METRICS_STARTUP = "startup";
+
+    // Keyboard Input
+    protected Scanner keyboard;
+    protected String input;
+
+    // Command Registry
+    private HashMap<String, Command> commandRegistry = new HashMap<String, Command>();
+    private Command quitCommand;
+    private boolean isRunning;
 
     // Menu Command Constants
     protected final String PROMPT_TEXT = "> ";
@@ -28,16 +42,122 @@ public abstract class InteractiveRole {
 
 
     /**
-     * Check if there are saved files
-     * @return true if has saved file
+     * Prints the role's status and menu instructions
      */
-    protected boolean hasSavedFile() {
-        File saveFile = new File(IOHandler.DATA_SAVE_FILEPATH);
-        if (saveFile.exists()) {
-            return true;
-        } else {
+    protected abstract void printStatus();
+
+    /**
+     * Registers a menu command under one or more names, timed and
+     * recorded as a flight recorder event under the first name
+     * @param command command to run
+     * @param names names the user can enter to run the command
+     */
+    protected void registerCommand(Command command, String... names) {
+        String metricsName = METRICS_COMMAND_PREFIX + names[0];
+        String roleName = getClass().getSimpleName();
+        Command timedCommand = argument -> {
+            long startTime = Metrics.start();
+            CommandEvent event = new CommandEvent();
+            event.begin();
+            command.execute(argument);
+            event.end();
+            if (event.shouldCommit()) {
+                event.role = roleName;
+                event.command = names[0];
+                event.argument = argument;
+                event.commit();
+            }
+            Metrics.stop(metricsName, startTime);
+        };
+        for (String name : names) {
+            commandRegistry.put(name, timedCommand);
+        }
+    }
+
+    /**
+     * Registers the command that ends the menu, which is also
+     * run when there is no more input to read
+     * @param command command to run before the menu ends
+     * @param names names the user can enter to run the command
+     */
+    protected void registerQuitCommand(Command command, String... names) {
+        this.quitCommand = command;
+        registerCommand(argument -> {
+            command.execute(argument);
+            isRunning = false;
+        }, names);
+    }
+
+    /**
+     * Reads and runs menu commands in a loop until the quit command
+     * is entered or the input ends, so that any number of commands
+     * can be entered (or piped in) without the call stack growing
+     */
+    protected void runMenu() {
+        isRunning = true;
+        System.out.print(PROMPT_TEXT);
+        while (isRunning) {
+            if (!keyboard.hasNextLine()) {
+                // End of input is treated as quitting the program
+                quitCommand.execute("");
+                break;
+            }
+            this.input = keyboardInput();
+            if (dispatchCommand(input) && isRunning) {
+                printStatus();
+            }
+            if (isRunning) {
+                System.out.print(PROMPT_TEXT);
+            }
+        }
+    }
+
+    /**
+     * Looks up a command by the name entered and runs it
+     * @param commandInput name of the command, optionally followed by an argument
+     * @return true if a valid command was run
+     */
+    protected boolean dispatchCommand(String commandInput) {
+        String argument = "";
+        Command command = commandRegistry.get(commandInput);
+        if (command == null) {
+            // Split the command name from its argument
+            int delimiterIndex = commandInput.indexOf(COMMAND_ARGUMENT_DELIMITER);
+            if (delimiterIndex > 0) {
+                command = commandRegistry.get(commandInput.substring(0, delimiterIndex));
+                argument = commandInput.substring(delimiterIndex + 1).trim();
+            }
+        }
+        if (command == null) {
+            Metrics.increment(METRICS_INVALID_COMMAND);
+            printInvalidCommand();
             return false;
         }
+        command.execute(argument);
+        return true;
+    }
+
+    /**
+     * Gets user's keyboard input
+     * @return user input
+     */
+    protected String keyboardInput() {
+        return keyboard.nextLine();
+    }
+
+    /**
+     * Closes the scanner
+     */
+    protected void closeInput() {
+        keyboard.close();
+    }
+
+    /**
+     * Prints output when invalid
+     * command is given
+     */
+    protected void printInvalidCommand() {
+        System.out.println(MENU_INVALID_COMMAND);
     }
 
     /**
@@ -1,8 +1,6 @@
 import java.io.Serializable;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,34 +8,38 @@ import java.util.Objects;
  */
 public class Job implements Serializable{
 
+    private final static long serialVersionUID = 1L;
+
     // Job Information
     private long createdAt;
     private String title;
     private String description;
     private String degree;
     private int salary;
-    private LocalDate startDate;
+    private int startDate = EpochDay.NONE;     // Epoch day
 
     // Job Data Lists
-    private String[] jobData;
-    private ArrayList<String[]> receivedApplications;
+    private transient String[] jobData;         // Only set while loading
+    private final AppendOnlyList<Application> receivedApplications = new AppendOnlyList<Application>();    // Safe to read while applications are added
     private int lineNo;
+    private transient ValidationReport report;     // Only set while loading
+    private transient volatile Matchmaker.JobMatch match;     // Top candidate so far, replaced when details change
 
     // Index Constants for CSV File
-    private final int CREATED_AT_INDEX = 0;
-    private final int TITLE_INDEX = 1;
-    private final int DESCRIPTION_INDEX = 2;
-    private final int DEGREE_INDEX = 3;
-    private final int SALARY_INDEX = 4;
-    private final int START_DATE_INDEX = 5;
+    private final static int CREATED_AT_INDEX = 0;
+    private final static int TITLE_INDEX = 1;
+    private final static int DESCRIPTION_INDEX = 2;
+    private final static int DEGREE_INDEX = 3;
+    private final static int SALARY_INDEX = 4;
+    private final static int START_DATE_INDEX = 5;
 
     // Warning Messages
-    private final String WARNING_CHARACTERISTICS = "WARNING: invalid characteristic in jobs file in line ";
-    private final String WARNING_NUMBER = "WARNING: invalid number format in jobs file in line ";
-    private final String WARNING_MANDATORY = "WARNING: invalid mandatory data field in line ";
+    private final static String WARNING_CHARACTERISTICS = "WARNING: invalid characteristic in jobs file in line ";
+    private final static String WARNING_NUMBER = "WARNING: invalid number format in jobs file in line ";
+    private final static String WARNING_MANDATORY = "WARNING: invalid mandatory data field in line ";
 
     public final static int DATA_FIELD_NO = 6;  // Valid Number of Fields per line in CSV
-    private final String EMPTY_FIELD = "n/a";
+    private final static String EMPTY_FIELD = "n/a";
 
     /**
      * Job default constructor
@@ -52,103 +54,121 @@ public class Job implements Serializable{
      * @throws InvalidMandatoryDataException invalid mandatory data
      */
     public Job(String[] jobData, int lineNo) throws InvalidMandatoryDataException {
+        this(jobData, lineNo, null);
+        String warning = loadJobData();
+        this.jobData = null;
+        if (warning != null) {
+            throw new InvalidMandatoryDataException(warning);
+        }
+    }
+
+    /**
+     * Job constructor that keeps the data fields
+     * without loading them
+     * @param jobData contains job data fields
+     * @param lineNo the line number relative to csv file
+     * @param report validation report, or null to print warnings
+     */
+    private Job(String[] jobData, int lineNo, ValidationReport report) {
         this.jobData = jobData;
         this.lineNo = lineNo;
-        this.receivedApplications = new ArrayList<String[]>();
-        loadJobData();
+        this.report = report;
+    }
+
+    /**
+     * Loads a job when reading the jobs csv file, adding
+     * invalid fields to a report instead of printing them
+     * @param jobData contains job data fields
+     * @param lineNo the line number relative to csv file
+     * @param report validation report
+     * @return job, or null if a mandatory data field is invalid
+     */
+    public static Job load(String[] jobData, int lineNo, ValidationReport report) {
+        Job job = new Job(jobData, lineNo, report);
+        if (job.loadJobData() != null) {
+            report.add(ValidationReport.INVALID_MANDATORY, lineNo);
+            return null;
+        }
+        job.jobData = null;
+        job.report = null;
+        return job;
     }
 
     /**
      * Saves applications (applicants who applied)
-     * @param applicationData application data
+     * @param applicationData application data in CSV format
      */
     public void saveApplication(String applicationData) {
         IOHandler ioHandler = new IOHandler();
-        try
-        {
-            this.receivedApplications.add(ioHandler.processLine(applicationData));      
-        } catch (Exception e) {
-            this.receivedApplications = new ArrayList<String[]>();
-            this.receivedApplications.add(ioHandler.processLine(applicationData)); 
-        }
+        this.receivedApplications.add(new Application(ioHandler.processLine(applicationData)));
     }
-    
-    /**
-     * Loads the job data
-     * @throws InvalidMandatoryDataException invalid mandatory field
-     */
-    private void loadJobData() throws InvalidMandatoryDataException {
-        try {
-            loadMandatoryData();
-            loadOptionalData();
-        } catch (InvalidMandatoryDataException e) {
-            throw new InvalidMandatoryDataException(e.getMessage());
-        } catch (NumberFormatException e) {
-            System.out.println(e.getMessage());
-        } catch (InvalidCharacteristicException e) {
-            System.out.println(e.getMessage());
-        }
 
+    /**
+     * Saves applications (applicants who applied)
+     * @param application application
+     */
+    public void saveApplication(Application application) {
+        this.receivedApplications.add(application);
     }
-
+    
     /**
-     * Loads mandatory data fields and handles any number format errors
-     * @throws InvalidMandatoryDataException invalid mandatory data
+     * Loads the job data, stopping at the first
+     * invalid optional field
+     * @return warning if a mandatory field is invalid, else null
      */
-    private void loadMandatoryData() throws InvalidMandatoryDataException  {
-            try {
-                loadTitle();
-                loadStartDate();
-            } catch (NumberFormatException e) {
-                // Prioritize Number Format Exception's message
-                throw new InvalidMandatoryDataException(e.getMessage());
-            } catch (InvalidMandatoryDataException e) {
-                throw new InvalidMandatoryDataException(e.getMessage());
+    private String loadJobData() {
+        FieldParser parser = FieldParser.get();
+        if (!loadTitle()) {
+            return WARNING_MANDATORY + lineNo;
+        }
+        if (!loadStartDate(parser)) {
+            return WARNING_NUMBER + lineNo;
+        }
+        if (!loadCreatedAt(parser)) {
+            reportInvalidField(ValidationReport.INVALID_NUMBER, WARNING_NUMBER);
+        } else {
+            loadDescription();
+            if (!loadDegree() || !loadSalary(parser)) {
+                reportInvalidField(ValidationReport.INVALID_CHARACTERISTIC, WARNING_CHARACTERISTICS);
             }
+        }
+        return null;
     }
 
-
     /**
-     * Loads optional data fields and handles any number format or characteristics errors
-     * @throws InvalidCharacteristicException invalid characteristic values
-     * @throws NumberFormatException invalid number format
+     * Adds an invalid field to the validation report,
+     * or prints its warning if there is no report
+     * @param errorType type of error
+     * @param warning warning message, without the line number
      */
-    private void loadOptionalData() throws NumberFormatException, InvalidCharacteristicException {
-        try {
-            loadCreatedAt();
-            loadDescription();
-            loadDegree();
-            loadSalary();  
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException(e.getMessage());
-        } catch (InvalidCharacteristicException e) {
-            throw new InvalidCharacteristicException(e.getMessage());
+    private void reportInvalidField(String errorType, String warning) {
+        if (report == null) {
+            System.out.println(warning + lineNo);
+        } else {
+            report.add(errorType, lineNo);
         }
     }
     
-     /**
+    /**
      * Loads the created at (unix timestamp) field
-     * @throws NumberFormatException invalid number format
-     */
-    private void loadCreatedAt() throws NumberFormatException {
-        try {
-            this.createdAt = Long.parseLong(jobData[CREATED_AT_INDEX]);           
-        } catch (Exception e) {
-            // If value is not a number
-            throw new NumberFormatException(WARNING_NUMBER + lineNo);
+     * @param parser field parser
+     * @return false if not a number
+     */
+    private boolean loadCreatedAt(FieldParser parser) {
+        if (parser.parseLong(FieldParser.getField(jobData, CREATED_AT_INDEX)) != FieldParser.OK) {
+            return false;
         }
+        this.createdAt = parser.getLong();
+        return true;
     }
 
     /**
      * Loads the job title
-     * @throws InvalidMandatoryDataException error when loading title
+     * @return false if missing
      */
-    private void loadTitle() throws InvalidMandatoryDataException {
-        try {
-            this.title = jobData[TITLE_INDEX]; 
-        } catch (Exception e) {
-            throw new InvalidMandatoryDataException(WARNING_MANDATORY);
-        }
+    private boolean loadTitle() {
+        this.title = StringPool.intern(FieldParser.getField(jobData, TITLE_INDEX));
+        return title != null;
     }
 
     /**
@@ -160,58 +180,56 @@ public class Job implements Serializable{
 
     /**
      * Loads the job degree
-     * @throws InvalidCharacteristicException invalid degree value
-     */
-    private void loadDegree() throws InvalidCharacteristicException {
-        try {
-            this.degree = jobData[DEGREE_INDEX];
-            if (!(degree.equals(Application.DEGREE_PHD) || degree.equals(Application.DEGREE_MASTER) || degree.equals(Application.DEGREE_BACHELOR) || isEmptyField(degree))) {
-                this.degree = null;
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
+     * @return false if not a valid degree
+     */
+    private boolean loadDegree() {
+        this.degree = StringPool.intern(jobData[DEGREE_INDEX]);
+        if (!(degree.equals(Application.DEGREE_PHD) || degree.equals(Application.DEGREE_MASTER) || degree.equals(Application.DEGREE_BACHELOR) || isEmptyField(degree))) {
+            this.degree = null;
+            return false;
         }
-    } catch (Exception e) {
-        throw new InvalidCharacteristicException(e.getMessage());
+        return true;
     }
-}
 
     /**
-     * Loads the job salary
-     * @throws InvalidCharacteristicException invalid salary value
-     */
-    private void loadSalary() throws InvalidCharacteristicException {
-        // add try here in case whitespace blank csv.
-        this.salary = Integer.parseInt(jobData[SALARY_INDEX]);      
-        try {
-            int salaryInput = Integer.parseInt(jobData[SALARY_INDEX]);
-            if (salaryInput >= Application.SALARY_EXPECTATION_MINIMUM) {
-                // If value is a number and within valid range
-                this.salary = salaryInput;
-            } else {
-                // If value is a number and not within valid range
-                throw new InvalidCharacteristicException(WARNING_CHARACTERISTICS + lineNo);
-            }         
-        } catch (InvalidCharacteristicException e) {
-            salary = 0;
-            throw new InvalidCharacteristicException(e.getMessage());
-        } catch (Exception e ) {
+     * Loads the job salary, which is 0 if not given
+     * @param parser field parser
+     * @return false if below the minimum salary
+     */
+    private boolean loadSalary(FieldParser parser) {
+        this.salary = 0;
+        if (parser.parseInt(jobData[SALARY_INDEX]) != FieldParser.OK) {
             // Default Value if no valid input
-            salary = 0;
+            return true;
         }
+        if (parser.getInt() < Application.SALARY_EXPECTATION_MINIMUM) {
+            return false;
+        }
+        this.salary = parser.getInt();
+        return true;
     }
 
     /**
-     * Loads the job start date
-     * @throws NumberFormatException invalid start data
+     * Loads the job start date, which is null if left empty
+     * @param parser field parser
+     * @return false if missing or not a valid date
      */
-    private void loadStartDate() throws NumberFormatException {
-        try {
-            if (isEmptyField(jobData[START_DATE_INDEX])) {
-                this.startDate = null;
-            } else {
-                this.startDate = LocalDate.parse(jobData[START_DATE_INDEX], DateTimeFormatter.ofPattern("dd/MM/yy"));
-            }         
-        } catch (Exception e) {
-            throw new NumberFormatException(WARNING_NUMBER + lineNo);
+    private boolean loadStartDate(FieldParser parser) {
+        String startDateField = FieldParser.getField(jobData, START_DATE_INDEX);
+        if (startDateField == null) {
+            return false;
+        }
+        switch (parser.parseDate(startDateField)) {
+            case FieldParser.EMPTY:
+                this.startDate = EpochDay.NONE;
+                return true;
+
+            case FieldParser.OK:
+                this.startDate = parser.getEpochDay();
+                return true;
+
+            default:
+                return false;
         }
     }
 
@@ -224,6 +242,14 @@ public class Job implements Serializable{
         this.createdAt = Instant.now().getEpochSecond();
     }
 
+    /**
+     * Sets created at to a given time
+     * @param createdAt created at, in epoch seconds
+     */
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
     /**
      * Sets job title
      * @param title job title
@@ -258,9 +284,9 @@ public class Job implements Serializable{
 
     /**
      * Sets job start date
-     * @param startDate start date
+     * @param startDate start date as an epoch day
      */
-    public void setStartDate(LocalDate startDate) {
+    public void setStartDate(int startDate) {
         this.startDate = startDate;
     }
 
@@ -281,7 +307,58 @@ public class Job implements Serializable{
         }
     }
 
+    /**
+     * Checks if another job, such as this job read again from
+     * the jobs file, has the same details as this job
+     * @param job other job
+     * @return true if title, description, degree, salary and start date are the same
+     */
+    public boolean hasSameDetails(Job job) {
+        return Objects.equals(title, job.title) && Objects.equals(description, job.description)
+                && Objects.equals(degree, job.degree) && salary == job.salary && startDate == job.startDate;
+    }
+
+    /**
+     * Updates the details of the job from this job read again,
+     * keeping the applications it has received
+     * @param job job read again
+     */
+    public void updateDetails(Job job) {
+        this.title = job.title;
+        this.description = job.description;
+        this.degree = job.degree;
+        this.salary = job.salary;
+        this.startDate = job.startDate;
+        this.match = null;      // Candidates are scored against the details, so are compared again
+    }
+
+    /**
+     * Gets the top candidate among the applications received so far,
+     * kept so that later matching only compares newer applications
+     * @return job match
+     */
+    public Matchmaker.JobMatch getMatch() {
+        Matchmaker.JobMatch jobMatch = match;
+        if (jobMatch == null) {
+            synchronized (this) {
+                if (match == null) {
+                    match = new Matchmaker.JobMatch();
+                }
+                jobMatch = match;
+            }
+        }
+        return jobMatch;
+    }
+
     // Job Getters
+
+    /**
+     * Gets created at
+     * @return created at
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
     
     /**
      * Gets job title
@@ -305,6 +382,22 @@ public class Job implements Serializable{
         return description;
     }
 
+    /**
+     * Gets job title as given
+     * @return title, or null if not given
+     */
+    String getRawTitle() {
+        return title;
+    }
+
+    /**
+     * Gets job description as given
+     * @return description, or null if not given
+     */
+    String getRawDescription() {
+        return description;
+    }
+
     /**
      * Gets job degree
      * @return degree
@@ -332,10 +425,10 @@ public class Job implements Serializable{
      * @return start date
      */
     public String getStartDate() {
-        if (isEmptyField(startDate.toString())) {
+        if (startDate == EpochDay.NONE) {
             return EMPTY_FIELD;
         }
-        return startDate.toString();
+        return EpochDay.formatIso(startDate);
     }
 
     /**
@@ -343,19 +436,16 @@ public class Job implements Serializable{
      * @return number of applications
      */
     public int getApplicationCount() {
-        if (hasApplications()) {
-            return receivedApplications.size();
-        } else {
-            return 0;
-        }
+        return receivedApplications.size();
     }
 
     /**
-     * Gets the data for applications applied to job
-     * @return application data list
+     * Gets the applications applied to job, as received so far
+     * (applications received afterwards are not included)
+     * @return application list
      */
-    public ArrayList<String[]> getReceivedApplications() {
-        return receivedApplications;
+    public List<Application> getReceivedApplications() {
+        return receivedApplications.snapshot();
     }
 
     /**
@@ -363,15 +453,7 @@ public class Job implements Serializable{
      * @return true if has applications
      */
     public boolean hasApplications() {
-        try {
-            if (receivedApplications.size() != 0) {
-                return true;
-            } else {
-                return false;
-            }
-        } catch (Exception e) {
-            return false;
-        }
+        return !receivedApplications.isEmpty();
     }
 
     /**
@@ -379,11 +461,40 @@ public class Job implements Serializable{
      * @return csv format data line
      */
     public String getCSVFormat() {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-        String csvFormat = String.format("%d,%s,%s,%s,%d,%s\n", createdAt, title, description, degree, salary, dateFormatter.format(startDate));
+        String csvStartDate = (startDate == EpochDay.NONE) ? "" : EpochDay.format(startDate);
+        String csvFormat = String.format("%d,%s,%s,%s,%d,%s\n", createdAt, title, description, degree, salary, csvStartDate);
         return csvFormat;
     }
 
+
+    /**
+     * Gets job in CSV format with any title or description holding
+     * a comma quoted, so that it can be read back as one field, and
+     * a degree that was not valid left empty
+     * @return csv format data line
+     */
+    public String getQuotedCSVFormat() {
+        // Written for every imported or recorded job, so built without parsing a format string
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(createdAt).append(',').append(quoteField(title)).append(',').append(quoteField(description));
+        stringBuilder.append(',').append(degree == null ? "" : degree).append(',').append(salary).append(',');
+        if (startDate != EpochDay.NONE) {
+            stringBuilder.append(EpochDay.format(startDate));
+        }
+        return stringBuilder.append('\n').toString();
+    }
+
+    /**
+     * Quotes a data field holding a comma
+     * @param field data field
+     * @return quoted data field, or the field if it has no comma or is already quoted
+     */
+    private String quoteField(String field) {
+        if (field != null && !field.startsWith("\"") && field.contains(",")) {
+            return "\"" + field + "\"";
+        }
+        return field;
+    }
     
     /**
      * Returns the unique identifier key of the job
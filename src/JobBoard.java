@@ -0,0 +1,1110 @@
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * A class that represents the in-memory data shared by the portals and
+ * the server, which includes the jobs (with their received applications)
+ * and all applicants. It is safe to use from many threads: readers such as
+ * listing and matchmaking work on snapshots and never wait for writers
+ */
+public class JobBoard {
+
+    private IOHandler ioHandler;
+    private SaveStore saveStore;
+
+    // Filepaths
+    private String jobFilePath;
+    private String applicationFilePath;
+
+    // Data Lists, replaced as a whole when reloaded
+    private volatile CopyOnWriteArrayList<Job> masterJobList;           // jobs are rarely added, so copying on add is cheap
+    private volatile AppendOnlyList<Application> masterApplicantList;   // includes all applicants
+    private volatile JobIndex jobIndex;                                 // words of the jobs, for searching, changed under the save lock
+    private volatile CandidateIndex candidateIndex;                     // words of the career summaries, indexed when first searched
+    private volatile ApplicationCache applicantCache;                   // reads all applicants instead, if kept off the heap
+    private String applicantStoreFilePath;
+    private int applicantCacheSize;
+    private ParseCache parseCache;                                      // applications parsed in earlier runs, if used
+    private volatile IOHandler.ReadProgress applicantReadProgress;      // where the applications file was read up to
+    private volatile FileWatcher applicationFileWatcher;                // reads rows appended by others, if followed
+    private final AtomicInteger applicationCount;                       // applications received by all jobs
+    private final Object applicantWriteLock = new Object();             // keeps applicant numbers in file order
+    private final Object saveLock = new Object();                       // keeps recorded changes in step with the saved jobs
+    private int addedJobNo;                                             // jobs added while running, changed under the save lock
+    private final Object reloadLock = new Object();                     // only one reload of the jobs file at a time
+
+    // Loading, complete unless started with loadAsync, applicants not started yet if null
+    private volatile CompletableFuture<Void> jobsLoaded = CompletableFuture.completedFuture(null);
+    private volatile CompletableFuture<ValidationReport> applicantsLoaded = CompletableFuture.completedFuture(null);
+    private volatile AtomicBoolean applicantReportPublished = new AtomicBoolean(true);
+    private final Object applicantLoadLock = new Object();              // only one thread starts loading the applicants
+    private final static Executor LOADER_THREADS = runnable -> {
+        Thread thread = new Thread(runnable, "loader");
+        thread.setDaemon(true);     // Quitting does not wait for data no command needed
+        thread.start();
+    };
+
+    // Metrics Names
+    private final String METRICS_LOAD_JOBS = "load.jobs";
+    private final String METRICS_LOAD_JOB_LIST = "load.jobList";
+    private final String METRICS_RELOAD_JOBS = "reload.jobs";
+    private final String METRICS_RELOAD_JOBS_APPLY = "reload.jobs.apply";
+    private final String METRICS_IMPORT_JOBS = "import.jobs";
+    private final String METRICS_INDEX_JOBS = "index.jobs";
+    private final String METRICS_SEARCH_JOBS = "search.jobs";
+    private final String METRICS_INDEX_CANDIDATES = "index.candidates";
+    private final String METRICS_CANDIDATES_INDEXED = "candidates.indexed";
+    private final String METRICS_SEARCH_CANDIDATES = "search.candidates";
+    private final String METRICS_JOBS_IMPORTED = "jobs.imported";
+    private final String METRICS_LOAD_APPLICANTS = "load.applicants";
+    private final String METRICS_LOAD_APPLICANT_LIST = "load.applicantList";
+    private final String METRICS_LOAD_APPLICANT_STORE = "load.applicantStore";
+    private final String METRICS_SAVE = "save";
+    private final String METRICS_FILTER = "filter";
+    private final String METRICS_APPLICANTS_ADDED = "applicants.added";
+    private final String METRICS_APPLICANTS_FOLLOWED = "applicants.followed";
+    private final String METRICS_FOLLOW = "follow";
+    private final String METRICS_APPLICATIONS_ADDED = "applications.added";
+    private final String METRICS_SUBMIT_APPLICATIONS = "submit.applications";
+
+    // Error Messages
+    private final String ERROR_JOB_FILE_NOT_FOUND = "Unable to find jobs file: ";
+
+    /**
+     * JobBoard constructor
+     * @param jobFilePath file path for jobs.csv
+     * @param applicationFilePath file path for applications.csv
+     */
+    public JobBoard(String jobFilePath, String applicationFilePath) {
+        this.jobFilePath = jobFilePath;
+        this.applicationFilePath = applicationFilePath;
+        this.ioHandler = new IOHandler();
+        this.saveStore = new SaveStore();
+        this.masterJobList = new CopyOnWriteArrayList<Job>();
+        this.jobIndex = new JobIndex(masterJobList);
+        this.masterApplicantList = new AppendOnlyList<Application>();
+        this.candidateIndex = new CandidateIndex();
+        this.applicationCount = new AtomicInteger(0);
+    }
+
+    /**
+     * Loads the jobs from the save file if present,
+     * else from the jobs CSV file, along with changes
+     * saved since by other processes
+     */
+    public void loadJobs() {
+        long startTime = Metrics.start();
+        ArrayList<Job> jobList;
+        try {
+            // Load Jobs with received application data
+            jobList = saveStore.load(() -> {
+                ValidationReport report = new ValidationReport(jobFilePath, IOHandler.JOB_FILE_TYPE);
+                ArrayList<Job> csvJobList;
+                try {
+                    csvJobList = loadJobList(report);
+                } catch (IOHandlerException e) {
+                    System.out.println(e.getMessage());
+                    csvJobList = new ArrayList<Job>();
+                }
+                report.publish();
+                return csvJobList;
+            });
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+            jobList = new ArrayList<Job>();
+        }
+        int applicationCounter = 0;
+        for (Job job : jobList) {
+            applicationCounter += job.getApplicationCount();
+        }
+        long indexStartTime = Metrics.start();
+        JobIndex loadedJobIndex = new JobIndex(jobList);
+        Metrics.stop(METRICS_INDEX_JOBS, indexStartTime);
+        synchronized (saveLock) {
+            masterJobList = new CopyOnWriteArrayList<Job>(jobList);
+            jobIndex = loadedJobIndex;
+        }
+        applicationCount.set(applicationCounter);
+        Metrics.stop(METRICS_LOAD_JOBS, startTime);
+    }
+
+    /**
+     * Reloads the jobs from the jobs CSV file, such as after it was edited
+     * offline, by matching its jobs to the loaded jobs by created at. Loaded
+     * jobs keep their received applications and are updated in place, jobs
+     * new to the file are added and jobs no longer in it are removed, and
+     * the jobs are listed in the file's order. The file is read and matched
+     * before anything changes, so commands only wait while the changes are
+     * applied. Changes are recorded for the next save
+     * @return jobs added, removed and updated
+     * @throws IOHandlerException error during reading the jobs file
+     */
+    public JobReload reloadJobs() throws IOHandlerException {
+        long startTime = Metrics.start();
+        if (!new File(jobFilePath).exists()) {
+            // Reading would create an empty file, removing every job
+            throw new IOHandlerException(ERROR_JOB_FILE_NOT_FOUND + jobFilePath);
+        }
+        awaitJobs();
+        synchronized (reloadLock) {
+            int readAddedJobNo;
+            synchronized (saveLock) {
+                readAddedJobNo = addedJobNo;
+            }
+            ValidationReport report = new ValidationReport(jobFilePath, IOHandler.JOB_FILE_TYPE);
+            ArrayList<Job> fileJobList = loadJobList(report);
+            report.publish();
+            while (true) {
+                int matchedAddedJobNo;
+                ArrayList<Job> loadedJobList;
+                synchronized (saveLock) {
+                    matchedAddedJobNo = addedJobNo;
+                    loadedJobList = new ArrayList<Job>(masterJobList);
+                }
+                // Jobs added while the file was read may not be in it yet, so they are kept
+                JobReload reload = new JobReload(loadedJobList, fileJobList, loadedJobList.size() - (matchedAddedJobNo - readAddedJobNo));
+                JobIndex reloadedJobIndex = reload.buildJobIndex();
+                long applyStartTime = Metrics.start();
+                synchronized (saveLock) {
+                    if (addedJobNo != matchedAddedJobNo) {
+                        // A job was added while matching, so the jobs are matched again
+                        continue;
+                    }
+                    for (Job[] update : reload.updates) {
+                        update[0].updateDetails(update[1]);
+                        saveStore.recordJobUpdate(update[0]);
+                    }
+                    for (Job job : reload.addedJobs) {
+                        saveStore.recordJob(job);
+                    }
+                    for (Job job : reload.removedJobs) {
+                        saveStore.recordJobRemoval(job);
+                        applicationCount.addAndGet(-job.getApplicationCount());
+                    }
+                    masterJobList = new CopyOnWriteArrayList<Job>(reload.jobList);
+                    jobIndex = reloadedJobIndex;
+                }
+                Metrics.stop(METRICS_RELOAD_JOBS_APPLY, applyStartTime);
+                Metrics.stop(METRICS_RELOAD_JOBS, startTime);
+                return reload;
+            }
+        }
+    }
+
+    /**
+     * Changes to the loaded jobs found by matching them
+     * to the jobs read again from the jobs file
+     */
+    public static class JobReload {
+        private final ArrayList<Job> jobList;                   // jobs in the file's order, then those kept
+        private final ArrayList<Job[]> updates;                 // loaded job, then the job read with its new details
+        private final ArrayList<Job> addedJobs;
+        private final ArrayList<Job> removedJobs;
+
+        /**
+         * JobReload constructor, matching jobs that share a
+         * created at in the order they are listed
+         * @param loadedJobList loaded jobs
+         * @param fileJobList jobs read from the jobs file
+         * @param keptJobIndex index of the first loaded job kept if not in the file
+         */
+        private JobReload(ArrayList<Job> loadedJobList, ArrayList<Job> fileJobList, int keptJobIndex) {
+            this.jobList = new ArrayList<Job>(fileJobList.size());
+            this.updates = new ArrayList<Job[]>();
+            this.addedJobs = new ArrayList<Job>();
+            this.removedJobs = new ArrayList<Job>();
+            HashMap<Long, ArrayDeque<Job>> loadedJobs = new HashMap<Long, ArrayDeque<Job>>();
+            for (Job job : loadedJobList) {
+                loadedJobs.computeIfAbsent(job.getCreatedAt(), createdAt -> new ArrayDeque<Job>(1)).add(job);
+            }
+            Set<Job> matchedJobs = Collections.newSetFromMap(new IdentityHashMap<Job, Boolean>());
+            for (Job fileJob : fileJobList) {
+                ArrayDeque<Job> matchingJobs = loadedJobs.get(fileJob.getCreatedAt());
+                Job job = matchingJobs == null ? null : matchingJobs.poll();
+                if (job == null) {
+                    addedJobs.add(fileJob);
+                    jobList.add(fileJob);
+                    continue;
+                }
+                if (!job.hasSameDetails(fileJob)) {
+                    updates.add(new Job[]{job, fileJob});
+                }
+                matchedJobs.add(job);
+                jobList.add(job);
+            }
+            for (int i = 0; i < loadedJobList.size(); i++) {
+                Job job = loadedJobList.get(i);
+                if (matchedJobs.contains(job)) {
+                    continue;
+                }
+                if (i >= keptJobIndex) {
+                    jobList.add(job);
+                } else {
+                    removedJobs.add(job);
+                }
+            }
+        }
+
+        /**
+         * Gets number of jobs added
+         * @return number of jobs
+         */
+        public int getAddedNo() {
+            return addedJobs.size();
+        }
+
+        /**
+         * Gets number of jobs removed
+         * @return number of jobs
+         */
+        public int getRemovedNo() {
+            return removedJobs.size();
+        }
+
+        /**
+         * Gets number of jobs updated
+         * @return number of jobs
+         */
+        public int getUpdatedNo() {
+            return updates.size();
+        }
+
+        /**
+         * Indexes the jobs as they will be once the changes are applied,
+         * so that updated jobs are found by their new details
+         * @return job index
+         */
+        private JobIndex buildJobIndex() {
+            IdentityHashMap<Job, Job> updatedDetails = new IdentityHashMap<Job, Job>();
+            for (Job[] update : updates) {
+                updatedDetails.put(update[0], update[1]);
+            }
+            JobIndex jobIndex = new JobIndex(new ArrayList<Job>());
+            for (Job job : jobList) {
+                Job details = updatedDetails.getOrDefault(job, job);
+                jobIndex.add(job, details.getRawTitle(), details.getRawDescription());
+            }
+            return jobIndex;
+        }
+    }
+
+    /**
+     * Keeps the applicants in an application store outside of the
+     * heap instead of as objects, from the next time they are loaded
+     * @param storeFilePath file path of the application store
+     * @param cacheSize number of applicants kept as objects once read
+     */
+    public void useApplicantStore(String storeFilePath, int cacheSize) {
+        this.applicantStoreFilePath = storeFilePath;
+        this.applicantCacheSize = cacheSize;
+    }
+
+    /**
+     * Keeps the applications parsed from the applications file in a cache
+     * beside it, from the next time they are loaded, so that later loads
+     * only parse the rows appended since
+     */
+    public void useParseCache() {
+        this.parseCache = new ParseCache(applicationFilePath);
+    }
+
+    /**
+     * Starts loading the jobs on a loader thread and returns at once.
+     * The applicants are loaded the first time they are needed, or are
+     * prefetched on a loader thread at the same time as the jobs (after
+     * them if there is only one processor). Anything that needs the jobs
+     * or the applicants waits for them to finish loading, so each waits
+     * only on the data it needs. Warnings for the applications file are
+     * printed when the applicants are first needed
+     * @param prefetchApplicants true to load the applicants before they are needed
+     */
+    public void loadAsync(boolean prefetchApplicants) {
+        applicantReportPublished = new AtomicBoolean(false);
+        jobsLoaded = CompletableFuture.runAsync(this::loadJobs, LOADER_THREADS);
+        synchronized (applicantLoadLock) {
+            applicantsLoaded = null;
+            if (!prefetchApplicants) {
+                return;
+            }
+            if (Runtime.getRuntime().availableProcessors() > 1) {
+                applicantsLoaded = CompletableFuture.supplyAsync(this::loadApplicantData, LOADER_THREADS);
+            } else {
+                // With one processor the loads would only take turns, so the jobs most commands need go first
+                applicantsLoaded = jobsLoaded.handleAsync((ignored, error) -> loadApplicantData(), LOADER_THREADS);
+            }
+        }
+    }
+
+    /**
+     * Waits until both the jobs and the applicants are loaded
+     */
+    public void awaitLoaded() {
+        awaitJobs();
+        awaitApplicants();
+    }
+
+    /**
+     * Runs an action once the jobs are loaded,
+     * straight away if they already are
+     * @param action action to run
+     */
+    public void whenJobsLoaded(Runnable action) {
+        jobsLoaded.thenRun(action);
+    }
+
+    /**
+     * Waits until the jobs are loaded
+     */
+    private void awaitJobs() {
+        jobsLoaded.join();
+    }
+
+    /**
+     * Waits until the applicants are loaded, printing the warnings
+     * for the applications file the first time
+     */
+    private void awaitApplicants() {
+        CompletableFuture<ValidationReport> loading = applicantsLoaded;
+        if (loading == null) {
+            loading = loadApplicantsOnce();
+        }
+        ValidationReport report = loading.join();
+        if (report != null && applicantReportPublished.compareAndSet(false, true)) {
+            report.publish();
+        }
+    }
+
+    /**
+     * Loads the applicants on the thread that first needs them,
+     * while any other thread needing them waits for that load
+     * @return loading of the applicants, complete when returned to the loading thread
+     */
+    private CompletableFuture<ValidationReport> loadApplicantsOnce() {
+        CompletableFuture<ValidationReport> loading;
+        synchronized (applicantLoadLock) {
+            if (applicantsLoaded != null) {
+                // Started by another thread
+                return applicantsLoaded;
+            }
+            loading = new CompletableFuture<ValidationReport>();
+            applicantsLoaded = loading;
+        }
+        try {
+            loading.complete(loadApplicantData());
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+        }
+        return loading;
+    }
+
+    /**
+     * Loads all applicants (regardless of job applied)
+     * from the applications CSV file
+     */
+    public void loadApplicants() {
+        loadApplicantData().publish();
+    }
+
+    /**
+     * Loads all applicants without printing warnings
+     * @return validation report for the applications file
+     */
+    private ValidationReport loadApplicantData() {
+        long startTime = Metrics.start();
+        ValidationReport report = new ValidationReport(applicationFilePath, IOHandler.APPLICATION_FILE_TYPE);
+        if (applicantStoreFilePath != null) {
+            loadApplicantStore(report);
+        } else {
+            masterApplicantList = loadApplicantList(report);
+        }
+        candidateIndex = new CandidateIndex();      // Applicants are numbered anew
+        Metrics.stop(METRICS_LOAD_APPLICANTS, startTime);
+        return report;
+    }
+
+    /**
+     * Loads all applicants into a new application store, one row
+     * at a time, so that the file is never held on the heap
+     * @param report validation report for the applications file
+     */
+    private void loadApplicantStore(ValidationReport report) {
+        long startTime = Metrics.start();
+        ParseCache.CachedRead cachedRead = parseCache != null ? parseCache.open(report) : null;
+        try {
+            ApplicationStore store;
+            if (cachedRead != null && cachedRead.getStore() != null) {
+                // Starts from a copy of the cached applications, leaving the cache as it was
+                ApplicationStore cachedStore = cachedRead.getStore();
+                cachedStore.copyTo(applicantStoreFilePath);
+                store = ApplicationStore.open(applicantStoreFilePath, cachedStore.size(), cachedStore.getStringPosition(),
+                        cachedStore.getCodeValues(), false);
+            } else {
+                store = ApplicationStore.create(applicantStoreFilePath);
+            }
+            IOHandler.ReadProgress progress = cachedRead != null ? cachedRead.getProgress() : new IOHandler.ReadProgress();
+            ioHandler.readFile(applicationFilePath, Application.DATA_FIELD_NO, IOHandler.APPLICATION_FILE_TYPE, report, (applicationDataLine, applicationLineNo) -> {
+                Application application = Application.load(applicationDataLine, applicationLineNo, report);
+                if (application != null) {
+                    // Skips line row if invalid mandatory fields in the row
+                    store.append(application, applicationLineNo);
+                }
+            }, progress);
+            if (cachedRead != null) {
+                parseCache.save(cachedRead, store, progress, report);
+            }
+            applicantReadProgress = progress;
+            ApplicationCache oldCache = applicantCache;
+            applicantCache = new ApplicationCache(store, applicantCacheSize);
+            if (oldCache != null) {
+                oldCache.getStore().close();
+            }
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+        } finally {
+            if (cachedRead != null) {
+                cachedRead.close();
+            }
+        }
+        Metrics.stop(METRICS_LOAD_APPLICANT_STORE, startTime);
+    }
+
+    /**
+     * Loads job data, creating each job as its row is read, so that
+     * warnings give the row's line number in the jobs file
+     * @param report validation report for the jobs file
+     * @return job list
+     * @throws IOHandlerException error during reading the jobs file
+     */
+    private ArrayList<Job> loadJobList(ValidationReport report) throws IOHandlerException {
+        long startTime = Metrics.start();
+        ArrayList<Job> jobList = new ArrayList<Job>();
+        try {
+            ioHandler.readFile(jobFilePath, Job.DATA_FIELD_NO, IOHandler.JOB_FILE_TYPE, report, (jobDataLine, jobLineNo) -> {
+                Job job = Job.load(jobDataLine, jobLineNo, report);
+                if (job != null) {
+                    // Skip line if invalid mandatory line in row
+                    jobList.add(job);
+                }
+            });
+        } finally {
+            Metrics.stop(METRICS_LOAD_JOB_LIST, startTime);
+        }
+        return jobList;
+    }
+
+    /**
+     * Loads application data, creating each application
+     * as its row is read, after any applications cached
+     * from earlier runs
+     * @param report validation report for the applications file
+     * @return applicant list
+     */
+    private AppendOnlyList<Application> loadApplicantList(ValidationReport report) {
+        long startTime = Metrics.start();
+        AppendOnlyList<Application> applicantList = new AppendOnlyList<Application>();
+        ParseCache.CachedRead cachedRead = parseCache != null ? parseCache.open(report) : null;
+        try {
+            int cachedApplicationNo = 0;
+            if (cachedRead != null && cachedRead.getStore() != null) {
+                ApplicationStore cachedStore = cachedRead.getStore();
+                ApplicationView view = cachedStore.view();
+                cachedApplicationNo = cachedStore.size();
+                for (int i = 0; i < cachedApplicationNo; i++) {
+                    applicantList.add(view.moveTo(i).toApplication());
+                }
+            }
+            IOHandler.ReadProgress progress = cachedRead != null ? cachedRead.getProgress() : new IOHandler.ReadProgress();
+            ioHandler.readFile(applicationFilePath, Application.DATA_FIELD_NO, IOHandler.APPLICATION_FILE_TYPE, report, (applicationDataLine, applicationLineNo) -> {
+                Application application = Application.load(applicationDataLine, applicationLineNo, report);
+                if (application != null) {
+                    // Skips line row if invalid mandatory fields in the row
+                    applicantList.add(application);
+                }
+            }, progress);
+            if (cachedRead != null) {
+                List<Application> readApplications = applicantList.snapshot();
+                parseCache.save(cachedRead, readApplications.subList(cachedApplicationNo, readApplications.size()), progress, report);
+            }
+            applicantReadProgress = progress;
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+            return new AppendOnlyList<Application>();
+        } finally {
+            if (cachedRead != null) {
+                cachedRead.close();
+            }
+            Metrics.stop(METRICS_LOAD_APPLICANT_LIST, startTime);
+        }
+        return applicantList;
+    }
+
+    /**
+     * Saves the jobs with their received applications
+     * to the save file
+     * @throws IOHandlerException error during saving data to save file
+     */
+    public void save() throws IOHandlerException {
+        awaitJobs();
+        // Only one save at a time, each job writes the applications received so far
+        long startTime = Metrics.start();
+        synchronized (saveLock) {
+            saveStore.save(getJobList());
+        }
+        Metrics.stop(METRICS_SAVE, startTime);
+    }
+
+    /**
+     * Adds a new job and appends it to the jobs file
+     * @param job job
+     * @throws IOHandlerException error during writing to jobs file
+     */
+    public void addJob(Job job) throws IOHandlerException {
+        awaitJobs();
+        synchronized (saveLock) {
+            makeCreatedAtUnique(job, getCreatedAts());
+            masterJobList.add(job);
+            jobIndex.add(job);
+            saveStore.recordJob(job);
+            addedJobNo += 1;
+        }
+        ioHandler.appendToFile(jobFilePath, job.getCSVFormat());
+    }
+
+    /**
+     * Gets the created at of every job, under the save lock
+     * @return created at of the jobs
+     */
+    private HashSet<Long> getCreatedAts() {
+        HashSet<Long> createdAts = new HashSet<Long>();
+        for (Job job : masterJobList) {
+            createdAts.add(job.getCreatedAt());
+        }
+        return createdAts;
+    }
+
+    /**
+     * Moves a new job's created at on to the next second no other job has,
+     * as jobs are told apart by created at, such as when the save journal
+     * is replayed, and more than one job can be created in a second
+     * @param job new job
+     * @param createdAts created at of the other jobs, which the job's is added to
+     */
+    private void makeCreatedAtUnique(Job job, HashSet<Long> createdAts) {
+        long createdAt = job.getCreatedAt();
+        while (!createdAts.add(createdAt)) {
+            createdAt += 1;
+        }
+        job.setCreatedAt(createdAt);
+    }
+
+    /**
+     * Imports jobs in bulk from a CSV file in the jobs file's format or
+     * a JSONL file, validating them the same way as the jobs file. Rows
+     * with invalid mandatory data fields are reported and skipped
+     * @param importFilePath file path of the CSV or JSONL file
+     * @return number of jobs imported
+     * @throws IOHandlerException error during reading the file or writing to the jobs file
+     */
+    public int importJobs(String importFilePath) throws IOHandlerException {
+        long startTime = Metrics.start();
+        JobImport jobImport = new JobImport(importFilePath);
+        ArrayList<Job> jobList = jobImport.read();
+        jobImport.getReport().publish();
+        addJobs(jobList);
+        Metrics.add(METRICS_JOBS_IMPORTED, jobList.size());
+        Metrics.stop(METRICS_IMPORT_JOBS, startTime);
+        return jobList.size();
+    }
+
+    /**
+     * Adds new jobs in one go, copying the job list once,
+     * and appends them to the jobs file in one write. Jobs
+     * with the created at of another job are moved on to
+     * the next second no job has
+     * @param jobList jobs
+     * @throws IOHandlerException error during writing to jobs file
+     */
+    public void addJobs(List<Job> jobList) throws IOHandlerException {
+        if (jobList.isEmpty()) {
+            return;
+        }
+        awaitJobs();
+        // Imported descriptions often hold commas, so they are quoted to be read back as one field
+        StringBuilder csvLines = new StringBuilder();
+        synchronized (saveLock) {
+            HashSet<Long> createdAts = getCreatedAts();
+            for (Job job : jobList) {
+                makeCreatedAtUnique(job, createdAts);
+                csvLines.append(job.getQuotedCSVFormat());
+            }
+            masterJobList.addAll(jobList);
+            for (Job job : jobList) {
+                jobIndex.add(job);
+                saveStore.recordJob(job);
+            }
+            addedJobNo += jobList.size();
+        }
+        ioHandler.appendToFile(jobFilePath, csvLines.toString());
+    }
+
+    /**
+     * Adds a new applicant and appends their application
+     * to the applications file
+     * @param application application
+     * @return applicant number, starting from 1
+     * @throws IOHandlerException error during writing to applications file
+     */
+    public int addApplicant(Application application) throws IOHandlerException {
+        awaitApplicants();
+        synchronized (applicantWriteLock) {
+            String csvLine = application.getCSVFormat();
+            long byteNo = ioHandler.appendToFile(applicationFilePath, csvLine);
+            IOHandler.ReadProgress progress = applicantReadProgress;
+            if (applicationFileWatcher != null && progress != null) {
+                // Rows appended by others before this one go first, and this one is not read back
+                readAppendedApplicants(byteNo);
+                progress = applicantReadProgress;
+                applicantReadProgress = new IOHandler.ReadProgress(byteNo + csvLine.getBytes(StandardCharsets.UTF_8).length,
+                        progress.getLineNo() + 1, progress.getValidLineNo() + 1);
+            }
+            Metrics.increment(METRICS_APPLICANTS_ADDED);
+            return appendApplicant(application, progress != null ? progress.getLineNo() : getApplicantCount() + 1) + 1;
+        }
+    }
+
+    /**
+     * Adds applicants submitted in bulk along with their applications to
+     * jobs. The applicants are appended to the applications file in one
+     * write, and their applications are saved together in one save
+     * @param submissions valid submissions, in the order given
+     * @return number of applications to jobs
+     * @throws IOHandlerException error during writing to the applications file or save file
+     */
+    public int submitApplications(List<ApplicationBatch.Submission> submissions) throws IOHandlerException {
+        if (submissions.isEmpty()) {
+            return 0;
+        }
+        long startTime = Metrics.start();
+        addSubmissions(submissions);
+        int applicationNo = 0;
+        for (ApplicationBatch.Submission submission : submissions) {
+            applicationNo += submission.getJobList().size();
+        }
+        save();
+        Metrics.stop(METRICS_SUBMIT_APPLICATIONS, startTime);
+        return applicationNo;
+    }
+
+    /**
+     * Adds applicants submitted in bulk along with their applications to
+     * jobs, appending the applicants to the applications file in one write.
+     * The applications are recorded for the next save
+     * @param submissions valid submissions
+     * @return applicant numbers, starting from 1, in the order of the submissions
+     * @throws IOHandlerException error during writing to the applications file
+     */
+    public int[] addSubmissions(List<ApplicationBatch.Submission> submissions) throws IOHandlerException {
+        int[] applicantNos = new int[submissions.size()];
+        if (submissions.isEmpty()) {
+            return applicantNos;
+        }
+        awaitApplicants();
+        StringBuilder csvLines = new StringBuilder();
+        for (ApplicationBatch.Submission submission : submissions) {
+            csvLines.append(submission.getApplication().getCSVFormat());
+        }
+        String csvText = csvLines.toString();
+        synchronized (applicantWriteLock) {
+            long byteNo = ioHandler.appendToFile(applicationFilePath, csvText);
+            IOHandler.ReadProgress progress = applicantReadProgress;
+            if (applicationFileWatcher != null && progress != null) {
+                // Rows appended by others before these go first, and these are not read back
+                readAppendedApplicants(byteNo);
+                progress = applicantReadProgress;
+                applicantReadProgress = new IOHandler.ReadProgress(byteNo + csvText.getBytes(StandardCharsets.UTF_8).length,
+                        progress.getLineNo() + submissions.size(), progress.getValidLineNo() + submissions.size());
+            }
+            int lineNo = progress != null ? progress.getLineNo() : getApplicantCount() + 1;
+            for (int i = 0; i < applicantNos.length; i++) {
+                applicantNos[i] = appendApplicant(submissions.get(i).getApplication(), lineNo + i) + 1;
+            }
+        }
+        awaitJobs();
+        int applicationNo = 0;
+        synchronized (saveLock) {
+            for (ApplicationBatch.Submission submission : submissions) {
+                for (Job job : submission.getJobList()) {
+                    job.saveApplication(submission.getApplication());
+                    saveStore.recordApplication(job, submission.getApplication());
+                    applicationNo += 1;
+                }
+            }
+        }
+        applicationCount.addAndGet(applicationNo);
+        Metrics.add(METRICS_APPLICANTS_ADDED, submissions.size());
+        Metrics.add(METRICS_APPLICATIONS_ADDED, applicationNo);
+        return applicantNos;
+    }
+
+    /**
+     * Reads the applications file from where it was last read on each
+     * change to it, adding the applicants appended since, such as by
+     * other portals, servers or imports, without reading it again
+     */
+    public void followApplicationFile() {
+        FileWatcher watcher = new FileWatcher(applicationFilePath, this::readAppendedApplicants);
+        try {
+            watcher.start();
+            applicationFileWatcher = watcher;
+        } catch (IOHandlerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the applicants appended to the applications file since it
+     * was last read, once the applicants are loaded. Nothing is read
+     * if they are not loaded yet, as loading reads them anyway
+     */
+    private void readAppendedApplicants() {
+        CompletableFuture<ValidationReport> loading = applicantsLoaded;
+        if (loading == null) {
+            return;
+        }
+        loading.join();
+        synchronized (applicantWriteLock) {
+            IOHandler.ReadProgress progress = applicantReadProgress;
+            if (progress == null) {
+                return;
+            }
+            try {
+                // A last line still being written is left for the next change
+                readAppendedApplicants(ioHandler.getLastLineEnd(applicationFilePath, progress.getByteNo()));
+            } catch (IOHandlerException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds the applicants appended to the applications file since it was
+     * last read, up to a position, while holding the applicant write lock
+     * @param endByteNo position to stop at
+     * @throws IOHandlerException error during reading the applications file
+     */
+    private void readAppendedApplicants(long endByteNo) throws IOHandlerException {
+        IOHandler.ReadProgress progress = applicantReadProgress;
+        if (endByteNo <= progress.getByteNo()) {
+            return;
+        }
+        long startTime = Metrics.start();
+        ValidationReport report = new ValidationReport(applicationFilePath, IOHandler.APPLICATION_FILE_TYPE);
+        AtomicInteger appendedNo = new AtomicInteger(0);
+        try {
+            ioHandler.readFile(applicationFilePath, Application.DATA_FIELD_NO, IOHandler.APPLICATION_FILE_TYPE, report, (applicationDataLine, applicationLineNo) -> {
+                Application application = Application.load(applicationDataLine, applicationLineNo, report);
+                if (application != null) {
+                    // Skips line row if invalid mandatory fields in the row
+                    appendApplicant(application, applicationLineNo);
+                    appendedNo.incrementAndGet();
+                }
+            }, progress, endByteNo);
+        } finally {
+            Metrics.add(METRICS_APPLICANTS_FOLLOWED, appendedNo.get());
+            Metrics.stop(METRICS_FOLLOW, startTime);
+        }
+        report.publish();
+    }
+
+    /**
+     * Adds an applicant to the applicant list, or to the
+     * application store if kept off the heap
+     * @param application application
+     * @param lineNo line number of the application, for errors
+     * @return index of the applicant
+     * @throws IOHandlerException error during writing to the application store
+     */
+    private int appendApplicant(Application application, int lineNo) throws IOHandlerException {
+        ApplicationCache cache = applicantCache;
+        if (cache != null) {
+            return cache.getStore().append(application, lineNo);
+        }
+        return masterApplicantList.add(application);
+    }
+
+    /**
+     * Saves an application to a job it was applied to
+     * @param job job applied to
+     * @param application application
+     */
+    public void applyForJob(Job job, Application application) {
+        awaitJobs();
+        synchronized (saveLock) {
+            job.saveApplication(application);
+            saveStore.recordApplication(job, application);
+        }
+        applicationCount.incrementAndGet();
+        Metrics.increment(METRICS_APPLICATIONS_ADDED);
+    }
+
+    /**
+     * Gets the list of jobs
+     * @return job list
+     */
+    public ArrayList<Job> getJobList() {
+        awaitJobs();
+        return new ArrayList<Job>(masterJobList);
+    }
+
+    /**
+     * Searches the titles and descriptions of the jobs
+     * @param terms search terms
+     * @param resultNo most jobs to return
+     * @return jobs holding any of the terms, best match first
+     */
+    public ArrayList<Job> searchJobs(String terms, int resultNo) {
+        awaitJobs();
+        long startTime = Metrics.start();
+        ArrayList<Job> jobList = jobIndex.search(terms, resultNo);
+        Metrics.stop(METRICS_SEARCH_JOBS, startTime);
+        return jobList;
+    }
+
+    /**
+     * Indexes the career summaries of the applicants added since
+     * last indexed, all of them the first time
+     * @return number of applicants indexed
+     */
+    public int indexApplicants() {
+        awaitApplicants();
+        long startTime = Metrics.start();
+        int indexedNo = candidateIndex.addUpTo(getApplicantCount(), getCareerSummaries());
+        if (indexedNo > 0) {
+            Metrics.add(METRICS_CANDIDATES_INDEXED, indexedNo);
+            Metrics.stop(METRICS_INDEX_CANDIDATES, startTime);
+        }
+        return indexedNo;
+    }
+
+    /**
+     * Searches the career summaries of all applicants, such as
+     * {@code java "machine learning" OR python}, see CandidateIndex
+     * @param query query
+     * @return numbers of the matching applicants, starting from 1, in order
+     */
+    public int[] searchCandidates(String query) {
+        indexApplicants();
+        long startTime = Metrics.start();
+        int[] applicantNos = candidateIndex.search(query, getCareerSummaries());
+        for (int i = 0; i < applicantNos.length; i++) {
+            applicantNos[i] += 1;
+        }
+        Metrics.stop(METRICS_SEARCH_CANDIDATES, startTime);
+        return applicantNos;
+    }
+
+    /**
+     * Gets the career summaries of the applicants, read from the
+     * application store without creating objects if kept off the heap
+     * @return career summary of each applicant by index, null if not given
+     */
+    private IntFunction<String> getCareerSummaries() {
+        ApplicationCache cache = applicantCache;
+        if (cache != null) {
+            ApplicationView view = cache.getStore().view();
+            return applicantIndex -> view.moveTo(applicantIndex).getRawCareerSummary();
+        }
+        AppendOnlyList<Application> applicantList = masterApplicantList;
+        return applicantIndex -> applicantList.get(applicantIndex).getRawCareerSummary();
+    }
+
+    /**
+     * Gets a job by its number as listed, starting from 1
+     * @param jobNo job number
+     * @return job, or null if there is no such job
+     */
+    public Job getJob(int jobNo) {
+        awaitJobs();
+        Object[] jobs = masterJobList.toArray();
+        if (jobNo < 1 || jobNo > jobs.length) {
+            return null;
+        }
+        return (Job) jobs[jobNo - 1];
+    }
+
+    /**
+     * Gets an applicant by their number, starting from 1
+     * @param applicantNo applicant number
+     * @return application, or null if there is no such applicant
+     */
+    public Application getApplicant(int applicantNo) {
+        awaitApplicants();
+        ApplicationCache cache = applicantCache;
+        if (cache != null) {
+            if (applicantNo < 1 || applicantNo > cache.getStore().size()) {
+                return null;
+            }
+            return cache.get(applicantNo - 1);
+        }
+        AppendOnlyList<Application> applicantList = masterApplicantList;
+        if (applicantNo < 1 || applicantNo > applicantList.size()) {
+            return null;
+        }
+        return applicantList.get(applicantNo - 1);
+    }
+
+    /**
+     * Gets number of applicants
+     * @return number of applicants
+     */
+    public int getApplicantCount() {
+        awaitApplicants();
+        ApplicationCache cache = applicantCache;
+        return cache != null ? cache.getStore().size() : masterApplicantList.size();
+    }
+
+    /**
+     * Gets number of applications received by all jobs
+     * @return number of applications
+     */
+    public int getApplicationCount() {
+        awaitJobs();
+        return applicationCount.get();
+    }
+
+    /**
+     * Gets all applicants sorted by their availability
+     * @return sorted applicant list
+     */
+    public ArrayList<Application> getSortedApplicantList() {
+        awaitApplicants();
+        ApplicationCache cache = applicantCache;
+        if (cache != null) {
+            return getSortedApplicantList(cache);
+        }
+        ArrayList<Application> sortedList = new ArrayList<Application>(masterApplicantList.snapshot());
+        Collections.sort(sortedList, new Comparator<Application>() {
+            @Override
+            public int compare(Application thisApplication, Application otherApplication) {
+                return thisApplication.sortApplicantList(otherApplication);
+            }
+        });
+        return sortedList;
+    }
+
+    /**
+     * Gets all applicants kept in an application store sorted by
+     * their availability, reusing the applicants already read
+     * @param cache cache of the application store
+     * @return sorted applicant list
+     */
+    private ArrayList<Application> getSortedApplicantList(ApplicationCache cache) {
+        int[] sortedIndexes = getSortedApplicantIndexes(cache.getStore());
+        ArrayList<Application> sortedList = new ArrayList<Application>(sortedIndexes.length);
+        for (int index : sortedIndexes) {
+            sortedList.add(cache.get(index));
+        }
+        return sortedList;
+    }
+
+    /**
+     * Gets the applicants kept in an application store sorted by
+     * their availability, without creating an object for each
+     * @param store application store
+     * @return record indexes in sorted order, to be read with a view
+     */
+    public int[] getSortedApplicantIndexes(ApplicationStore store) {
+        return store.sort((view, otherView) -> view.sortApplicantList(otherView));
+    }
+
+    /**
+     * Gets the application store holding the applicants
+     * @return application store, or null if applicants are kept as objects
+     */
+    public ApplicationStore getApplicantStore() {
+        awaitApplicants();
+        ApplicationCache cache = applicantCache;
+        return cache != null ? cache.getStore() : null;
+    }
+
+    /**
+     * Gets the cache of applicants read from the application store
+     * @return cache, or null if applicants are kept as objects
+     */
+    public ApplicationCache getApplicantCache() {
+        awaitApplicants();
+        return applicantCache;
+    }
+
+    /**
+     * Gets the applications received by all jobs, with no
+     * duplicate ensured by using a unique key
+     * @return application list
+     */
+    public ArrayList<Application> getReceivedApplicationList() {
+        awaitJobs();
+        ArrayList<Application> applicationList = new ArrayList<Application>();
+        HashSet<Integer> hashSet = new HashSet<Integer>();
+        for (Job job : masterJobList) {
+            // For each Job (iterating over a snapshot of the job list)
+            if (job.hasApplications()) {
+                // If the Job has received applications
+                for (Application application : job.getReceivedApplications()) {
+                    // For each Application
+                    if (hashSet.add(application.hashCode())) {
+                        // If not duplicate application
+                        applicationList.add(application);
+                    }
+                }
+            }
+        }
+        return applicationList;
+    }
+
+    /**
+     * Gets the applications received by all jobs sorted by a filter type.
+     * The jobs hold their received applications as objects, so nothing is
+     * read from the application store, and applicants that applied through
+     * the store are the same objects the applicant cache handed out
+     * @param filterType filter type
+     * @return sorted application list
+     */
+    public ArrayList<Application> getFilteredApplicationList(String filterType) {
+        long startTime = Metrics.start();
+        ArrayList<Application> sortedList = getReceivedApplicationList();
+        Collections.sort(sortedList, new Comparator<Application>() {
+            @Override
+            public int compare(Application thisApplication, Application otherApplication) {
+                return thisApplication.filterBy(filterType, otherApplication);
+            }
+        });
+        Metrics.stop(METRICS_FILTER, startTime);
+        return sortedList;
+    }
+
+    /**
+     * Runs the matchmaking process on the current jobs, using the
+     * applications they hold like getFilteredApplicationList does
+     * @return matchmaker holding the matches
+     */
+    public Matchmaker match() {
+        Matchmaker matchmaker = new Matchmaker(getJobList());
+        matchmaker.runMatchmaking();
+        return matchmaker;
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A class that reads jobs to import in bulk, either from a CSV file in
+ * the jobs file's format or from a JSONL file holding a job object per
+ * line with the jobs file header names. Rows are validated a batch at a
+ * time on the parser threads with the same rules as the jobs file, and
+ * rows without a created at are given the time of the import plus their
+ * line's offset, as jobs are told apart by created at
+ */
+public class JobImport {
+
+    private final String filePath;
+    private final boolean isJsonLines;
+    private final ValidationReport report;
+    private final long importedAt;
+
+    private final static int BATCH_ROW_NO = 2048;
+    private final static int CREATED_AT_INDEX = 0;
+    private final static String JSON_LINES_EXTENSION = ".jsonl";
+    private final static String[] JOB_HEADER_NAMES = IOHandler.JOB_HEADER.trim().split(",");
+
+    // Error Messages
+    private final static String ERROR_READ = "Unable to read import file: ";
+
+    /**
+     * JobImport constructor
+     * @param filePath file path of the CSV or JSONL file
+     */
+    public JobImport(String filePath) {
+        this.filePath = filePath;
+        this.isJsonLines = filePath.toLowerCase().endsWith(JSON_LINES_EXTENSION);
+        this.report = new ValidationReport(filePath, IOHandler.JOB_FILE_TYPE);
+        this.importedAt = Instant.now().getEpochSecond();
+    }
+
+    /**
+     * Reads and validates the jobs to import
+     * @return valid jobs in the file's order
+     * @throws IOHandlerException error during reading the file
+     */
+    public ArrayList<Job> read() throws IOHandlerException {
+        ArrayList<String> lines = readLines();
+        ArrayList<CompletableFuture<ValidatedBatch>> batches = new ArrayList<CompletableFuture<ValidatedBatch>>();
+        for (int startIndex = 0; startIndex < lines.size(); startIndex += BATCH_ROW_NO) {
+            int batchStartIndex = startIndex;
+            int batchEndIndex = Math.min(startIndex + BATCH_ROW_NO, lines.size());
+            batches.add(CompletableFuture.supplyAsync(() -> validateBatch(lines, batchStartIndex, batchEndIndex), IOHandler.PARSER_THREADS));
+        }
+        // Batches are joined in order, so jobs and invalid rows keep the file's order
+        ArrayList<Job> jobList = new ArrayList<Job>(lines.size());
+        for (CompletableFuture<ValidatedBatch> batch : batches) {
+            ValidatedBatch validatedBatch = batch.join();
+            jobList.addAll(validatedBatch.jobList);
+            report.addAll(validatedBatch.report);
+        }
+        report.setRowNo(lines.size());
+        return jobList;
+    }
+
+    /**
+     * Gets the validation report of the rows read
+     * @return validation report
+     */
+    public ValidationReport getReport() {
+        return report;
+    }
+
+    /**
+     * Reads the lines of the file, without the header of a CSV file
+     * @return lines, the first being line 1
+     * @throws IOHandlerException error during reading the file
+     */
+    private ArrayList<String> readLines() throws IOHandlerException {
+        ArrayList<String> lines = new ArrayList<String>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            if (!isJsonLines) {
+                reader.readLine(); // Reads the File Header
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new IOHandlerException(ERROR_READ + filePath);
+        }
+        return lines;
+    }
+
+    /**
+     * Validates a batch of lines on a parser thread
+     * @param lines lines of the file
+     * @param startIndex index of the first line of the batch
+     * @param endIndex index after the last line of the batch
+     * @return valid jobs and invalid rows of the batch
+     */
+    private ValidatedBatch validateBatch(ArrayList<String> lines, int startIndex, int endIndex) {
+        ValidatedBatch batch = new ValidatedBatch();
+        IOHandler ioHandler = new IOHandler();
+        for (int i = startIndex; i < endIndex; i++) {
+            int lineNo = i + 1;
+            String line = lines.get(i);
+            if (isJsonLines && line.trim().isEmpty()) {
+                continue;
+            }
+            String[] jobData = isJsonLines ? getJsonJobData(line) : ioHandler.processLine(line);
+            if (jobData == null || jobData.length > Job.DATA_FIELD_NO) {
+                batch.report.add(ValidationReport.INVALID_DATA_FORMAT, lineNo);
+                continue;
+            }
+            if (FieldParser.isEmpty(FieldParser.getField(jobData, CREATED_AT_INDEX))) {
+                jobData[CREATED_AT_INDEX] = Long.toString(importedAt + i);
+            }
+            Job job = Job.load(jobData, lineNo, batch.report);
+            if (job != null) {
+                // Skip line if invalid mandatory line in row
+                batch.jobList.add(job);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Builds job data fields in the jobs file order from a line of
+     * JSON using the jobs file header names
+     * @param line line of JSON
+     * @return job data fields, or null if not a JSON object
+     */
+    private String[] getJsonJobData(String line) {
+        LinkedHashMap<String, Object> fields;
+        try {
+            fields = new JsonHandler().parseObject(line);
+        } catch (InvalidDataFormatException e) {
+            return null;
+        }
+        String[] jobData = new String[JOB_HEADER_NAMES.length];
+        for (int i = 0; i < JOB_HEADER_NAMES.length; i++) {
+            Object value = fields.get(JOB_HEADER_NAMES[i]);
+            jobData[i] = (value instanceof String) ? (String) value : "";
+        }
+        return jobData;
+    }
+
+    /**
+     * The valid jobs and invalid rows of a batch of lines
+     */
+    private static class ValidatedBatch {
+        private final ArrayList<Job> jobList = new ArrayList<Job>();
+        private final ValidationReport report = new ValidationReport(null, IOHandler.JOB_FILE_TYPE);
+    }
+}
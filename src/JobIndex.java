@@ -0,0 +1,211 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A class that indexes the words of job titles and descriptions so that
+ * applicants can search the jobs instead of scrolling through all of them.
+ * Each word keeps a posting list of the jobs it appears in and how often,
+ * so a search only goes over the jobs holding its words, and the jobs are
+ * ranked with BM25: words rare among the jobs count for more, and a word
+ * counts for less the more often it repeats and the longer the job. Words
+ * in the title count twice, as the title says most about a job. Jobs are
+ * added as they are created, and the index is built again when the jobs
+ * file is reloaded
+ */
+public class JobIndex {
+
+    private final HashMap<String, Postings> postingsMap;   // word to the jobs it appears in
+    private Job[] jobs;                                     // jobs in the order added, by index
+    private int[] jobLengths;                               // weighted number of words of each job
+    private int jobNo;
+    private long totalLength;
+    private float[] lengthFactors;                          // how much each job is marked down for its length
+    private int lengthFactorNo;                             // jobs the length factors were worked out for
+    private float[] scores;                                 // scores of the current search, by job index
+    private int[] scoredJobIndexes;                         // jobs scored by the current search
+
+    // BM25 Constants
+    private final static float TERM_SATURATION = 1.2f;      // k1, how quickly repeats of a word stop counting
+    private final static float LENGTH_NORMALISATION = 0.75f; // b, how much longer jobs are marked down
+    private final static int TITLE_WEIGHT = 2;
+    private final static int INITIAL_CAPACITY = 16;
+
+    /**
+     * JobIndex constructor, indexing jobs
+     * @param jobList jobs
+     */
+    public JobIndex(List<Job> jobList) {
+        this.postingsMap = new HashMap<String, Postings>();
+        this.jobs = new Job[Math.max(INITIAL_CAPACITY, jobList.size())];
+        this.jobLengths = new int[jobs.length];
+        for (Job job : jobList) {
+            add(job, job.getRawTitle(), job.getRawDescription());
+        }
+    }
+
+    /**
+     * Adds a job to the index
+     * @param job job
+     */
+    public synchronized void add(Job job) {
+        add(job, job.getRawTitle(), job.getRawDescription());
+    }
+
+    /**
+     * Adds a job to the index under a title and description, such as
+     * those the job is about to be updated to
+     * @param job job
+     * @param title title as given, null or blank if none
+     * @param description description as given, null or blank if none
+     */
+    public synchronized void add(Job job, String title, String description) {
+        if (jobNo == jobs.length) {
+            int capacity = jobs.length * 2;
+            jobs = Arrays.copyOf(jobs, capacity);
+            jobLengths = Arrays.copyOf(jobLengths, capacity);
+        }
+        HashMap<String, Integer> termFrequencies = new HashMap<String, Integer>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : Tokenizer.tokenize(description)) {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length += 1;
+        }
+        int jobIndex = jobNo;
+        for (HashMap.Entry<String, Integer> termFrequency : termFrequencies.entrySet()) {
+            postingsMap.computeIfAbsent(termFrequency.getKey(), term -> new Postings()).add(jobIndex, termFrequency.getValue());
+        }
+        jobs[jobIndex] = job;
+        jobLengths[jobIndex] = length;
+        totalLength += length;
+        jobNo += 1;
+    }
+
+    /**
+     * Gets the number of jobs indexed
+     * @return number of jobs
+     */
+    public synchronized int size() {
+        return jobNo;
+    }
+
+    /**
+     * Searches for the jobs best matching the search terms
+     * @param terms search terms, separated by spaces or punctuation
+     * @param resultNo most jobs to return
+     * @return jobs holding any of the terms, best match first, and in the
+     *         order added among equal matches, empty if none
+     */
+    public synchronized ArrayList<Job> search(String terms, int resultNo) {
+        ArrayList<Job> results = new ArrayList<Job>();
+        if (jobNo == 0 || resultNo < 1) {
+            return results;
+        }
+        if (scores == null || scores.length < jobNo) {
+            scores = new float[jobs.length];
+            scoredJobIndexes = new int[jobs.length];
+        }
+        if (lengthFactorNo != jobNo) {
+            updateLengthFactors();
+        }
+        float[] scores = this.scores;
+        float[] lengthFactors = this.lengthFactors;
+        int[] scoredJobIndexes = this.scoredJobIndexes;
+        int scoredJobNo = 0;
+        for (String term : new HashSet<String>(Tokenizer.tokenize(terms))) {
+            Postings postings = postingsMap.get(term);
+            if (postings == null) {
+                continue;
+            }
+            float termWeight = (float) Math.log(1.0 + (jobNo - postings.size + 0.5) / (postings.size + 0.5)) * (TERM_SATURATION + 1);
+            int[] jobIndexes = postings.jobIndexes;
+            int[] termFrequencies = postings.termFrequencies;
+            for (int i = 0; i < postings.size; i++) {
+                int jobIndex = jobIndexes[i];
+                float termFrequency = termFrequencies[i];
+                if (scores[jobIndex] == 0) {
+                    scoredJobIndexes[scoredJobNo++] = jobIndex;
+                }
+                scores[jobIndex] += termWeight * termFrequency / (termFrequency + lengthFactors[jobIndex]);
+            }
+        }
+        // Keeps the best jobs seen so far, the worst of them first so it is the one replaced
+        PriorityQueue<Integer> topJobIndexes = new PriorityQueue<Integer>(resultNo + 1,
+                (thisIndex, otherIndex) -> compareScores(otherIndex, thisIndex));
+        for (int i = 0; i < scoredJobNo; i++) {
+            int jobIndex = scoredJobIndexes[i];
+            if (topJobIndexes.size() < resultNo) {
+                topJobIndexes.add(jobIndex);
+            } else if (compareScores(jobIndex, topJobIndexes.peek()) < 0) {
+                topJobIndexes.poll();
+                topJobIndexes.add(jobIndex);
+            }
+        }
+        while (!topJobIndexes.isEmpty()) {
+            results.add(jobs[topJobIndexes.poll()]);
+        }
+        Collections.reverse(results);
+        for (int i = 0; i < scoredJobNo; i++) {
+            scores[scoredJobIndexes[i]] = 0;
+        }
+        return results;
+    }
+
+    /**
+     * Works out how much each job is marked down for its length
+     * compared to the average, which changes as jobs are added
+     */
+    private void updateLengthFactors() {
+        if (lengthFactors == null || lengthFactors.length < jobNo) {
+            lengthFactors = new float[jobs.length];
+        }
+        float averageLength = Math.max(1.0f, (float) totalLength / jobNo);
+        for (int i = 0; i < jobNo; i++) {
+            lengthFactors[i] = TERM_SATURATION * (1 - LENGTH_NORMALISATION + LENGTH_NORMALISATION * jobLengths[i] / averageLength);
+        }
+        lengthFactorNo = jobNo;
+    }
+
+    /**
+     * Compares two jobs scored by the current search
+     * @param thisIndex index of a job
+     * @param otherIndex index of the other job
+     * @return negative if the first job ranks higher, positive if lower
+     */
+    private int compareScores(int thisIndex, int otherIndex) {
+        int comparison = Float.compare(scores[otherIndex], scores[thisIndex]);
+        return comparison != 0 ? comparison : Integer.compare(thisIndex, otherIndex);
+    }
+
+    /**
+     * The jobs a word appears in, in the order added, with how often
+     */
+    private static class Postings {
+        private int[] jobIndexes = new int[1];
+        private int[] termFrequencies = new int[1];
+        private int size;
+
+        /**
+         * Adds a job the word appears in
+         * @param jobIndex index of the job
+         * @param termFrequency weighted number of times the word appears
+         */
+        private void add(int jobIndex, int termFrequency) {
+            if (size == jobIndexes.length) {
+                jobIndexes = Arrays.copyOf(jobIndexes, size * 2);
+                termFrequencies = Arrays.copyOf(termFrequencies, size * 2);
+            }
+            jobIndexes[size] = jobIndex;
+            termFrequencies[size] = termFrequency;
+            size += 1;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * Class to read and write the JSON used by the server. Numbers are
+ * read as strings so that they can be validated the same way as
+ * fields read from the CSV files
+ */
+public class JsonHandler {
+
+    private String json;
+    private int position;
+
+    // Error Messages
+    private final String ERROR_UNEXPECTED = "Unexpected character in JSON at position ";
+    private final String ERROR_END = "Unexpected end of JSON.";
+
+    /**
+     * Default constructor
+     */
+    public JsonHandler(){}
+
+    /**
+     * Parses a JSON object
+     * @param json JSON text
+     * @return map of field names to values (String, ArrayList, LinkedHashMap or null)
+     * @throws InvalidDataFormatException invalid JSON or not an object
+     */
+    public LinkedHashMap<String, Object> parseObject(String json) throws InvalidDataFormatException {
+        this.json = json;
+        this.position = 0;
+        skipWhiteSpace();
+        if (peek() != '{') {
+            throw new InvalidDataFormatException(ERROR_UNEXPECTED + position);
+        }
+        LinkedHashMap<String, Object> object = readObject();
+        skipWhiteSpace();
+        if (position != json.length()) {
+            throw new InvalidDataFormatException(ERROR_UNEXPECTED + position);
+        }
+        return object;
+    }
+
+    /**
+     * Reads any JSON value
+     * @return value
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private Object readValue() throws InvalidDataFormatException {
+        skipWhiteSpace();
+        char c = peek();
+        if (c == '{') {
+            return readObject();
+        } else if (c == '[') {
+            return readArray();
+        } else if (c == '"') {
+            return readString();
+        } else if (json.startsWith("null", position)) {
+            position += 4;
+            return null;
+        } else if (json.startsWith("true", position)) {
+            position += 4;
+            return "true";
+        } else if (json.startsWith("false", position)) {
+            position += 5;
+            return "false";
+        } else {
+            return readNumber();
+        }
+    }
+
+    /**
+     * Reads a JSON object
+     * @return map of field names to values
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private LinkedHashMap<String, Object> readObject() throws InvalidDataFormatException {
+        LinkedHashMap<String, Object> object = new LinkedHashMap<String, Object>();
+        expect('{');
+        skipWhiteSpace();
+        if (peek() == '}') {
+            position += 1;
+            return object;
+        }
+        while (true) {
+            skipWhiteSpace();
+            String name = readString();
+            skipWhiteSpace();
+            expect(':');
+            object.put(name, readValue());
+            skipWhiteSpace();
+            if (peek() == ',') {
+                position += 1;
+            } else {
+                expect('}');
+                return object;
+            }
+        }
+    }
+
+    /**
+     * Reads a JSON array
+     * @return list of values
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private ArrayList<Object> readArray() throws InvalidDataFormatException {
+        ArrayList<Object> array = new ArrayList<Object>();
+        expect('[');
+        skipWhiteSpace();
+        if (peek() == ']') {
+            position += 1;
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+            skipWhiteSpace();
+            if (peek() == ',') {
+                position += 1;
+            } else {
+                expect(']');
+                return array;
+            }
+        }
+    }
+
+    /**
+     * Reads a JSON string
+     * @return string
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private String readString() throws InvalidDataFormatException {
+        expect('"');
+        StringBuilder stringBuilder = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return stringBuilder.toString();
+            } else if (c == '\\') {
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        stringBuilder.append('\n');
+                        break;
+                    case 't':
+                        stringBuilder.append('\t');
+                        break;
+                    case 'r':
+                        stringBuilder.append('\r');
+                        break;
+                    case 'b':
+                        stringBuilder.append('\b');
+                        break;
+                    case 'f':
+                        stringBuilder.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > json.length()) {
+                            throw new InvalidDataFormatException(ERROR_END);
+                        }
+                        try {
+                            stringBuilder.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        } catch (java.lang.NumberFormatException e) {
+                            throw new InvalidDataFormatException(ERROR_UNEXPECTED + position);
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        // Covers \" \\ and \/
+                        stringBuilder.append(escaped);
+                        break;
+                }
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Reads a JSON number as it is written
+     * @return number string
+     * @throws InvalidDataFormatException invalid JSON
+     */
+    private String readNumber() throws InvalidDataFormatException {
+        int start = position;
+        while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+            position += 1;
+        }
+        if (start == position) {
+            throw new InvalidDataFormatException(ERROR_UNEXPECTED + position);
+        }
+        return json.substring(start, position);
+    }
+
+    /**
+     * Skips whitespace between JSON tokens
+     */
+    private void skipWhiteSpace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position += 1;
+        }
+    }
+
+    /**
+     * Gets the current character without moving past it
+     * @return current character
+     * @throws InvalidDataFormatException end of JSON reached
+     */
+    private char peek() throws InvalidDataFormatException {
+        if (position >= json.length()) {
+            throw new InvalidDataFormatException(ERROR_END);
+        }
+        return json.charAt(position);
+    }
+
+    /**
+     * Gets the current character and moves past it
+     * @return current character
+     * @throws InvalidDataFormatException end of JSON reached
+     */
+    private char next() throws InvalidDataFormatException {
+        char c = peek();
+        position += 1;
+        return c;
+    }
+
+    /**
+     * Moves past the expected character
+     * @param expected expected character
+     * @throws InvalidDataFormatException current character is not the expected one
+     */
+    private void expect(char expected) throws InvalidDataFormatException {
+        if (next() != expected) {
+            throw new InvalidDataFormatException(ERROR_UNEXPECTED + (position - 1));
+        }
+    }
+
+    /**
+     * Writes a string as a quoted JSON string
+     * @param value string, or null
+     * @return JSON string
+     */
+    public String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder stringBuilder = new StringBuilder(value.length() + 2);
+        stringBuilder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    stringBuilder.append("\\\"");
+                    break;
+                case '\\':
+                    stringBuilder.append("\\\\");
+                    break;
+                case '\n':
+                    stringBuilder.append("\\n");
+                    break;
+                case '\r':
+                    stringBuilder.append("\\r");
+                    break;
+                case '\t':
+                    stringBuilder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        stringBuilder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        stringBuilder.append(c);
+                    }
+                    break;
+            }
+        }
+        stringBuilder.append('"');
+        return stringBuilder.toString();
+    }
+}
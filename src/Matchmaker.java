@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A class that represents the matchmaking process when selecting
@@ -22,6 +23,10 @@ public class Matchmaker {
     private final String NO_AVAILABLE_JOBS = "No jobs available.";
     private final String NO_AVAILABLE_APPLICANTS = "No applicants available.";
 
+    // Metrics Names
+    private final String METRICS_MATCH = "match.run";
+    private final String METRICS_CANDIDATES = "match.candidates";
+
     /**
      * Matchmaker default constructor
      */
@@ -60,6 +65,34 @@ public class Matchmaker {
         }
     }
 
+    /**
+     * Runs the matchmaking process without printing, so that
+     * the matches can be read through the getters
+     */
+    public void runMatchmaking() {
+        loadAppliedJobList();
+        if (hasAvailableJobs() && hasAvailableApplicants()) {
+            startMatchmaking();
+        }
+    }
+
+    /**
+     * Gets the jobs that were matched with an applicant
+     * @return matched job list
+     */
+    public ArrayList<Job> getMatchedJobList() {
+        return matchedJobList;
+    }
+
+    /**
+     * Gets the matched applicants, in the same order as
+     * the matched job list
+     * @return matched application list
+     */
+    public ArrayList<Application> getMatchedApplicationList() {
+        return matchedApplicationList;
+    }
+
     /**
      * Checks if there are any available jobs to matchmake
      * @return true if there are available jobs
@@ -120,45 +153,40 @@ public class Matchmaker {
      * process
      */
     private void startMatchmaking() {
+        long startTime = Metrics.start();
+        MatchmakingEvent event = new MatchmakingEvent();
+        event.begin();
+        int candidateNo = 0;
         for (Job job : appliedJobList) {
-            // For each Job that has applicants
-            ArrayList<Application> candidateList = getCandidateList(job);
-            findMatch(candidateList, job);
+            // For each Job that has applicants, only comparing those received since it was last matched
+            JobMatch match = job.getMatch();
+            candidateNo += match.update(job);
+            matchedApplicationList.add(match.getTopCandidate());
+            matchedJobList.add(job);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.jobNo = appliedJobList.size();
+            event.candidateNo = candidateNo;
+            event.commit();
+        }
+        Metrics.add(METRICS_CANDIDATES, candidateNo);
+        Metrics.stop(METRICS_MATCH, startTime);
     }
 
-    private ArrayList<Application> getCandidateList(Job job) {
-        ArrayList<Application> candidateList = new ArrayList<Application>();
-        ArrayList<String[]> receivedApplicationData = job.getReceivedApplications();
-        for (String[] data : receivedApplicationData) {
-            candidateList.add(new Application(data));
-        }
-        return candidateList;
-    }
-
-    private void findMatch(ArrayList<Application> candidateList, Job job) {
-        double topCandidateScore = 0;
-        Application topCandidate = candidateList.get(0); // Default Value
-        for (Application candidate : candidateList) {
-            // For each candidate
-            double candidateScore = 0;
-            candidateScore += getDegreeWeightage(job, candidate);
-            candidateScore += getWamWeightage(candidate.calculateWam()) * getWamPenalties(candidate.getSubjectCounter());
-            candidateScore += getSummaryWeightage(topCandidate);
-            if (candidateScore > topCandidateScore) {
-                // If current candidate is more than the top candidate in score, replace top with current
-                topCandidateScore = candidateScore;
-                topCandidate = candidate;
-            }
-            if ((candidateScore == topCandidateScore) && (candidate.getCreatedAt() < topCandidate.getCreatedAt())) {
-                // Tiebreak
-                // If current candidate submitted their application earlier, replace top with current
-                topCandidateScore = candidateScore;
-                topCandidate = candidate;
-            } 
-        }
-        matchedApplicationList.add(topCandidate);
-        matchedJobList.add(job);
+    /**
+     * Scores a candidate for a job
+     * @param job job
+     * @param candidate candidate
+     * @param topCandidate top candidate so far
+     * @return score
+     */
+    private double getCandidateScore(Job job, Application candidate, Application topCandidate) {
+        double candidateScore = 0;
+        candidateScore += getDegreeWeightage(job, candidate);
+        candidateScore += getWamWeightage(candidate.calculateWam()) * getWamPenalties(candidate.getSubjectCounter());
+        candidateScore += getSummaryWeightage(topCandidate);
+        return candidateScore;
     }
 
     /**
@@ -245,4 +273,64 @@ public class Matchmaker {
                 return 0;  
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The best candidate for a job among the applications it received so
+     * far. Candidates are compared in the order they were received, as a
+     * full matching would, so applications received later are compared on
+     * their own without going over the earlier ones again, with the same
+     * result. It is replaced when the job's details change
+     */
+    public static class JobMatch {
+        private final static Matchmaker SCORER = new Matchmaker();
+        private Application topCandidate;
+        private double topCandidateScore;
+        private int candidateNo;                // applications compared so far
+
+        /**
+         * Compares the applications the job received since the last update
+         * @param job job matched
+         * @return number of applications compared
+         */
+        public synchronized int update(Job job) {
+            List<Application> candidateList = job.getReceivedApplications();
+            for (int i = candidateNo; i < candidateList.size(); i++) {
+                compare(job, candidateList.get(i));
+            }
+            int comparedNo = candidateList.size() - candidateNo;
+            candidateNo = candidateList.size();
+            return comparedNo;
+        }
+
+        /**
+         * Gets the top candidate of the applications compared so far
+         * @return top candidate, or null if none were compared
+         */
+        public synchronized Application getTopCandidate() {
+            return topCandidate;
+        }
+
+        /**
+         * Compares a candidate with the top candidate so far
+         * @param job job matched
+         * @param candidate candidate
+         */
+        private void compare(Job job, Application candidate) {
+            if (topCandidate == null) {
+                topCandidate = candidate; // Default Value
+            }
+            double candidateScore = SCORER.getCandidateScore(job, candidate, topCandidate);
+            if (candidateScore > topCandidateScore) {
+                // If current candidate is more than the top candidate in score, replace top with current
+                topCandidateScore = candidateScore;
+                topCandidate = candidate;
+            }
+            if ((candidateScore == topCandidateScore) && (candidate.getCreatedAt() < topCandidate.getCreatedAt())) {
+                // Tiebreak
+                // If current candidate submitted their application earlier, replace top with current
+                topCandidateScore = candidateScore;
+                topCandidate = candidate;
+            }
+        }
+    }
+}
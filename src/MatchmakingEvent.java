@@ -0,0 +1,21 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a matchmaking run
+ */
+@Name("hrassistant.Matchmaking")
+@Label("Matchmaking")
+@Category("HR Assistant")
+@Description("Scoring the received applications of every job to find their best applicant")
+public class MatchmakingEvent extends jdk.jfr.Event {
+
+    @Label("Jobs")
+    @Description("Jobs that received applications")
+    public int jobNo;
+
+    @Label("Candidates Scored")
+    public int candidateNo;
+}
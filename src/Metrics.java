@@ -0,0 +1,275 @@
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class that keeps timings and counts of what the program spends its
+ * time on, such as reading files, loading data, matchmaking and each menu
+ * command. It is disabled unless the metrics flag is given, in which case
+ * every call returns after reading a single flag
+ */
+public class Metrics {
+
+    private static volatile boolean isEnabled = false;
+    private static final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+    private static final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+
+    private final static int BUCKET_NO = 64;                // One bucket per power of two nanoseconds
+    private final static double NANOS_PER_MILLI = 1000000.0;
+    private final static String STATS_DISABLED = "Metrics are disabled. Start the program with --metrics to enable them.";
+    private final static String STATS_TIMER_HEADER = String.format("%-32s %8s %12s %10s %10s %10s", "timer", "count", "total ms", "mean ms", "p99 ms", "max ms");
+    private final static String STATS_TIMER_ROW = "%-32s %8d %12.3f %10.3f %10.3f %10.3f\n";
+    private final static String STATS_COUNTER_ROW = "%-32s %8d\n";
+    private final static String ERROR_WRITE = "Unable to write metrics to file: ";
+
+    /**
+     * Metrics are only used through the static methods
+     */
+    private Metrics(){}
+
+    /**
+     * Enables the metrics, and writes them as JSON to a file
+     * when the program exits
+     * @param filePath file to write to on exit, or null to not write
+     */
+    public static void enable(String filePath) {
+        isEnabled = true;
+        if (filePath != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeJson(filePath)));
+        }
+    }
+
+    /**
+     * Checks if metrics are enabled
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Starts timing
+     * @return start time to pass to stop, 0 if disabled
+     */
+    public static long start() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing and records the time taken under a name
+     * @param name timer name
+     * @param startTime time returned by start
+     */
+    public static void stop(String name, long startTime) {
+        if (isEnabled && startTime != 0) {
+            timers.computeIfAbsent(name, key -> new Timer()).record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Adds one to a counter
+     * @param name counter name
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds to a counter
+     * @param name counter name
+     * @param amount amount to add
+     */
+    public static void add(String name, long amount) {
+        if (isEnabled) {
+            counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+        }
+    }
+
+    /**
+     * Prints the timers and counters as a table
+     */
+    public static void printStats() {
+        if (!isEnabled) {
+            System.out.println(STATS_DISABLED);
+            return;
+        }
+        System.out.println(STATS_TIMER_HEADER);
+        for (Map.Entry<String, Timer> entry : new TreeMap<String, Timer>(timers).entrySet()) {
+            Timer timer = entry.getValue();
+            System.out.printf(STATS_TIMER_ROW, entry.getKey(), timer.getCount(), toMillis(timer.getTotal()), toMillis(timer.getMean()),
+                    toMillis(timer.getPercentile(0.99)), toMillis(timer.getMax()));
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<String, LongAdder>(counters).entrySet()) {
+            System.out.printf(STATS_COUNTER_ROW, entry.getKey(), entry.getValue().sum());
+        }
+    }
+
+    /**
+     * Gets the timers and counters as JSON, with times in nanoseconds
+     * and each histogram bucket holding the number of times taken
+     * that were below its power of two
+     * @return JSON text
+     */
+    public static String toJson() {
+        JsonHandler jsonHandler = new JsonHandler();
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\"timers\":{");
+        String delimiter = "";
+        for (Map.Entry<String, Timer> entry : new TreeMap<String, Timer>(timers).entrySet()) {
+            Timer timer = entry.getValue();
+            stringBuilder.append(delimiter).append(jsonHandler.quote(entry.getKey())).append(":{");
+            stringBuilder.append("\"count\":").append(timer.getCount());
+            stringBuilder.append(",\"totalNanos\":").append(timer.getTotal());
+            stringBuilder.append(",\"maxNanos\":").append(timer.getMax());
+            stringBuilder.append(",\"p50Nanos\":").append(timer.getPercentile(0.5));
+            stringBuilder.append(",\"p99Nanos\":").append(timer.getPercentile(0.99));
+            stringBuilder.append(",\"histogram\":{");
+            String bucketDelimiter = "";
+            for (int i = 0; i < BUCKET_NO; i++) {
+                long bucketCount = timer.getBucketCount(i);
+                if (bucketCount > 0) {
+                    stringBuilder.append(bucketDelimiter).append("\"").append(getBucketLimit(i)).append("\":").append(bucketCount);
+                    bucketDelimiter = ",";
+                }
+            }
+            stringBuilder.append("}}");
+            delimiter = ",";
+        }
+        stringBuilder.append("},\"counters\":{");
+        delimiter = "";
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<String, LongAdder>(counters).entrySet()) {
+            stringBuilder.append(delimiter).append(jsonHandler.quote(entry.getKey())).append(':').append(entry.getValue().sum());
+            delimiter = ",";
+        }
+        stringBuilder.append("}}");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writes the metrics as JSON to a file
+     * @param filePath file path
+     */
+    private static void writeJson(String filePath) {
+        try {
+            PrintWriter writer = new IOHandler().openOutput(filePath);
+            writer.println(toJson());
+            writer.close();
+        } catch (IOHandlerException e) {
+            System.out.println(ERROR_WRITE + filePath);
+        }
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds
+     * @param nanos nanoseconds
+     * @return milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the bucket a time falls in
+     * @param nanos time in nanoseconds
+     * @return bucket index
+     */
+    private static int getBucket(long nanos) {
+        return Math.min(BUCKET_NO - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Gets the upper limit of a bucket
+     * @param bucket bucket index
+     * @return upper limit in nanoseconds
+     */
+    private static long getBucketLimit(int bucket) {
+        return bucket >= BUCKET_NO - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * A timer that keeps the count, total, maximum and a
+     * histogram of the times recorded
+     */
+    private static class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NO);
+
+        /**
+         * Records a time taken
+         * @param nanos time in nanoseconds
+         */
+        private void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(getBucket(nanos));
+        }
+
+        /**
+         * Gets the number of times recorded
+         * @return count
+         */
+        private long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the total of the times recorded
+         * @return total time in nanoseconds
+         */
+        private long getTotal() {
+            return total.sum();
+        }
+
+        /**
+         * Gets the longest time recorded
+         * @return maximum time in nanoseconds
+         */
+        private long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Gets the mean of the times recorded
+         * @return mean time in nanoseconds, 0 if none recorded
+         */
+        private long getMean() {
+            long timerCount = getCount();
+            return timerCount == 0 ? 0 : getTotal() / timerCount;
+        }
+
+        /**
+         * Gets the number of times recorded in a bucket
+         * @param bucket bucket index
+         * @return count
+         */
+        private long getBucketCount(int bucket) {
+            return buckets.get(bucket);
+        }
+
+        /**
+         * Gets an upper limit of a percentile from the histogram,
+         * never more than the maximum time recorded
+         * @param percentile percentile between 0 and 1
+         * @return time in nanoseconds
+         */
+        private long getPercentile(double percentile) {
+            long target = (long) Math.ceil(getCount() * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_NO; i++) {
+                seen += buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return Math.min(getBucketLimit(i), getMax());
+                }
+            }
+            return getMax();
+        }
+    }
+}
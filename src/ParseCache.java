@@ -0,0 +1,317 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32C;
+
+/**
+ * A class that keeps the applications parsed from an applications file
+ * between runs, so that a file that has not changed is not parsed again.
+ * The applications are kept as the records of an application store, which
+ * are mapped back into memory when loaded, beside a small file of the
+ * applications file's path, size, modified time and a hash of its content
+ * when parsed. If the file has only had rows appended since, the cached
+ * applications are used and only the appended rows are parsed, while a
+ * file edited anywhere else is parsed again from the start
+ */
+public class ParseCache {
+
+    private String csvFilePath;
+    private String cacheFilePath;
+
+    private final static String CACHE_FILE_EXTENSION = ".cache";     // Records are in generations beside it, e.g. .cache.1a2b
+    private final static String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private final static String WORK_FILE_EXTENSION = ".work";
+    private final static String VERSION = "1";
+    private final static int HASH_BUFFER_SIZE = 1 << 20;
+
+    // Property Names
+    private final static String PROPERTY_VERSION = "version";
+    private final static String PROPERTY_PATH = "csv.path";
+    private final static String PROPERTY_SIZE = "csv.size";
+    private final static String PROPERTY_MODIFIED = "csv.modified";
+    private final static String PROPERTY_HASH = "csv.hash";
+    private final static String PROPERTY_LINE_NO = "csv.lineNo";
+    private final static String PROPERTY_VALID_LINE_NO = "csv.validLineNo";
+    private final static String PROPERTY_RECORDS = "store.records";
+    private final static String PROPERTY_RECORD_NO = "store.recordNo";
+    private final static String PROPERTY_STRING_POSITION = "store.stringPosition";
+    private final static String PROPERTY_VALUE = "store.value.";
+
+    // Metrics Names
+    private final static String METRICS_HITS = "parseCache.hits";
+    private final static String METRICS_APPENDS = "parseCache.appends";
+    private final static String METRICS_MISSES = "parseCache.misses";
+    private final static String METRICS_OPEN = "parseCache.open";
+    private final static String METRICS_SAVE = "parseCache.save";
+
+    // Error Messages
+    private final static String ERROR_SAVE = "Unable to save parse cache: ";
+
+    /**
+     * ParseCache constructor
+     * @param csvFilePath file path of the applications file, the cache is kept beside it
+     */
+    public ParseCache(String csvFilePath) {
+        this.csvFilePath = csvFilePath;
+        this.cacheFilePath = csvFilePath + CACHE_FILE_EXTENSION;
+    }
+
+    /**
+     * Opens the cached applications, if the applications file is the one
+     * they were parsed from or has only had rows appended since, and
+     * carries on the validation report from where the cached rows left it
+     * @param report validation report for the applications file
+     * @return cached read of the file, with no applications if the cache cannot be used
+     */
+    public CachedRead open(ValidationReport report) {
+        long startTime = Metrics.start();
+        File csvFile = new File(csvFilePath);
+        long modifiedTime = csvFile.lastModified();    // Before reading, so any later edit changes it
+        CachedRead cachedRead = new CachedRead(modifiedTime);
+        ApplicationStore store = null;
+        try {
+            Properties properties = readProperties(cacheFilePath);
+            long cachedSize = Long.parseLong(properties.getProperty(PROPERTY_SIZE));
+            long size = csvFile.length();
+            if (!VERSION.equals(properties.getProperty(PROPERTY_VERSION))
+                    || !csvFile.getAbsolutePath().equals(properties.getProperty(PROPERTY_PATH)) || size < cachedSize) {
+                Metrics.increment(METRICS_MISSES);
+                return cachedRead;
+            }
+            boolean isUnchanged = size == cachedSize && modifiedTime == Long.parseLong(properties.getProperty(PROPERTY_MODIFIED));
+            // Anything but an unchanged file is hashed, to tell rows appended from rows edited
+            if (!isUnchanged && hash(cachedSize) != Long.parseLong(properties.getProperty(PROPERTY_HASH))) {
+                Metrics.increment(METRICS_MISSES);
+                return cachedRead;
+            }
+            ArrayList<String> codeValues = new ArrayList<String>();
+            codeValues.add(null);
+            while (properties.containsKey(PROPERTY_VALUE + codeValues.size())) {
+                codeValues.add(properties.getProperty(PROPERTY_VALUE + codeValues.size()));
+            }
+            store = ApplicationStore.open(getSiblingPath(properties.getProperty(PROPERTY_RECORDS)),
+                    Integer.parseInt(properties.getProperty(PROPERTY_RECORD_NO)), Long.parseLong(properties.getProperty(PROPERTY_STRING_POSITION)),
+                    codeValues.toArray(new String[0]), true);
+            report.readFrom(properties);
+            cachedRead.store = store;
+            cachedRead.cachedByteNo = cachedSize;
+            cachedRead.progress = new IOHandler.ReadProgress(cachedSize, Integer.parseInt(properties.getProperty(PROPERTY_LINE_NO)),
+                    Integer.parseInt(properties.getProperty(PROPERTY_VALID_LINE_NO)));
+            Metrics.increment(isUnchanged ? METRICS_HITS : METRICS_APPENDS);
+        } catch (IOException | IOHandlerException | NumberFormatException | RuntimeException e) {
+            // No cache yet, or one that cannot be read, which the next save replaces
+            if (store != null) {
+                store.close();
+            }
+            Metrics.increment(METRICS_MISSES);
+        } finally {
+            Metrics.stop(METRICS_OPEN, startTime);
+        }
+        return cachedRead;
+    }
+
+    /**
+     * Saves the applications of the applications file as read so far,
+     * replacing the cached applications. Nothing is saved if the read
+     * stopped partway through a line, which may still be written to
+     * @param cachedRead cached read the file was read from
+     * @param store application store of all applications read
+     * @param progress where the read of the file stopped
+     * @param report validation report for the rows read
+     */
+    public void save(CachedRead cachedRead, ApplicationStore store, IOHandler.ReadProgress progress, ValidationReport report) {
+        if (!cachedRead.isSaveNeeded(progress)) {
+            return;
+        }
+        long startTime = Metrics.start();
+        String oldRecordsFilePath = null;
+        try {
+            oldRecordsFilePath = getSiblingPath(readProperties(cacheFilePath).getProperty(PROPERTY_RECORDS));
+        } catch (IOException | RuntimeException e) {
+            // No cache to replace
+        }
+        String recordsFileName = new File(cacheFilePath).getName() + "." + Long.toHexString(System.currentTimeMillis())
+                + "-" + ProcessHandle.current().pid();
+        String recordsFilePath = getSiblingPath(recordsFileName);
+        try {
+            store.copyTo(recordsFilePath);
+            Properties properties = new Properties();
+            properties.setProperty(PROPERTY_VERSION, VERSION);
+            properties.setProperty(PROPERTY_PATH, new File(csvFilePath).getAbsolutePath());
+            properties.setProperty(PROPERTY_SIZE, Long.toString(progress.getByteNo()));
+            properties.setProperty(PROPERTY_MODIFIED, Long.toString(cachedRead.modifiedTime));
+            properties.setProperty(PROPERTY_HASH, Long.toString(hash(progress.getByteNo())));
+            properties.setProperty(PROPERTY_LINE_NO, Integer.toString(progress.getLineNo()));
+            properties.setProperty(PROPERTY_VALID_LINE_NO, Integer.toString(progress.getValidLineNo()));
+            properties.setProperty(PROPERTY_RECORDS, recordsFileName);
+            properties.setProperty(PROPERTY_RECORD_NO, Integer.toString(store.size()));
+            properties.setProperty(PROPERTY_STRING_POSITION, Long.toString(store.getStringPosition()));
+            String[] codeValues = store.getCodeValues();
+            for (int code = 1; code < codeValues.length; code++) {
+                properties.setProperty(PROPERTY_VALUE + code, codeValues[code]);
+            }
+            report.writeTo(properties);
+            // Written aside then moved over the old file, so a reader sees the old cache or the new one
+            String temporaryFilePath = cacheFilePath + TEMPORARY_FILE_EXTENSION + ProcessHandle.current().pid();
+            try (FileOutputStream outputStream = new FileOutputStream(temporaryFilePath)) {
+                properties.store(outputStream, null);
+                outputStream.getFD().sync();
+            }
+            Files.move(Paths.get(temporaryFilePath), Paths.get(cacheFilePath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (oldRecordsFilePath != null && !oldRecordsFilePath.equals(recordsFilePath)) {
+                ApplicationStore.delete(oldRecordsFilePath);
+            }
+        } catch (IOException | IOHandlerException e) {
+            ApplicationStore.delete(recordsFilePath);
+            System.out.println(ERROR_SAVE + cacheFilePath);
+        }
+        Metrics.stop(METRICS_SAVE, startTime);
+    }
+
+    /**
+     * Saves the applications of the applications file as read so far,
+     * when they are kept as objects instead of in an application store
+     * @param cachedRead cached read the file was read from
+     * @param readApplications applications read after the cached applications
+     * @param progress where the read of the file stopped
+     * @param report validation report for the rows read
+     */
+    public void save(CachedRead cachedRead, List<Application> readApplications, IOHandler.ReadProgress progress, ValidationReport report) {
+        if (!cachedRead.isSaveNeeded(progress)) {
+            return;
+        }
+        String workFilePath = cacheFilePath + WORK_FILE_EXTENSION + ProcessHandle.current().pid();
+        try {
+            ApplicationStore store;
+            if (cachedRead.store != null) {
+                // Appended to a copy, as the cached applications may be read by other processes
+                cachedRead.store.copyTo(workFilePath);
+                store = ApplicationStore.open(workFilePath, cachedRead.store.size(), cachedRead.store.getStringPosition(),
+                        cachedRead.store.getCodeValues(), false);
+            } else {
+                store = ApplicationStore.create(workFilePath);
+            }
+            for (Application application : readApplications) {
+                store.append(application, progress.getLineNo());
+            }
+            save(cachedRead, store, progress, report);
+            store.close();
+        } catch (IOHandlerException e) {
+            System.out.println(ERROR_SAVE + cacheFilePath);
+        } finally {
+            ApplicationStore.delete(workFilePath);
+        }
+    }
+
+    /**
+     * Applications cached for a read of the applications file
+     */
+    public static class CachedRead {
+        private final long modifiedTime;
+        private ApplicationStore store;
+        private IOHandler.ReadProgress progress = new IOHandler.ReadProgress();
+        private long cachedByteNo = -1;                 // Bytes of the file the cached applications were read from
+
+        /**
+         * CachedRead constructor, with no applications cached
+         * @param modifiedTime modified time of the file before reading it
+         */
+        private CachedRead(long modifiedTime) {
+            this.modifiedTime = modifiedTime;
+        }
+
+        /**
+         * Gets the cached applications, mapped read only
+         * @return application store, or null if none are cached
+         */
+        public ApplicationStore getStore() {
+            return store;
+        }
+
+        /**
+         * Gets where to carry on reading the file after the cached applications
+         * @return read progress, from the start of the file if none are cached
+         */
+        public IOHandler.ReadProgress getProgress() {
+            return progress;
+        }
+
+        /**
+         * Closes the cached applications, if any
+         */
+        public void close() {
+            if (store != null) {
+                store.close();
+            }
+        }
+
+        /**
+         * Checks if a read of the file should be saved, which is so if it read
+         * past the cached applications and stopped at the start of a line
+         * @param readProgress where the read of the file stopped
+         * @return true if the read should be saved
+         */
+        private boolean isSaveNeeded(IOHandler.ReadProgress readProgress) {
+            return readProgress.isAtLineStart() && readProgress.getByteNo() != cachedByteNo;
+        }
+    }
+
+    /**
+     * Hashes the start of the applications file
+     * @param byteNo number of bytes to hash
+     * @return CRC-32C of the bytes
+     * @throws IOException error during reading the file, or if it is shorter
+     */
+    private long hash(long byteNo) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < byteNo) {
+                buffer.clear();
+                buffer.limit((int) Math.min(HASH_BUFFER_SIZE, byteNo - position));
+                int readNo = fileChannel.read(buffer, position);
+                if (readNo < 0) {
+                    throw new IOException();
+                }
+                buffer.flip();
+                crc.update(buffer);
+                position += readNo;
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Reads properties from a file
+     * @param filePath file path
+     * @return properties
+     * @throws IOException error during reading the file
+     */
+    private Properties readProperties(String filePath) throws IOException {
+        Properties properties = new Properties();
+        try (FileInputStream inputStream = new FileInputStream(filePath)) {
+            properties.load(inputStream);
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the path of a file in the same directory as the cache
+     * @param fileName file name
+     * @return file path
+     */
+    private String getSiblingPath(String fileName) {
+        return Paths.get(cacheFilePath).resolveSibling(fileName).toString();
+    }
+}
@@ -0,0 +1,457 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Class to handle the save file when more than one process may use it
+ * at the same time. The save file holds a snapshot of the jobs stamped
+ * with a version, and changes made since the snapshot are appended to a
+ * journal. Both are only touched while holding a lock on the lock file,
+ * so processes add their changes to each other's instead of overwriting
+ * them
+ */
+public class SaveStore {
+
+    public final static String JOURNAL_FILEPATH = "save.journal";
+    public final static String LOCK_FILEPATH = "save.lock";
+
+    // Journal Entry Types
+    private final static String ENTRY_JOB = "J";
+    private final static String ENTRY_APPLICATION = "A";
+    private final static String ENTRY_JOB_UPDATE = "U";
+    private final static String ENTRY_JOB_REMOVAL = "R";
+
+    private final static long UNREADABLE_VERSION = -1;      // Snapshot that cannot be read, such as one from an older version
+    private final static String UNREADABLE_FILE_SUFFIX = ".unreadable";
+
+    private final int LOCK_RETRY_NO = 50;
+    private final int LOCK_RETRY_MILLIS = 10;
+    private final String TEMP_FILE_SUFFIX = ".tmp";
+
+    // Metrics Names
+    private final String METRICS_LOCK = "save.lock";
+    private final String METRICS_READ_SNAPSHOT = "save.readSnapshot";
+    private final String METRICS_REPLAY_JOURNAL = "save.replayJournal";
+    private final String METRICS_WRITE_SNAPSHOT = "save.writeSnapshot";
+    private final String METRICS_APPEND_JOURNAL = "save.appendJournal";
+    private final String METRICS_JOURNAL_ENTRIES = "save.journalEntries";
+
+    private IOHandler ioHandler;
+    private long loadedVersion;                         // Version of the snapshot loaded, 0 if none
+    private long knownJournalLength;                    // Journal length when this process last read or wrote it
+    private ArrayList<String> pendingEntries;           // Changes not yet written to the journal
+
+    // Error Messages
+    private final String ERROR_READ_SAVE = "Unable to read object from save file.";
+    private final String WARNING_SNAPSHOT_MOVED = "Unable to read save file, loading jobs file instead. The save file was moved to: ";
+    private final String ERROR_MOVE = "Unable to move unreadable save file: ";
+    private final String ERROR_WRITE = "Unable to write object to file: ";
+    private final String ERROR_LOCK = "Unable to lock save file: ";
+
+    /**
+     * Default constructor
+     */
+    public SaveStore() {
+        this.ioHandler = new IOHandler();
+        this.loadedVersion = 0;
+        this.knownJournalLength = 0;
+        this.pendingEntries = new ArrayList<String>();
+    }
+
+    /**
+     * Loads the jobs from the snapshot if present, else from the jobs
+     * given, then replays the changes in the journal made since. A
+     * snapshot that cannot be read, such as one written by an older
+     * version of the program, is moved aside along with its journal,
+     * so that no save replaces it, and the jobs given are loaded instead
+     * @param csvJobList reads the jobs from the jobs file when there is no snapshot
+     * @return job list
+     * @throws IOHandlerException error during reading the save file
+     */
+    public synchronized ArrayList<Job> load(Supplier<ArrayList<Job>> csvJobList) throws IOHandlerException {
+        FileChannel lockChannel = openLockChannel();
+        try {
+            lock(lockChannel);
+            ArrayList<Job> jobList;
+            if (new File(IOHandler.DATA_SAVE_FILEPATH).exists()) {
+                long startTime = Metrics.start();
+                try {
+                    jobList = readSnapshot();
+                } catch (IOHandlerException e) {
+                    String movedFilePath = moveAside(IOHandler.DATA_SAVE_FILEPATH);
+                    moveAside(JOURNAL_FILEPATH);
+                    System.out.println(WARNING_SNAPSHOT_MOVED + movedFilePath);
+                    loadedVersion = 0;
+                    jobList = csvJobList.get();
+                }
+                Metrics.stop(METRICS_READ_SNAPSHOT, startTime);
+            } else {
+                loadedVersion = 0;
+                jobList = csvJobList.get();
+            }
+            long startTime = Metrics.start();
+            knownJournalLength = replayJournal(jobList);
+            Metrics.stop(METRICS_REPLAY_JOURNAL, startTime);
+            pendingEntries.clear();
+            return jobList;
+        } finally {
+            closeLockChannel(lockChannel);
+        }
+    }
+
+    /**
+     * Records a new job to be written on the next save
+     * @param job job
+     */
+    public synchronized void recordJob(Job job) {
+        pendingEntries.add(ENTRY_JOB + "," + stripNewLine(job.getQuotedCSVFormat()));
+    }
+
+    /**
+     * Records new details of a job to be written on the next save
+     * @param job job with its new details
+     */
+    public synchronized void recordJobUpdate(Job job) {
+        pendingEntries.add(ENTRY_JOB_UPDATE + "," + stripNewLine(job.getQuotedCSVFormat()));
+    }
+
+    /**
+     * Records a job removed to be written on the next save
+     * @param job job removed
+     */
+    public synchronized void recordJobRemoval(Job job) {
+        pendingEntries.add(ENTRY_JOB_REMOVAL + "," + job.getCreatedAt());
+    }
+
+    /**
+     * Records an application made to a job to be written on the next save
+     * @param job job applied to
+     * @param application application
+     */
+    public synchronized void recordApplication(Job job, Application application) {
+        pendingEntries.add(ENTRY_APPLICATION + "," + job.getCreatedAt() + "," + stripNewLine(application.getCSVFormat()));
+    }
+
+    /**
+     * Saves the changes made by this process. If no other process has saved
+     * since this one last did, the jobs hold every change, so they are
+     * written as the next snapshot and the journal is cleared. Otherwise
+     * the changes are appended to the journal for the next load to replay
+     * @param jobList jobs with their received applications
+     * @throws IOHandlerException error during writing the save file
+     */
+    public synchronized void save(List<Job> jobList) throws IOHandlerException {
+        FileChannel lockChannel = openLockChannel();
+        try {
+            lock(lockChannel);
+            long currentVersion = readSnapshotVersion();
+            long journalLength = new File(JOURNAL_FILEPATH).length();
+            if (currentVersion == loadedVersion && journalLength == knownJournalLength) {
+                long version = Math.max(currentVersion, 0) + 1;
+                long startTime = Metrics.start();
+                writeSnapshot(jobList, version);
+                Metrics.stop(METRICS_WRITE_SNAPSHOT, startTime);
+                Files.deleteIfExists(Paths.get(JOURNAL_FILEPATH));
+                loadedVersion = version;
+                knownJournalLength = 0;
+            } else if (!pendingEntries.isEmpty()) {
+                long startTime = Metrics.start();
+                appendJournal(currentVersion);
+                Metrics.stop(METRICS_APPEND_JOURNAL, startTime);
+            }
+            pendingEntries.clear();
+        } catch (IOHandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_WRITE + IOHandler.DATA_SAVE_FILEPATH);
+        } finally {
+            closeLockChannel(lockChannel);
+        }
+    }
+
+    /**
+     * Reads the snapshot and its version
+     * @return job list
+     * @throws IOHandlerException error during reading the save file
+     */
+    private ArrayList<Job> readSnapshot() throws IOHandlerException {
+        ArrayList<Job> jobList = new ArrayList<Job>();
+        SnapshotReadEvent event = new SnapshotReadEvent();
+        event.begin();
+        try {
+            ObjectInputStream input = new ObjectInputStream(new FileInputStream(IOHandler.DATA_SAVE_FILEPATH));
+            long version = input.readLong();
+            ArrayList<?> objectList = (ArrayList<?>) input.readObject();       // Any type to avoid java compiler warning when typecasting
+            input.close();
+            for (Object obj : objectList) {
+                jobList.add((Job) obj);
+            }
+            loadedVersion = version;
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_READ_SAVE);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.version = loadedVersion;
+            event.jobNo = jobList.size();
+            event.byteNo = new File(IOHandler.DATA_SAVE_FILEPATH).length();
+            event.commit();
+        }
+        return jobList;
+    }
+
+    /**
+     * Reads only the version of the snapshot
+     * @return version, 0 if there is no snapshot, or -1 if it cannot be read
+     */
+    private long readSnapshotVersion() {
+        if (!new File(IOHandler.DATA_SAVE_FILEPATH).exists()) {
+            return 0;
+        }
+        try {
+            ObjectInputStream input = new ObjectInputStream(new FileInputStream(IOHandler.DATA_SAVE_FILEPATH));
+            long version = input.readLong();
+            input.close();
+            return version;
+        } catch (Exception e) {
+            return UNREADABLE_VERSION;
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it over the
+     * save file, so that the save file is never left half written
+     * @param jobList job list
+     * @param version version of the snapshot
+     * @throws IOHandlerException error during writing the save file
+     */
+    private void writeSnapshot(List<Job> jobList, long version) throws IOHandlerException {
+        Path savePath = Paths.get(IOHandler.DATA_SAVE_FILEPATH);
+        Path tempPath = Paths.get(IOHandler.DATA_SAVE_FILEPATH + TEMP_FILE_SUFFIX);
+        SnapshotWriteEvent event = new SnapshotWriteEvent();
+        event.begin();
+        try {
+            ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(tempPath.toFile(), false));
+            output.writeLong(version);
+            output.writeObject(new ArrayList<Job>(jobList));
+            output.close();
+            event.byteNo = Files.size(tempPath);
+            try {
+                Files.move(tempPath, savePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, savePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_WRITE + IOHandler.DATA_SAVE_FILEPATH);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.version = version;
+            event.jobNo = jobList.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Appends the pending changes to the journal, each stamped with
+     * the version of the snapshot they were made on top of
+     * @param version current snapshot version
+     * @throws IOHandlerException error during writing the journal
+     */
+    private void appendJournal(long version) throws IOHandlerException {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String entry : pendingEntries) {
+            stringBuilder.append(version).append(',').append(entry).append('\n');
+        }
+        try {
+            FileChannel journalChannel = FileChannel.open(Paths.get(JOURNAL_FILEPATH), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            ByteBuffer buffer = ByteBuffer.wrap(stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journalChannel.write(buffer);
+            }
+            journalChannel.force(false);
+            journalChannel.close();
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_WRITE + JOURNAL_FILEPATH);
+        }
+    }
+
+    /**
+     * Replays the journal entries made on top of the loaded snapshot.
+     * Entries stamped with an older version are already in the snapshot,
+     * and jobs already in the list are not added again
+     * @param jobList job list to replay into
+     * @return journal length read
+     * @throws IOHandlerException error during reading the journal
+     */
+    private long replayJournal(ArrayList<Job> jobList) throws IOHandlerException {
+        File journalFile = new File(JOURNAL_FILEPATH);
+        if (!journalFile.exists()) {
+            return 0;
+        }
+        HashMap<Long, Job> jobMap = new HashMap<Long, Job>();
+        for (Job job : jobList) {
+            jobMap.putIfAbsent(job.getCreatedAt(), job);
+        }
+        String versionPrefix = loadedVersion + ",";
+        String currentLine;
+        int lineNo = 1;
+        try {
+            BufferedReader journalReader = new BufferedReader(new FileReader(journalFile));
+            while ((currentLine = journalReader.readLine()) != null) {
+                if (currentLine.startsWith(versionPrefix)) {
+                    replayEntry(currentLine.substring(versionPrefix.length()), lineNo, jobList, jobMap);
+                    Metrics.increment(METRICS_JOURNAL_ENTRIES);
+                }
+                lineNo += 1;
+            }
+            journalReader.close();
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_READ_SAVE);
+        }
+        return journalFile.length();
+    }
+
+    /**
+     * Replays one journal entry, skipping it if it cannot be read
+     * @param entry entry without its version
+     * @param lineNo line number in the journal
+     * @param jobList job list to replay into
+     * @param jobMap jobs by their created at
+     */
+    private void replayEntry(String entry, int lineNo, ArrayList<Job> jobList, HashMap<Long, Job> jobMap) {
+        String[] entryData = entry.split(",", 3);
+        try {
+            if (entryData[0].equals(ENTRY_JOB)) {
+                Job job = new Job(ioHandler.processLine(entry.substring(ENTRY_JOB.length() + 1)), lineNo);
+                if (jobMap.putIfAbsent(job.getCreatedAt(), job) == null) {
+                    jobList.add(job);
+                }
+            } else if (entryData[0].equals(ENTRY_APPLICATION)) {
+                Job job = jobMap.get(Long.parseLong(entryData[1]));
+                if (job != null) {
+                    job.saveApplication(entryData[2]);
+                }
+            } else if (entryData[0].equals(ENTRY_JOB_UPDATE)) {
+                Job updatedJob = new Job(ioHandler.processLine(entry.substring(ENTRY_JOB_UPDATE.length() + 1)), lineNo);
+                Job job = jobMap.get(updatedJob.getCreatedAt());
+                if (job != null) {
+                    job.updateDetails(updatedJob);
+                }
+            } else if (entryData[0].equals(ENTRY_JOB_REMOVAL)) {
+                Job job = jobMap.remove(Long.parseLong(entryData[1]));
+                if (job != null) {
+                    jobList.remove(job);
+                }
+            }
+        } catch (Exception e) {
+            // Skip entries cut short by a process that stopped while writing
+        }
+    }
+
+    /**
+     * Moves a file aside so that it is kept as it is, adding
+     * a number to the new name if one was moved there before
+     * @param filePath file path
+     * @return new file path, or null if there is no file
+     * @throws IOHandlerException error during moving the file
+     */
+    private String moveAside(String filePath) throws IOHandlerException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Path movedPath = Paths.get(filePath + UNREADABLE_FILE_SUFFIX);
+        int fileNo = 1;
+        while (Files.exists(movedPath)) {
+            movedPath = Paths.get(filePath + UNREADABLE_FILE_SUFFIX + "." + fileNo);
+            fileNo += 1;
+        }
+        try {
+            Files.move(path, movedPath);
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_MOVE + filePath);
+        }
+        return movedPath.toString();
+    }
+
+    /**
+     * Opens the lock file
+     * @return lock file channel
+     * @throws IOHandlerException error during opening the lock file
+     */
+    private FileChannel openLockChannel() throws IOHandlerException {
+        try {
+            return FileChannel.open(Paths.get(LOCK_FILEPATH), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_LOCK + LOCK_FILEPATH);
+        }
+    }
+
+    /**
+     * Locks the lock file, retrying shortly while another process
+     * holds it before waiting for it to be released
+     * @param lockChannel lock file channel
+     * @return lock
+     * @throws IOHandlerException error during locking
+     */
+    private FileLock lock(FileChannel lockChannel) throws IOHandlerException {
+        long startTime = Metrics.start();
+        try {
+            for (int i = 0; i < LOCK_RETRY_NO; i++) {
+                FileLock lock = lockChannel.tryLock();
+                if (lock != null) {
+                    return lock;
+                }
+                Thread.sleep(LOCK_RETRY_MILLIS);
+            }
+            return lockChannel.lock();
+        } catch (Exception e) {
+            throw new IOHandlerException(ERROR_LOCK + LOCK_FILEPATH);
+        } finally {
+            Metrics.stop(METRICS_LOCK, startTime);
+        }
+    }
+
+    /**
+     * Closes the lock file, which releases the lock
+     * @param lockChannel lock file channel
+     */
+    private void closeLockChannel(FileChannel lockChannel) {
+        try {
+            lockChannel.close();
+        } catch (Exception e) {
+            // Lock is released when the process exits
+        }
+    }
+
+    /**
+     * Removes the new line at the end of a CSV line
+     * @param csvLine CSV line
+     * @return CSV line without new line
+     */
+    private String stripNewLine(String csvLine) {
+        if (csvLine.endsWith("\n")) {
+            return csvLine.substring(0, csvLine.length() - 1);
+        }
+        return csvLine;
+    }
+}
@@ -0,0 +1,25 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for reading the save file snapshot
+ */
+@Name("hrassistant.SnapshotRead")
+@Label("Snapshot Read")
+@Category({"HR Assistant", "Save File"})
+@Description("Reading the jobs and their received applications from the save file")
+public class SnapshotReadEvent extends jdk.jfr.Event {
+
+    @Label("Version")
+    public long version;
+
+    @Label("Jobs")
+    public int jobNo;
+
+    @Label("Bytes")
+    @DataAmount
+    public long byteNo;
+}
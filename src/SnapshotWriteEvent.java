@@ -0,0 +1,25 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for writing the save file snapshot
+ */
+@Name("hrassistant.SnapshotWrite")
+@Label("Snapshot Write")
+@Category({"HR Assistant", "Save File"})
+@Description("Writing the jobs and their received applications to the save file")
+public class SnapshotWriteEvent extends jdk.jfr.Event {
+
+    @Label("Version")
+    public long version;
+
+    @Label("Jobs")
+    public int jobNo;
+
+    @Label("Bytes")
+    @DataAmount
+    public long byteNo;
+}
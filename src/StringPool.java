@@ -0,0 +1,38 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class that keeps one shared copy of data field values that repeat
+ * across many rows, such as degrees, genders and job titles, so that a
+ * million applications hold a reference to the same few strings instead
+ * of a million copies of them
+ */
+public class StringPool {
+
+    private final static ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<String, String>();
+    private final static int MAX_POOL_SIZE = 65536;     // Past this, new values are kept as they are
+
+    /**
+     * Values are only pooled through the static methods
+     */
+    private StringPool(){}
+
+    /**
+     * Gets the shared copy of a value
+     * @param value value
+     * @return shared copy, or the value itself if it is null or the pool is full
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooledValue = pool.get(value);
+        if (pooledValue != null) {
+            return pooledValue;
+        }
+        if (pool.size() >= MAX_POOL_SIZE) {
+            return value;
+        }
+        pooledValue = pool.putIfAbsent(value, value);
+        return pooledValue == null ? value : pooledValue;
+    }
+}
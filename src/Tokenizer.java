@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A class that splits free text, such as job descriptions and search
+ * terms, into lowercase words for indexing, so that the same words are
+ * found whatever their case or the punctuation around them
+ */
+public class Tokenizer {
+
+    private final static int INITIAL_WORD_NO = 32;
+
+    /**
+     * Text is only split through the static methods
+     */
+    private Tokenizer(){}
+
+    /**
+     * Splits text into words made of letters and digits, in lowercase
+     * @param text text, or null
+     * @return words in the order they appear, empty if none
+     */
+    public static ArrayList<String> tokenize(String text) {
+        ArrayList<String> tokens = new ArrayList<String>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int tokenStartIndex = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean isWordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && tokenStartIndex < 0) {
+                tokenStartIndex = i;
+            } else if (!isWordChar && tokenStartIndex >= 0) {
+                tokens.add(text.substring(tokenStartIndex, i).toLowerCase());
+                tokenStartIndex = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Checks if text holds the words of a phrase next to each other in
+     * order, reading the words of the text in place instead of splitting it
+     * @param text text, or null
+     * @param phrase words of the phrase, in lowercase as split by tokenize
+     * @return true if the phrase is in the text
+     */
+    public static boolean containsPhrase(String text, List<String> phrase) {
+        if (text == null || phrase.isEmpty()) {
+            return false;
+        }
+        // Where each word of the text starts and ends, so any word can be the start of the phrase
+        int[] wordBounds = new int[INITIAL_WORD_NO * 2];
+        int wordNo = 0;
+        int length = text.length();
+        int wordStartIndex = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean isWordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && wordStartIndex < 0) {
+                wordStartIndex = i;
+            } else if (!isWordChar && wordStartIndex >= 0) {
+                if (wordNo * 2 == wordBounds.length) {
+                    wordBounds = Arrays.copyOf(wordBounds, wordBounds.length * 2);
+                }
+                wordBounds[wordNo * 2] = wordStartIndex;
+                wordBounds[wordNo * 2 + 1] = i;
+                wordNo += 1;
+                wordStartIndex = -1;
+            }
+        }
+        for (int i = 0; i + phrase.size() <= wordNo; i++) {
+            int j = 0;
+            while (j < phrase.size() && isWord(text, wordBounds[(i + j) * 2], wordBounds[(i + j) * 2 + 1], phrase.get(j))) {
+                j += 1;
+            }
+            if (j == phrase.size()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a word of text is a lowercase word, whatever its case
+     * @param text text
+     * @param startIndex index of the word's first character
+     * @param endIndex index after the word's last character
+     * @param word lowercase word
+     * @return true if they are the same word
+     */
+    private static boolean isWord(String text, int startIndex, int endIndex, String word) {
+        return endIndex - startIndex == word.length() && text.regionMatches(true, startIndex, word, 0, word.length());
+    }
+}
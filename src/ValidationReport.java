@@ -0,0 +1,241 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A class that collects the invalid rows found while loading a jobs or
+ * applications file, counted by type of error with a sample of their line
+ * numbers, so that a file with many bad rows is summarised in a few lines
+ * instead of printing a warning for each row
+ */
+public class ValidationReport {
+
+    // Error Types
+    public final static String INVALID_DATA_FORMAT = "invalid data format";
+    public final static String INVALID_MANDATORY = "invalid mandatory data field";
+    public final static String INVALID_NUMBER = "invalid number format";
+    public final static String INVALID_CHARACTERISTIC = "invalid characteristic";
+    public final static String INVALID_JOB_SELECTION = "invalid job selection";
+
+    private static volatile String reportFilePath;      // File each report is also appended to, if any
+
+    private String filePath;
+    private String fileType;
+    private int rowNo;
+    private LinkedHashMap<String, Integer> errorCounts;
+    private LinkedHashMap<String, ArrayList<Integer>> sampleLineNos;
+
+    private final int SAMPLE_LINE_NO = 10;
+    private final String WARNING_SUMMARY = "WARNING: %d %s with %s in %s file, e.g. line %s\n";
+    private final String SAMPLE_DELIMITER = ", ";
+
+    // Property Names, for writeTo and readFrom
+    private final static String PROPERTY_ERROR = "error.";
+    private final static String PROPERTY_TYPE = ".type";
+    private final static String PROPERTY_COUNT = ".count";
+    private final static String PROPERTY_SAMPLES = ".sampleLines";
+
+    // Error Messages
+    private final static String ERROR_READ_PROPERTIES = "Invalid saved validation report for ";
+
+    /**
+     * ValidationReport constructor
+     * @param filePath file being loaded
+     * @param fileType type of file (jobs or applications)
+     */
+    public ValidationReport(String filePath, String fileType) {
+        this.filePath = filePath;
+        this.fileType = fileType;
+        this.errorCounts = new LinkedHashMap<String, Integer>();
+        this.sampleLineNos = new LinkedHashMap<String, ArrayList<Integer>>();
+    }
+
+    /**
+     * Sets a file that every report is appended to as a line of JSON
+     * @param filePath file path, or null to not write reports
+     */
+    public static void setReportFilePath(String filePath) {
+        reportFilePath = filePath;
+    }
+
+    /**
+     * Adds an invalid row
+     * @param errorType type of error
+     * @param lineNo line number of the row
+     */
+    public void add(String errorType, int lineNo) {
+        Integer errorCount = errorCounts.get(errorType);
+        if (errorCount == null) {
+            errorCounts.put(errorType, 1);
+            sampleLineNos.put(errorType, new ArrayList<Integer>(SAMPLE_LINE_NO));
+        } else {
+            errorCounts.put(errorType, errorCount + 1);
+        }
+        ArrayList<Integer> samples = sampleLineNos.get(errorType);
+        if (samples.size() < SAMPLE_LINE_NO) {
+            samples.add(lineNo);
+        }
+    }
+
+    /**
+     * Adds the invalid rows of another report, such as one for a
+     * later part of the same file, keeping their line numbers
+     * @param report validation report to add
+     */
+    public void addAll(ValidationReport report) {
+        for (Map.Entry<String, Integer> entry : report.errorCounts.entrySet()) {
+            String errorType = entry.getKey();
+            Integer errorCount = errorCounts.get(errorType);
+            if (errorCount == null) {
+                errorCounts.put(errorType, entry.getValue());
+                sampleLineNos.put(errorType, new ArrayList<Integer>(SAMPLE_LINE_NO));
+            } else {
+                errorCounts.put(errorType, errorCount + entry.getValue());
+            }
+            ArrayList<Integer> samples = sampleLineNos.get(errorType);
+            for (int lineNo : report.sampleLineNos.get(errorType)) {
+                if (samples.size() < SAMPLE_LINE_NO) {
+                    samples.add(lineNo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the number of rows read
+     * @param rowNo number of rows
+     */
+    public void setRowNo(int rowNo) {
+        this.rowNo = rowNo;
+    }
+
+    /**
+     * Gets the number of rows with an error type
+     * @param errorType type of error
+     * @return number of rows
+     */
+    public int getErrorCount(String errorType) {
+        Integer errorCount = errorCounts.get(errorType);
+        return errorCount == null ? 0 : errorCount;
+    }
+
+    /**
+     * Gets the number of invalid rows of every error type
+     * @return number of rows
+     */
+    public int getErrorCount() {
+        int errorCount = 0;
+        for (int count : errorCounts.values()) {
+            errorCount += count;
+        }
+        return errorCount;
+    }
+
+    /**
+     * Writes the invalid rows found so far to properties, so that
+     * the report can be carried on by a later load of the file
+     * @param properties properties to write to
+     */
+    public void writeTo(Properties properties) {
+        int errorIndex = 0;
+        for (Map.Entry<String, Integer> entry : errorCounts.entrySet()) {
+            properties.setProperty(PROPERTY_ERROR + errorIndex + PROPERTY_TYPE, entry.getKey());
+            properties.setProperty(PROPERTY_ERROR + errorIndex + PROPERTY_COUNT, Integer.toString(entry.getValue()));
+            properties.setProperty(PROPERTY_ERROR + errorIndex + PROPERTY_SAMPLES, joinSamples(sampleLineNos.get(entry.getKey()), ","));
+            errorIndex += 1;
+        }
+    }
+
+    /**
+     * Replaces the invalid rows found with those written to properties
+     * @param properties properties written by writeTo
+     * @throws NumberFormatException error if the properties were not written by writeTo
+     */
+    public void readFrom(Properties properties) throws NumberFormatException {
+        LinkedHashMap<String, Integer> readErrorCounts = new LinkedHashMap<String, Integer>();
+        LinkedHashMap<String, ArrayList<Integer>> readSampleLineNos = new LinkedHashMap<String, ArrayList<Integer>>();
+        try {
+            for (int errorIndex = 0; properties.containsKey(PROPERTY_ERROR + errorIndex + PROPERTY_TYPE); errorIndex++) {
+                String errorType = properties.getProperty(PROPERTY_ERROR + errorIndex + PROPERTY_TYPE);
+                readErrorCounts.put(errorType, Integer.parseInt(properties.getProperty(PROPERTY_ERROR + errorIndex + PROPERTY_COUNT)));
+                ArrayList<Integer> samples = new ArrayList<Integer>(SAMPLE_LINE_NO);
+                for (String lineNo : properties.getProperty(PROPERTY_ERROR + errorIndex + PROPERTY_SAMPLES).split(",")) {
+                    samples.add(Integer.parseInt(lineNo));
+                }
+                readSampleLineNos.put(errorType, samples);
+            }
+        } catch (RuntimeException e) {
+            throw new NumberFormatException(ERROR_READ_PROPERTIES + filePath);
+        }
+        errorCounts = readErrorCounts;
+        sampleLineNos = readSampleLineNos;
+    }
+
+    /**
+     * Checks if any invalid rows were found
+     * @return true if has errors
+     */
+    public boolean hasErrors() {
+        return !errorCounts.isEmpty();
+    }
+
+    /**
+     * Prints one warning per error type, then appends
+     * the report to the report file if one is set
+     */
+    public void publish() {
+        for (Map.Entry<String, Integer> entry : errorCounts.entrySet()) {
+            int errorCount = entry.getValue();
+            System.out.printf(WARNING_SUMMARY, errorCount, errorCount == 1 ? "row" : "rows", entry.getKey(), fileType,
+                    joinSamples(sampleLineNos.get(entry.getKey()), SAMPLE_DELIMITER));
+        }
+        String outputFilePath = reportFilePath;
+        if (outputFilePath != null) {
+            try {
+                new IOHandler().appendToFile(outputFilePath, toJson() + "\n");
+            } catch (IOHandlerException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the report as JSON
+     * @return JSON text
+     */
+    public String toJson() {
+        JsonHandler jsonHandler = new JsonHandler();
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\"file\":").append(jsonHandler.quote(filePath));
+        stringBuilder.append(",\"fileType\":").append(jsonHandler.quote(fileType));
+        stringBuilder.append(",\"rows\":").append(rowNo);
+        stringBuilder.append(",\"errors\":{");
+        String delimiter = "";
+        for (Map.Entry<String, Integer> entry : errorCounts.entrySet()) {
+            stringBuilder.append(delimiter).append(jsonHandler.quote(entry.getKey()));
+            stringBuilder.append(":{\"count\":").append(entry.getValue());
+            stringBuilder.append(",\"sampleLines\":[").append(joinSamples(sampleLineNos.get(entry.getKey()), ",")).append("]}");
+            delimiter = ",";
+        }
+        stringBuilder.append("}}");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Joins sample line numbers
+     * @param samples sample line numbers
+     * @param delimiter delimiter between line numbers
+     * @return joined line numbers
+     */
+    private String joinSamples(ArrayList<Integer> samples, String delimiter) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (Integer lineNo : samples) {
+            if (stringBuilder.length() > 0) {
+                stringBuilder.append(delimiter);
+            }
+            stringBuilder.append(lineNo);
+        }
+        return stringBuilder.toString();
+    }
+}